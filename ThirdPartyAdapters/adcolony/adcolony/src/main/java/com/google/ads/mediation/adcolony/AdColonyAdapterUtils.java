@@ -17,25 +17,34 @@ public class AdColonyAdapterUtils {
   @Nullable
   public static AdColonyAdSize adColonyAdSizeFromAdMobAdSize(@NonNull Context context,
       @NonNull AdSize adSize) {
-    ArrayList<AdSize> potentials = new ArrayList<>();
-    potentials.add(AdSize.BANNER);
-    potentials.add(AdSize.LEADERBOARD);
-    potentials.add(AdSize.MEDIUM_RECTANGLE);
-    potentials.add(AdSize.WIDE_SKYSCRAPER);
-
-    AdSize closestSize = MediationUtils.findClosestSize(context, adSize, potentials);
-
-    if (AdSize.BANNER.equals(closestSize)) {
-      return AdColonyAdSize.BANNER;
-    } else if (AdSize.MEDIUM_RECTANGLE.equals(closestSize)) {
-      return AdColonyAdSize.MEDIUM_RECTANGLE;
-    } else if (AdSize.LEADERBOARD.equals(closestSize)) {
-      return AdColonyAdSize.LEADERBOARD;
-    } else if (AdSize.WIDE_SKYSCRAPER.equals(closestSize)) {
-      return AdColonyAdSize.SKYSCRAPER;
-    }
-
-    return null;
+    return BANNER_SIZE_RESOLVER.resolve(context, adSize);
   }
 
+  private static final BannerSizeResolver<AdColonyAdSize> BANNER_SIZE_RESOLVER =
+      new BannerSizeResolver<AdColonyAdSize>() {
+        @Nullable
+        @Override
+        protected AdColonyAdSize computeSize(@NonNull Context context, @NonNull AdSize adSize) {
+          ArrayList<AdSize> potentials = new ArrayList<>();
+          potentials.add(AdSize.BANNER);
+          potentials.add(AdSize.LEADERBOARD);
+          potentials.add(AdSize.MEDIUM_RECTANGLE);
+          potentials.add(AdSize.WIDE_SKYSCRAPER);
+
+          AdSize closestSize = MediationUtils.findClosestSize(context, adSize, potentials);
+
+          if (AdSize.BANNER.equals(closestSize)) {
+            return AdColonyAdSize.BANNER;
+          } else if (AdSize.MEDIUM_RECTANGLE.equals(closestSize)) {
+            return AdColonyAdSize.MEDIUM_RECTANGLE;
+          } else if (AdSize.LEADERBOARD.equals(closestSize)) {
+            return AdColonyAdSize.LEADERBOARD;
+          } else if (AdSize.WIDE_SKYSCRAPER.equals(closestSize)) {
+            return AdColonyAdSize.SKYSCRAPER;
+          }
+
+          return null;
+        }
+      };
+
 }
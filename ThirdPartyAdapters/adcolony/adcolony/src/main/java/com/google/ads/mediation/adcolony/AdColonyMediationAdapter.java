@@ -6,10 +6,9 @@ import android.os.Bundle;
 import android.text.TextUtils;
 import android.util.Log;
 import androidx.annotation.IntDef;
+import androidx.annotation.NonNull;
 import com.adcolony.sdk.AdColony;
 import com.adcolony.sdk.AdColonyAppOptions;
-import com.adcolony.sdk.AdColonyCustomMessage;
-import com.adcolony.sdk.AdColonyCustomMessageListener;
 import com.google.android.gms.ads.mediation.Adapter;
 import com.google.android.gms.ads.mediation.InitializationCompleteCallback;
 import com.google.android.gms.ads.mediation.MediationAdLoadCallback;
@@ -29,18 +28,14 @@ import com.jirbo.adcolony.BuildConfig;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
-import org.json.JSONException;
-import org.json.JSONObject;
 
 public class AdColonyMediationAdapter extends RtbAdapter {
 
   public static final String TAG = AdColonyMediationAdapter.class.getSimpleName();
   private static AdColonyAppOptions appOptions = new AdColonyAppOptions();
-  private static HashMap<String, String> bidResponseDetailsHashMap = new HashMap<>();
 
   // Keeps a strong reference to the interstitial ad renderer, which loads ads asynchronously.
   private AdColonyInterstitialRenderer adColonyInterstitialRenderer;
@@ -143,7 +138,7 @@ public class AdColonyMediationAdapter extends RtbAdapter {
 
   @Override
   public void initialize(Context context,
-      InitializationCompleteCallback initializationCompleteCallback,
+      final InitializationCompleteCallback initializationCompleteCallback,
       List<MediationConfiguration> mediationConfigurations) {
 
     if (!(context instanceof Activity)) {
@@ -196,15 +191,19 @@ public class AdColonyMediationAdapter extends RtbAdapter {
 
     // Always set mediation network info.
     appOptions.setMediationNetwork(AdColonyAppOptions.ADMOB, BuildConfig.VERSION_NAME);
-    boolean success = AdColonyManager.getInstance()
-        .configureAdColony(activity, appOptions, appID, zoneList);
-
-    if (success) {
-      initializationCompleteCallback.onInitializationSucceeded();
-    } else {
-      initializationCompleteCallback.onInitializationFailed("Initialization Failed: " +
-          "Internal Error on Configuration");
-    }
+    AdColonyManager.getInstance().configureAdColony(activity, appOptions, appID, zoneList,
+        new AdColonyManager.ConfigurationListener() {
+          @Override
+          public void onConfigurationComplete(boolean success) {
+            if (success) {
+              BidResponseStore.getInstance().register();
+              initializationCompleteCallback.onInitializationSucceeded();
+            } else {
+              initializationCompleteCallback.onInitializationFailed("Initialization Failed: " +
+                  "Internal Error on Configuration");
+            }
+          }
+        });
   }
 
   @Override
@@ -233,26 +232,19 @@ public class AdColonyMediationAdapter extends RtbAdapter {
   }
 
   @Override
-  public void collectSignals(RtbSignalData rtbSignalData, SignalCallbacks signalCallbacks) {
-    String zone, signals = "";
-    AdColony.addCustomMessageListener(new AdColonyCustomMessageListener() {
-      @Override
-      public void onAdColonyCustomMessage(AdColonyCustomMessage adColonyCustomMessage) {
-        try {
-          JSONObject jsonObject = new JSONObject(adColonyCustomMessage.getMessage());
-          String zoneID = jsonObject.getString("zone");
-          bidResponseDetailsHashMap.put(zoneID, adColonyCustomMessage.getMessage());
-        } catch (JSONException e) {
-          e.printStackTrace();
-        }
-      }
-    }, "bid");
-    if (bidResponseDetailsHashMap != null && bidResponseDetailsHashMap.size() > 0) {
-      Bundle serverParameters = rtbSignalData.getConfiguration().getServerParameters();
-      zone = serverParameters.getString(AdColonyAdapterUtils.KEY_ZONE_ID);
-      signals = bidResponseDetailsHashMap.get(zone);
-    }
-    signalCallbacks.onSuccess(signals);
+  public void collectSignals(RtbSignalData rtbSignalData,
+      final SignalCallbacks signalCallbacks) {
+    // Normally registered at initialization already.
+    BidResponseStore.getInstance().register();
+    Bundle serverParameters = rtbSignalData.getConfiguration().getServerParameters();
+    String zone = serverParameters.getString(AdColonyAdapterUtils.KEY_ZONE_ID);
+    BidResponseStore.getInstance().getBidResponse(zone,
+        new BidResponseStore.BidResponseListener() {
+          @Override
+          public void onBidResponse(@NonNull String bidResponse) {
+            signalCallbacks.onSuccess(bidResponse);
+          }
+        });
   }
   //endregion
 }
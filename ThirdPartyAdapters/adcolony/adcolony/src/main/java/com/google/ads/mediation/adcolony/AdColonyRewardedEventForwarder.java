@@ -6,15 +6,13 @@ import com.adcolony.sdk.AdColonyInterstitialListener;
 import com.adcolony.sdk.AdColonyReward;
 import com.adcolony.sdk.AdColonyRewardListener;
 import com.adcolony.sdk.AdColonyZone;
-import java.lang.ref.WeakReference;
-import java.util.HashMap;
 
 public class AdColonyRewardedEventForwarder extends AdColonyInterstitialListener
     implements AdColonyRewardListener {
 
   private static AdColonyRewardedEventForwarder instance = null;
 
-  private static HashMap<String, WeakReference<AdColonyRewardedRenderer>> mListeners;
+  private static DelegateRegistry<AdColonyRewardedRenderer> mListeners;
 
   public static AdColonyRewardedEventForwarder getInstance() {
     if (instance == null) {
@@ -24,82 +22,99 @@ public class AdColonyRewardedEventForwarder extends AdColonyInterstitialListener
   }
 
   private AdColonyRewardedEventForwarder() {
-    mListeners = new HashMap<>();
+    mListeners = new DelegateRegistry<>();
   }
 
   void addListener(@NonNull String zoneID, @NonNull AdColonyRewardedRenderer listener) {
-    WeakReference<AdColonyRewardedRenderer> weakListener = new WeakReference<>(listener);
-    mListeners.put(zoneID, weakListener);
+    mListeners.put(zoneID, listener);
   }
 
-  boolean isListenerAvailable(@NonNull String zoneID) {
-    return (mListeners.containsKey(zoneID) && mListeners.get(zoneID).get() != null);
+  /**
+   * Atomically registers the listener for the given zone, unless another listener is already
+   * waiting for an ad from it.
+   *
+   * @return {@code true} if the listener has been registered.
+   */
+  boolean claimZone(@NonNull String zoneID, @NonNull AdColonyRewardedRenderer listener) {
+    return mListeners.claim(zoneID, listener);
+  }
+
+  void removeListener(@NonNull String zoneID, @NonNull AdColonyRewardedRenderer listener) {
+    mListeners.release(zoneID, listener);
   }
 
   //region AdColonyInterstitialListener implementation
   @Override
   public void onRequestFilled(AdColonyInterstitial adColonyInterstitial) {
     String zoneID = adColonyInterstitial.getZoneID();
-    if (isListenerAvailable(zoneID)) {
-      mListeners.get(zoneID).get().onRequestFilled(adColonyInterstitial);
+    AdColonyRewardedRenderer listener = mListeners.get(zoneID);
+    if (listener != null) {
+      listener.onRequestFilled(adColonyInterstitial);
     }
   }
 
   @Override
   public void onRequestNotFilled(AdColonyZone zone) {
     String zoneID = zone.getZoneID();
-    if (isListenerAvailable(zoneID)) {
-      mListeners.get(zoneID).get().onRequestNotFilled(zone);
-      mListeners.remove(zoneID);
+    AdColonyRewardedRenderer listener = mListeners.get(zoneID);
+    if (listener != null) {
+      listener.onRequestNotFilled(zone);
+      mListeners.release(zoneID);
     }
   }
 
   @Override
   public void onExpiring(AdColonyInterstitial ad) {
     String zoneID = ad.getZoneID();
-    if (isListenerAvailable(zoneID)) {
-      mListeners.get(zoneID).get().onExpiring(ad);
+    AdColonyRewardedRenderer listener = mListeners.get(zoneID);
+    if (listener != null) {
+      listener.onExpiring(ad);
     }
   }
 
   @Override
   public void onClicked(AdColonyInterstitial ad) {
     String zoneID = ad.getZoneID();
-    if (isListenerAvailable(zoneID)) {
-      mListeners.get(zoneID).get().onClicked(ad);
+    AdColonyRewardedRenderer listener = mListeners.get(zoneID);
+    if (listener != null) {
+      listener.onClicked(ad);
     }
   }
 
   @Override
   public void onOpened(AdColonyInterstitial ad) {
     String zoneID = ad.getZoneID();
-    if (isListenerAvailable(zoneID)) {
-      mListeners.get(zoneID).get().onOpened(ad);
+    AdColonyRewardedRenderer listener = mListeners.get(zoneID);
+    if (listener != null) {
+      listener.onOpened(ad);
     }
   }
 
   @Override
   public void onLeftApplication(AdColonyInterstitial ad) {
     String zoneID = ad.getZoneID();
-    if (isListenerAvailable(zoneID)) {
-      mListeners.get(zoneID).get().onLeftApplication(ad);
+    AdColonyRewardedRenderer listener = mListeners.get(zoneID);
+    if (listener != null) {
+      listener.onLeftApplication(ad);
     }
   }
 
   @Override
   public void onClosed(AdColonyInterstitial ad) {
     String zoneID = ad.getZoneID();
-    if (isListenerAvailable(zoneID)) {
-      mListeners.get(zoneID).get().onClosed(ad);
-      mListeners.remove(zoneID);
+    AdColonyRewardedRenderer listener = mListeners.get(zoneID);
+    if (listener != null) {
+      listener.onClosed(ad);
+      mListeners.release(zoneID);
     }
   }
 
   @Override
   public void onIAPEvent(AdColonyInterstitial ad, String product_id, int engagement_type) {
     String zoneID = ad.getZoneID();
-    if (isListenerAvailable(zoneID)) {
-      mListeners.get(zoneID).get().onIAPEvent(ad, product_id, engagement_type);
+    AdColonyRewardedRenderer listener = mListeners.get(zoneID);
+    if (listener != null) {
+      listener.onIAPEvent(ad, product_id, engagement_type);
     }
   }
   //endregion
@@ -108,8 +123,9 @@ public class AdColonyRewardedEventForwarder extends AdColonyInterstitialListener
   @Override
   public void onReward(AdColonyReward adColonyReward) {
     String zoneID = adColonyReward.getZoneID();
-    if (isListenerAvailable(zoneID)) {
-      mListeners.get(zoneID).get().onReward(adColonyReward);
+    AdColonyRewardedRenderer listener = mListeners.get(zoneID);
+    if (listener != null) {
+      listener.onReward(adColonyReward);
     }
   }
   //endregion
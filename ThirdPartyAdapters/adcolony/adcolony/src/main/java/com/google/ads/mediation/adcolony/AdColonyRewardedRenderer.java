@@ -52,12 +52,12 @@ public class AdColonyRewardedRenderer implements MediationRewardedAd {
       showPostPopup = networkExtras.getBoolean("show_post_popup", false);
     }
 
-    AdColonyAdOptions adOptions = new AdColonyAdOptions()
+    final AdColonyAdOptions adOptions = new AdColonyAdOptions()
         .enableConfirmationDialog(showPrePopup)
         .enableResultsDialog(showPostPopup);
     ArrayList<String> listFromServerParams =
         AdColonyManager.getInstance().parseZoneList(serverParameters);
-    String requestedZone = AdColonyManager
+    final String requestedZone = AdColonyManager
         .getInstance().getZoneFromRequest(listFromServerParams, networkExtras);
 
     if (isRtb) {
@@ -67,7 +67,8 @@ public class AdColonyRewardedRenderer implements MediationRewardedAd {
       AdColony.requestInterstitial(requestedZone, AdColonyRewardedEventForwarder.getInstance(),
           adOptions);
     } else {
-      if (AdColonyRewardedEventForwarder.getInstance().isListenerAvailable(requestedZone)) {
+      if (!TextUtils.isEmpty(requestedZone) && !AdColonyRewardedEventForwarder.getInstance()
+          .claimZone(requestedZone, AdColonyRewardedRenderer.this)) {
         String logMessage = "Failed to load ad from AdColony: " +
             "Only a maximum of one ad can be loaded per Zone ID.";
         String errorMessage = createAdapterError(ERROR_AD_ALREADY_REQUESTED, logMessage);
@@ -77,28 +78,35 @@ public class AdColonyRewardedRenderer implements MediationRewardedAd {
       }
 
       // Configures the AdColony SDK, which also initializes the SDK if it has not been yet.
-      boolean adColonyConfigured =
-          AdColonyManager.getInstance().configureAdColony(adConfiguration);
-
-      // Check if we have a valid zone and request the ad.
-      if (adColonyConfigured && !TextUtils.isEmpty(requestedZone)) {
-        AdColony.setRewardListener(AdColonyRewardedEventForwarder.getInstance());
-        AdColonyRewardedEventForwarder.getInstance().addListener(requestedZone,
-            AdColonyRewardedRenderer.this);
-        AdColony.requestInterstitial(requestedZone,
-            AdColonyRewardedEventForwarder.getInstance(), adOptions);
-      } else {
-        // Cannot request an ad without a valid zone.
-        adColonyConfigured = false;
-      }
+      AdColonyManager.getInstance().configureAdColony(adConfiguration,
+          new AdColonyManager.ConfigurationListener() {
+            @Override
+            public void onConfigurationComplete(boolean success) {
+              requestConfiguredAd(success, requestedZone, adOptions);
+            }
+          });
+    }
+  }
 
-      if (!adColonyConfigured) {
-        String logMessage = "Failed to request ad from AdColony: Not configured";
-        String errorMessage = createAdapterError(ERROR_ADCOLONY_NOT_INITIALIZED, logMessage);
-        Log.w(TAG, errorMessage);
-        mAdLoadCallback.onFailure(errorMessage);
-      }
+  private void requestConfiguredAd(boolean adColonyConfigured, String requestedZone,
+      AdColonyAdOptions adOptions) {
+    // Check if we have a valid zone and request the ad.
+    if (adColonyConfigured && !TextUtils.isEmpty(requestedZone)) {
+      AdColony.setRewardListener(AdColonyRewardedEventForwarder.getInstance());
+      AdColony.requestInterstitial(requestedZone,
+          AdColonyRewardedEventForwarder.getInstance(), adOptions);
+      return;
+    }
+
+    // Cannot request an ad without a valid zone.
+    if (!TextUtils.isEmpty(requestedZone)) {
+      AdColonyRewardedEventForwarder.getInstance()
+          .removeListener(requestedZone, AdColonyRewardedRenderer.this);
     }
+    String logMessage = "Failed to request ad from AdColony: Not configured";
+    String errorMessage = createAdapterError(ERROR_ADCOLONY_NOT_INITIALIZED, logMessage);
+    Log.w(TAG, errorMessage);
+    mAdLoadCallback.onFailure(errorMessage);
   }
 
   //region AdColony Rewarded Events
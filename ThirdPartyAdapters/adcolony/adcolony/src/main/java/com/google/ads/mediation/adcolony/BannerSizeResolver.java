@@ -0,0 +1,66 @@
+package com.google.ads.mediation.adcolony;
+
+import android.content.Context;
+import android.util.LongSparseArray;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.google.android.gms.ads.AdSize;
+
+/**
+ * Memoizes the mapping of requested {@link AdSize}s to network banner sizes. Only sizes with a
+ * fixed width and height are memoized, keyed by their dimensions and the screen density. Flexible
+ * sizes such as smart banners depend on the screen configuration and are resolved on every
+ * request.
+ *
+ * @param <T> the network banner size type.
+ */
+abstract class BannerSizeResolver<T> {
+
+  /**
+   * Maximum number of resolved sizes kept, after which they are all dropped.
+   */
+  private static final int MAX_ENTRIES = 32;
+
+  /**
+   * Resolved sizes keyed by requested size, including the requests that have no matching network
+   * size. Guarded by itself.
+   */
+  private final LongSparseArray<T> mResolvedSizes = new LongSparseArray<>();
+
+  /**
+   * Returns the network banner size matching the requested size, or {@code null} if there is none.
+   */
+  @Nullable
+  final T resolve(@NonNull Context context, @NonNull AdSize adSize) {
+    int width = adSize.getWidth();
+    int height = adSize.getHeight();
+    if (width <= 0 || height <= 0 || width > 0xFFFF || height > 0xFFFF) {
+      return computeSize(context, adSize);
+    }
+
+    long key = ((long) width << 48)
+        | ((long) height << 32)
+        | context.getResources().getDisplayMetrics().densityDpi;
+    synchronized (mResolvedSizes) {
+      int index = mResolvedSizes.indexOfKey(key);
+      if (index >= 0) {
+        return mResolvedSizes.valueAt(index);
+      }
+    }
+
+    T size = computeSize(context, adSize);
+    synchronized (mResolvedSizes) {
+      if (mResolvedSizes.size() >= MAX_ENTRIES) {
+        mResolvedSizes.clear();
+      }
+      mResolvedSizes.put(key, size);
+    }
+    return size;
+  }
+
+  /**
+   * Computes the network banner size matching the requested size.
+   */
+  @Nullable
+  protected abstract T computeSize(@NonNull Context context, @NonNull AdSize adSize);
+}
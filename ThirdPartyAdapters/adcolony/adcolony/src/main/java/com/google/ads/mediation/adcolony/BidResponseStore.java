@@ -0,0 +1,223 @@
+package com.google.ads.mediation.adcolony;
+
+import static com.google.ads.mediation.adcolony.AdColonyMediationAdapter.TAG;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.text.TextUtils;
+import android.util.Log;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.adcolony.sdk.AdColony;
+import com.adcolony.sdk.AdColonyCustomMessage;
+import com.adcolony.sdk.AdColonyCustomMessageListener;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * Keeps the latest bid response the AdColony SDK sent for each zone, through a single custom
+ * message listener registered once. Bid responses expire after a while, and only the most recently
+ * received ones are kept. Signal requests for a zone without a fresh bid response wait briefly for
+ * one to arrive before completing with an empty signal.
+ */
+final class BidResponseStore implements AdColonyCustomMessageListener {
+
+  interface BidResponseListener {
+
+    void onBidResponse(@NonNull String bidResponse);
+  }
+
+  /**
+   * Type of the AdColony custom messages carrying bid responses.
+   */
+  private static final String MESSAGE_TYPE_BID = "bid";
+
+  /**
+   * Key of the zone ID in a bid response.
+   */
+  private static final String KEY_ZONE = "zone";
+
+  /**
+   * Time after which a bid response is no longer used as a signal.
+   */
+  private static final long BID_RESPONSE_TIME_TO_LIVE_MILLIS = 5 * 60 * 1000;
+
+  /**
+   * Maximum number of zones whose bid response is kept.
+   */
+  private static final int MAX_ZONES = 64;
+
+  /**
+   * Maximum time a signal request waits for a bid response to arrive.
+   */
+  private static final long MAX_WAIT_MILLIS = 500;
+
+  private static BidResponseStore instance;
+
+  private final AtomicBoolean mRegistered = new AtomicBoolean();
+
+  private final Handler mMainHandler = new Handler(Looper.getMainLooper());
+
+  /**
+   * Bid responses keyed by zone ID, least recently received first.
+   */
+  private final LinkedHashMap<String, BidResponse> mBidResponses =
+      new LinkedHashMap<String, BidResponse>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, BidResponse> eldest) {
+          return size() > MAX_ZONES;
+        }
+      };
+
+  /**
+   * Signal requests waiting for a bid response. Guarded by {@link #mBidResponses}.
+   */
+  private final List<PendingRequest> mPendingRequests = new ArrayList<>();
+
+  private BidResponseStore() {
+  }
+
+  @NonNull
+  static synchronized BidResponseStore getInstance() {
+    if (instance == null) {
+      instance = new BidResponseStore();
+    }
+    return instance;
+  }
+
+  /**
+   * Registers the bid response listener with the AdColony SDK, if not done already.
+   */
+  void register() {
+    if (mRegistered.compareAndSet(false, true)) {
+      AdColony.addCustomMessageListener(this, MESSAGE_TYPE_BID);
+    }
+  }
+
+  /**
+   * Delivers the bid response of a zone to the given listener, waiting briefly for one to arrive
+   * if there is no fresh bid response yet. The listener is called with an empty string if none
+   * arrives in time.
+   */
+  void getBidResponse(@Nullable String zoneID, @NonNull BidResponseListener listener) {
+    if (TextUtils.isEmpty(zoneID)) {
+      listener.onBidResponse("");
+      return;
+    }
+
+    BidResponse bidResponse;
+    PendingRequest pendingRequest = null;
+    synchronized (mBidResponses) {
+      bidResponse = getFreshBidResponse(zoneID);
+      if (bidResponse == null) {
+        pendingRequest = new PendingRequest(zoneID, listener);
+        mPendingRequests.add(pendingRequest);
+      }
+    }
+    if (bidResponse != null) {
+      listener.onBidResponse(bidResponse.mMessage);
+    } else {
+      mMainHandler.postDelayed(pendingRequest, MAX_WAIT_MILLIS);
+    }
+  }
+
+  @Override
+  public void onAdColonyCustomMessage(AdColonyCustomMessage adColonyCustomMessage) {
+    String message = adColonyCustomMessage.getMessage();
+    if (TextUtils.isEmpty(message)) {
+      return;
+    }
+    String zoneID;
+    try {
+      zoneID = new JSONObject(message).getString(KEY_ZONE);
+    } catch (JSONException exception) {
+      Log.w(TAG, "Failed to parse AdColony bid response: " + exception.getMessage());
+      return;
+    }
+
+    List<PendingRequest> readyRequests = new ArrayList<>();
+    synchronized (mBidResponses) {
+      // Re-insert so that the zone becomes the most recently received one.
+      mBidResponses.remove(zoneID);
+      mBidResponses.put(zoneID, new BidResponse(message, SystemClock.elapsedRealtime()));
+      Iterator<PendingRequest> iterator = mPendingRequests.iterator();
+      while (iterator.hasNext()) {
+        PendingRequest pendingRequest = iterator.next();
+        if (pendingRequest.mZoneID.equals(zoneID)) {
+          iterator.remove();
+          readyRequests.add(pendingRequest);
+        }
+      }
+    }
+    for (PendingRequest pendingRequest : readyRequests) {
+      mMainHandler.removeCallbacks(pendingRequest);
+      pendingRequest.mListener.onBidResponse(message);
+    }
+  }
+
+  /**
+   * Returns the bid response of a zone if it has not expired, removing it otherwise. Must be
+   * called while holding the lock on {@link #mBidResponses}.
+   */
+  @Nullable
+  private BidResponse getFreshBidResponse(@NonNull String zoneID) {
+    BidResponse bidResponse = mBidResponses.get(zoneID);
+    if (bidResponse == null) {
+      return null;
+    }
+    if (SystemClock.elapsedRealtime() - bidResponse.mReceivedTime
+        >= BID_RESPONSE_TIME_TO_LIVE_MILLIS) {
+      mBidResponses.remove(zoneID);
+      return null;
+    }
+    return bidResponse;
+  }
+
+  private static final class BidResponse {
+
+    private final String mMessage;
+
+    /**
+     * Time at which the bid response was received, in {@link SystemClock#elapsedRealtime()} time
+     * base.
+     */
+    private final long mReceivedTime;
+
+    BidResponse(@NonNull String message, long receivedTime) {
+      mMessage = message;
+      mReceivedTime = receivedTime;
+    }
+  }
+
+  /**
+   * A signal request waiting for a bid response, which times out when run.
+   */
+  private final class PendingRequest implements Runnable {
+
+    private final String mZoneID;
+
+    private final BidResponseListener mListener;
+
+    PendingRequest(@NonNull String zoneID, @NonNull BidResponseListener listener) {
+      mZoneID = zoneID;
+      mListener = listener;
+    }
+
+    @Override
+    public void run() {
+      synchronized (mBidResponses) {
+        if (!mPendingRequests.remove(this)) {
+          return;
+        }
+      }
+      mListener.onBidResponse("");
+    }
+  }
+}
@@ -0,0 +1,121 @@
+package com.google.ads.mediation.adcolony;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A thread-safe registry routing SDK callbacks to the delegate that claimed a zone. Delegates
+ * are held weakly, and a zone whose delegate has been garbage collected may be claimed again.
+ * Entries of garbage collected delegates are reaped through a {@link ReferenceQueue} whenever a
+ * zone is registered, in time proportional to the number of such entries.
+ *
+ * @param <T> the type of delegate.
+ */
+final class DelegateRegistry<T> {
+
+  private final ConcurrentHashMap<String, WeakReference<T>> mDelegates = new ConcurrentHashMap<>();
+
+  /**
+   * Queue to which the references of garbage collected delegates are enqueued.
+   */
+  private final ReferenceQueue<T> mCollectedDelegates = new ReferenceQueue<>();
+
+  /**
+   * Atomically claims a zone for the given delegate.
+   *
+   * @return {@code true} if the zone was claimed, {@code false} if another delegate already
+   *     holds it.
+   */
+  boolean claim(@Nullable String zoneID, @NonNull T delegate) {
+    if (zoneID == null) {
+      return false;
+    }
+    reapCollectedDelegates();
+    WeakReference<T> reference = new ZoneReference<>(zoneID, delegate, mCollectedDelegates);
+    while (true) {
+      WeakReference<T> current = mDelegates.putIfAbsent(zoneID, reference);
+      if (current == null) {
+        return true;
+      }
+      if (current.get() != null) {
+        return false;
+      }
+      if (mDelegates.replace(zoneID, current, reference)) {
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Registers a delegate for a zone, replacing any delegate already holding it.
+   */
+  void put(@Nullable String zoneID, @NonNull T delegate) {
+    if (zoneID != null) {
+      reapCollectedDelegates();
+      mDelegates.put(zoneID, new ZoneReference<>(zoneID, delegate, mCollectedDelegates));
+    }
+  }
+
+  /**
+   * Returns the delegate holding a zone, or {@code null} if none does.
+   */
+  @Nullable
+  T get(@Nullable String zoneID) {
+    if (zoneID == null) {
+      return null;
+    }
+    WeakReference<T> reference = mDelegates.get(zoneID);
+    return reference != null ? reference.get() : null;
+  }
+
+  /**
+   * Releases a zone, whichever delegate holds it.
+   */
+  void release(@Nullable String zoneID) {
+    if (zoneID != null) {
+      mDelegates.remove(zoneID);
+    }
+  }
+
+  /**
+   * Releases a zone only if it is held by the given delegate.
+   */
+  void release(@Nullable String zoneID, @NonNull T delegate) {
+    if (zoneID == null) {
+      return;
+    }
+    WeakReference<T> reference = mDelegates.get(zoneID);
+    if (reference != null && reference.get() == delegate) {
+      mDelegates.remove(zoneID, reference);
+    }
+  }
+
+  /**
+   * Removes the entries whose delegate has been garbage collected since the last call.
+   */
+  private void reapCollectedDelegates() {
+    Reference<? extends T> reference;
+    while ((reference = mCollectedDelegates.poll()) != null) {
+      // The zone may have been claimed again since, in which case its entry is kept.
+      mDelegates.remove(((ZoneReference<?>) reference).mZoneID, reference);
+    }
+  }
+
+  /**
+   * A weak reference to a delegate that remembers the zone it was registered for.
+   */
+  private static final class ZoneReference<T> extends WeakReference<T> {
+
+    private final String mZoneID;
+
+    ZoneReference(
+        @NonNull String zoneID, @NonNull T delegate, @NonNull ReferenceQueue<? super T> queue) {
+      super(delegate, queue);
+      mZoneID = zoneID;
+    }
+  }
+}
@@ -38,9 +38,13 @@ public class AdColonyAdapter extends AdColonyMediationAdapter
   //AdColonyAdView ad view for banner.
   private AdColonyAdView adColonyAdView;
 
+  // Whether onDestroy() has been called, after which no ad is requested.
+  private boolean isDestroyed;
+
   //region MediationAdapter methods.
   @Override
   public void onDestroy() {
+    isDestroyed = true;
     if (adColonyInterstitial != null) {
       adColonyInterstitial.cancel();
       adColonyInterstitial.destroy();
@@ -67,14 +71,14 @@ public class AdColonyAdapter extends AdColonyMediationAdapter
   //region MediationInterstitialAdapter methods.
   @Override
   public void requestInterstitialAd(Context context,
-      MediationInterstitialListener mediationInterstitialListener,
+      final MediationInterstitialListener mediationInterstitialListener,
       Bundle serverParams,
       MediationAdRequest mediationAdRequest,
       Bundle mediationExtras) {
 
     ArrayList<String> zoneList =
         AdColonyManager.getInstance().parseZoneList(serverParams);
-    String requestedZone =
+    final String requestedZone =
         AdColonyManager.getInstance().getZoneFromRequest(zoneList, mediationExtras);
     if (TextUtils.isEmpty(requestedZone)) {
       String errorMessage = createAdapterError(ERROR_REQUEST_INVALID,
@@ -87,19 +91,25 @@ public class AdColonyAdapter extends AdColonyMediationAdapter
     adColonyInterstitialListener = new AdColonyAdListener(this, mediationInterstitialListener);
 
     // Initialize AdColony.
-    boolean success = AdColonyManager.getInstance()
-        .configureAdColony(context, serverParams, mediationAdRequest, mediationExtras);
-
-    if (!success) {
-      String errorMessage = createAdapterError(ERROR_ADCOLONY_NOT_INITIALIZED,
-          "Failed to configure AdColony SDK.");
-      Log.w(TAG, errorMessage);
-      mediationInterstitialListener
-          .onAdFailedToLoad(this, ERROR_ADCOLONY_NOT_INITIALIZED);
-      return;
-    }
-
-    AdColony.requestInterstitial(requestedZone, adColonyInterstitialListener);
+    AdColonyManager.getInstance().configureAdColony(context, serverParams, mediationAdRequest,
+        mediationExtras, new AdColonyManager.ConfigurationListener() {
+          @Override
+          public void onConfigurationComplete(boolean success) {
+            if (!success) {
+              String errorMessage = createAdapterError(ERROR_ADCOLONY_NOT_INITIALIZED,
+                  "Failed to configure AdColony SDK.");
+              Log.w(TAG, errorMessage);
+              mediationInterstitialListener
+                  .onAdFailedToLoad(AdColonyAdapter.this, ERROR_ADCOLONY_NOT_INITIALIZED);
+              return;
+            }
+
+            if (isDestroyed) {
+              return;
+            }
+            AdColony.requestInterstitial(requestedZone, adColonyInterstitialListener);
+          }
+        });
   }
 
   @Override
@@ -122,7 +132,8 @@ public class AdColonyAdapter extends AdColonyMediationAdapter
 
   //region MediationBannerAdapter methods.
   @Override
-  public void requestBannerAd(Context context, MediationBannerListener mediationBannerListener,
+  public void requestBannerAd(Context context,
+      final MediationBannerListener mediationBannerListener,
       Bundle serverParams, AdSize adSize,
       MediationAdRequest mediationAdRequest, Bundle mediationExtras) {
 
@@ -134,7 +145,7 @@ public class AdColonyAdapter extends AdColonyMediationAdapter
       return;
     }
 
-    AdColonyAdSize adColonyAdSize =
+    final AdColonyAdSize adColonyAdSize =
         AdColonyAdapterUtils.adColonyAdSizeFromAdMobAdSize(context, adSize);
 
     if (adColonyAdSize == null) {
@@ -147,7 +158,7 @@ public class AdColonyAdapter extends AdColonyMediationAdapter
 
     ArrayList<String> zoneList =
         AdColonyManager.getInstance().parseZoneList(serverParams);
-    String requestedZone =
+    final String requestedZone =
         AdColonyManager.getInstance().getZoneFromRequest(zoneList, mediationExtras);
 
     if (TextUtils.isEmpty(requestedZone)) {
@@ -161,23 +172,29 @@ public class AdColonyAdapter extends AdColonyMediationAdapter
     adColonyBannerAdListener = new AdColonyBannerAdListener(this, mediationBannerListener);
 
     // Initialize AdColony.
-    boolean success = AdColonyManager.getInstance()
-        .configureAdColony(context, serverParams, mediationAdRequest, mediationExtras);
-
-    if (!success) {
-      String errorMessage = createAdapterError(ERROR_ADCOLONY_NOT_INITIALIZED,
-          "Failed to configure AdColony SDK");
-      Log.w(TAG, errorMessage);
-      mediationBannerListener
-          .onAdFailedToLoad(this, ERROR_ADCOLONY_NOT_INITIALIZED);
-      return;
-    }
-
-    String logMessage = String
-        .format("Requesting banner with ad size: %dx%d", adColonyAdSize.getWidth(),
-            adColonyAdSize.getHeight());
-    Log.d(TAG, logMessage);
-    AdColony.requestAdView(requestedZone, adColonyBannerAdListener, adColonyAdSize);
+    AdColonyManager.getInstance().configureAdColony(context, serverParams, mediationAdRequest,
+        mediationExtras, new AdColonyManager.ConfigurationListener() {
+          @Override
+          public void onConfigurationComplete(boolean success) {
+            if (!success) {
+              String errorMessage = createAdapterError(ERROR_ADCOLONY_NOT_INITIALIZED,
+                  "Failed to configure AdColony SDK");
+              Log.w(TAG, errorMessage);
+              mediationBannerListener
+                  .onAdFailedToLoad(AdColonyAdapter.this, ERROR_ADCOLONY_NOT_INITIALIZED);
+              return;
+            }
+
+            if (isDestroyed) {
+              return;
+            }
+            String logMessage = String
+                .format("Requesting banner with ad size: %dx%d", adColonyAdSize.getWidth(),
+                    adColonyAdSize.getHeight());
+            Log.d(TAG, logMessage);
+            AdColony.requestAdView(requestedZone, adColonyBannerAdListener, adColonyAdSize);
+          }
+        });
   }
 
   @Override
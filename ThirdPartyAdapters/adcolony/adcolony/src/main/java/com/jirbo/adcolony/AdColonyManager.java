@@ -5,6 +5,8 @@ import android.app.Application;
 import android.content.Context;
 import android.location.Location;
 import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
 import android.text.TextUtils;
 import android.util.Log;
 import com.adcolony.sdk.AdColony;
@@ -18,6 +20,7 @@ import com.google.android.gms.ads.mediation.MediationRewardedAdConfiguration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
+import java.util.LinkedHashSet;
 
 /**
  * A helper class used by the {@link AdColonyAdapter}.
@@ -26,12 +29,40 @@ public class AdColonyManager {
 
   private static final String TAG = AdColonyAdapter.class.getSimpleName();
 
+  /**
+   * Time during which newly requested zones are batched into a single SDK configuration.
+   */
+  private static final long CONFIGURE_DEBOUNCE_MILLIS = 50;
+
   private static AdColonyManager _instance = null;
-  private ArrayList<String> configuredZones;
+  private final LinkedHashSet<String> configuredZones;
   private boolean isConfigured = false;
 
+  private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+  /**
+   * Requests waiting for the scheduled SDK configuration, or null if none is scheduled. Guarded by
+   * this object.
+   */
+  private ConfigurationBatch pendingBatch;
+
+  /**
+   * Targeting of the last ad request whose user metadata was built, and the metadata. Guarded by
+   * this object.
+   */
+  private UserTargeting lastUserTargeting;
+  private AdColonyUserMetadata lastUserMetadata;
+
+  /**
+   * Listener notified once the AdColony SDK has been configured with the requested zones.
+   */
+  public interface ConfigurationListener {
+
+    void onConfigurationComplete(boolean success);
+  }
+
   private AdColonyManager() {
-    this.configuredZones = new ArrayList<>();
+    this.configuredZones = new LinkedHashSet<>();
   }
 
   public static AdColonyManager getInstance() {
@@ -41,67 +72,139 @@ public class AdColonyManager {
     return _instance;
   }
 
-  public boolean configureAdColony(Context context,
+  /**
+   * Configures the AdColony SDK with the given zones, in addition to the zones it was configured
+   * with before. The listener is notified right away if every zone has been configured already.
+   * Otherwise the SDK is configured after a short delay, so that the new zones of concurrent
+   * requests with the same app ID and options are batched into a single configuration, and the
+   * listener is notified on the main thread.
+   */
+  public void configureAdColony(Context context,
       AdColonyAppOptions options,
       String appID,
-      ArrayList<String> zones) {
+      ArrayList<String> zones,
+      ConfigurationListener listener) {
 
     if (!(context instanceof Activity || context instanceof Application)) {
       Log.w(TAG, "Context must be of type Activity or Application.");
-      return false;
+      listener.onConfigurationComplete(false);
+      return;
     }
 
     if (TextUtils.isEmpty(appID)) {
       Log.w(TAG, "A valid appId wasn't provided.");
-      return false;
+      listener.onConfigurationComplete(false);
+      return;
     }
 
     if (zones == null || zones.isEmpty()) {
       Log.w(TAG, "No zones provided to request ad.");
-      return false;
+      listener.onConfigurationComplete(false);
+      return;
     }
 
-    // Check to see if the stored list of zones is missing any values.
-    for (String zone : zones) {
-      if (!configuredZones.contains(zone)) {
-        // Not contained in our list.
-        configuredZones.add(zone);
+    synchronized (this) {
+      // Check to see if the stored set of zones is missing any values.
+      if (configuredZones.addAll(zones)) {
         isConfigured = false;
       }
+
+      if (isConfigured && pendingBatch == null) {
+        AdColony.setAppOptions(options);
+      } else {
+        // We are requesting zones that we haven't configured with yet.
+        if (pendingBatch != null && !pendingBatch.canInclude(appID, options)) {
+          // A configuration takes a single app ID and set of options, so the pending batch is
+          // configured right away and this request starts a new one.
+          mainHandler.removeCallbacks(pendingBatch);
+          mainHandler.post(pendingBatch);
+          pendingBatch = null;
+        }
+        if (pendingBatch == null) {
+          pendingBatch = new ConfigurationBatch(appID, options);
+          mainHandler.postDelayed(pendingBatch, CONFIGURE_DEBOUNCE_MILLIS);
+        }
+        pendingBatch.add(context, listener);
+        return;
+      }
     }
+    listener.onConfigurationComplete(true);
+  }
 
-    if (isConfigured) {
-      AdColony.setAppOptions(options);
-    } else {
-      // We are requesting zones that we haven't configured with yet.
+  private void configure(ConfigurationBatch batch) {
+    boolean success;
+    synchronized (this) {
+      if (pendingBatch == batch) {
+        pendingBatch = null;
+      }
       String[] zoneArray = configuredZones.toArray(new String[0]);
 
       // Always set mediation network info.
-      options.setMediationNetwork(AdColonyAppOptions.ADMOB, BuildConfig.VERSION_NAME);
-      isConfigured = context instanceof Activity
-          ? AdColony.configure((Activity) context, options, appID, zoneArray)
-          : AdColony.configure((Application) context, options, appID, zoneArray);
+      batch.options.setMediationNetwork(AdColonyAppOptions.ADMOB, BuildConfig.VERSION_NAME);
+      isConfigured = batch.context instanceof Activity
+          ? AdColony.configure((Activity) batch.context, batch.options, batch.appID, zoneArray)
+          : AdColony.configure((Application) batch.context, batch.options, batch.appID, zoneArray);
+      success = isConfigured;
+    }
+    for (ConfigurationListener listener : batch.listeners) {
+      listener.onConfigurationComplete(success);
     }
-    return isConfigured;
   }
 
-  boolean configureAdColony(Context context,
+  /**
+   * Requests configuring the SDK with the same app ID and options, which are served by a single
+   * configuration.
+   */
+  private final class ConfigurationBatch implements Runnable {
+
+    private final String appID;
+    private final AdColonyAppOptions options;
+    private final ArrayList<ConfigurationListener> listeners = new ArrayList<>();
+
+    /**
+     * Context of the most recent request.
+     */
+    private Context context;
+
+    ConfigurationBatch(String appID, AdColonyAppOptions options) {
+      this.appID = appID;
+      this.options = options;
+    }
+
+    boolean canInclude(String appID, AdColonyAppOptions options) {
+      return this.appID.equals(appID) && this.options == options;
+    }
+
+    void add(Context context, ConfigurationListener listener) {
+      this.context = context;
+      listeners.add(listener);
+    }
+
+    @Override
+    public void run() {
+      configure(this);
+    }
+  }
+
+  void configureAdColony(Context context,
       Bundle serverParams,
       MediationAdRequest adRequest,
-      Bundle networkExtras) {
+      Bundle networkExtras,
+      ConfigurationListener listener) {
     String appId = serverParams.getString(AdColonyAdapterUtils.KEY_APP_ID);
     ArrayList<String> newZoneList = parseZoneList(serverParams);
     AdColonyAppOptions appOptions = buildAppOptions(adRequest);
-    return configureAdColony(context, appOptions, appId, newZoneList);
+    configureAdColony(context, appOptions, appId, newZoneList, listener);
   }
 
-  public boolean configureAdColony(MediationRewardedAdConfiguration adConfiguration) {
+  public void configureAdColony(MediationRewardedAdConfiguration adConfiguration,
+      ConfigurationListener listener) {
     Context context = adConfiguration.getContext();
     Bundle serverParams = adConfiguration.getServerParameters();
     String appId = serverParams.getString(AdColonyAdapterUtils.KEY_APP_ID);
     ArrayList<String> newZoneList = parseZoneList(serverParams);
     AdColonyAppOptions appOptions = buildAppOptions(adConfiguration);
-    return configureAdColony(context, appOptions, appId, newZoneList);
+    configureAdColony(context, appOptions, appId, newZoneList, listener);
   }
 
   /**
@@ -119,23 +222,17 @@ public class AdColonyManager {
         options.setTestModeEnabled(true);
       }
 
-      AdColonyUserMetadata userMetadata = new AdColonyUserMetadata();
-
       // Try to update userMetaData with gender field.
+      String gender = null;
       int genderVal = adRequest.getGender();
       if (genderVal == AdRequest.GENDER_FEMALE) {
-        userMetadata.setUserGender(AdColonyUserMetadata.USER_FEMALE);
+        gender = AdColonyUserMetadata.USER_FEMALE;
       } else if (genderVal == AdRequest.GENDER_MALE) {
-        userMetadata.setUserGender(AdColonyUserMetadata.USER_MALE);
-      }
-
-      // Try to update userMetaData with location (if provided).
-      Location location = adRequest.getLocation();
-      if (location != null) {
-        userMetadata.setUserLocation(location);
+        gender = AdColonyUserMetadata.USER_MALE;
       }
 
       // Try to update userMetaData with age if birth date is provided.
+      int age = UserTargeting.AGE_UNKNOWN;
       Date birthday = adRequest.getBirthday();
       if (birthday != null) {
         long currentTime = System.currentTimeMillis();
@@ -144,9 +241,11 @@ public class AdColonyManager {
         if (diff > 0) {
           long day = (1000 * 60 * 60 * 24);
           long yearsPassed = diff / day / 365;
-          userMetadata.setUserAge((int) yearsPassed);
+          age = (int) yearsPassed;
         }
       }
+      AdColonyUserMetadata userMetadata =
+          getUserMetadata(new UserTargeting(gender, adRequest.getLocation(), age));
       options.setUserMetadata(userMetadata);
     }
     return options;
@@ -166,16 +265,35 @@ public class AdColonyManager {
       options.setTestModeEnabled(true);
     }
 
-    AdColonyUserMetadata userMetadata = new AdColonyUserMetadata();
+    AdColonyUserMetadata userMetadata = getUserMetadata(
+        new UserTargeting(null, adConfiguration.getLocation(), UserTargeting.AGE_UNKNOWN));
+    options.setUserMetadata(userMetadata);
+    return options;
+  }
 
-    // Try to update userMetaData with location (if provided).
-    Location location = adConfiguration.getLocation();
-    if (location != null) {
-      userMetadata.setUserLocation(location);
+  /**
+   * Returns the user metadata for the given targeting, reusing the metadata built for the previous
+   * ad request if it had the same targeting.
+   */
+  private synchronized AdColonyUserMetadata getUserMetadata(UserTargeting targeting) {
+    if (lastUserMetadata != null && targeting.equals(lastUserTargeting)) {
+      return lastUserMetadata;
     }
 
-    options.setUserMetadata(userMetadata);
-    return options;
+    AdColonyUserMetadata userMetadata = new AdColonyUserMetadata();
+    if (targeting.gender != null) {
+      userMetadata.setUserGender(targeting.gender);
+    }
+    if (targeting.location != null) {
+      userMetadata.setUserLocation(targeting.location);
+    }
+    if (targeting.age != UserTargeting.AGE_UNKNOWN) {
+      userMetadata.setUserAge(targeting.age);
+    }
+
+    lastUserTargeting = targeting;
+    lastUserMetadata = userMetadata;
+    return userMetadata;
   }
 
   public ArrayList<String> parseZoneList(Bundle serverParams) {
@@ -205,4 +323,58 @@ public class AdColonyManager {
     }
     return requestedZone;
   }
+
+  /**
+   * The user targeting of an ad request, as passed to the AdColony SDK.
+   */
+  private static final class UserTargeting {
+
+    static final int AGE_UNKNOWN = -1;
+
+    private final String gender;
+    private final Location location;
+    private final int age;
+
+    UserTargeting(String gender, Location location, int age) {
+      this.gender = gender;
+      this.location = location;
+      this.age = age;
+    }
+
+    @Override
+    public boolean equals(Object object) {
+      if (this == object) {
+        return true;
+      }
+      if (!(object instanceof UserTargeting)) {
+        return false;
+      }
+      UserTargeting other = (UserTargeting) object;
+      return age == other.age
+          && TextUtils.equals(gender, other.gender)
+          && sameLocation(location, other.location);
+    }
+
+    @Override
+    public int hashCode() {
+      int result = gender != null ? gender.hashCode() : 0;
+      result = 31 * result + age;
+      if (location != null) {
+        long latitude = Double.doubleToLongBits(location.getLatitude());
+        long longitude = Double.doubleToLongBits(location.getLongitude());
+        result = 31 * result + (int) (latitude ^ (latitude >>> 32));
+        result = 31 * result + (int) (longitude ^ (longitude >>> 32));
+      }
+      return result;
+    }
+
+    private static boolean sameLocation(Location location, Location other) {
+      if (location == null || other == null) {
+        return location == other;
+      }
+      return location.getLatitude() == other.getLatitude()
+          && location.getLongitude() == other.getLongitude()
+          && location.getAccuracy() == other.getAccuracy();
+    }
+  }
 }
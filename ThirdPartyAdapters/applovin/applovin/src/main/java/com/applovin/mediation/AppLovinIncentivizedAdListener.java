@@ -29,12 +29,27 @@ public class AppLovinIncentivizedAdListener
   private boolean mFullyWatched;
   private AppLovinRewardItem mRewardItem;
   private String mZoneId;
+  private boolean mTrackedInZone;
 
   public AppLovinIncentivizedAdListener(
       MediationRewardedAdConfiguration adConfiguration,
       MediationRewardedAdCallback mRewardedAdCallback) {
+    this(adConfiguration, mRewardedAdCallback, true);
+  }
+
+  /**
+   * @param trackedInZone whether the ad is tracked in {@link
+   *     AppLovinMediationAdapter#INCENTIVIZED_ADS}, and must stop being tracked once hidden. Ads
+   *     served from the preload pool are not tracked, so hiding them must not clear the entry of
+   *     another load in progress for the same zone.
+   */
+  public AppLovinIncentivizedAdListener(
+      MediationRewardedAdConfiguration adConfiguration,
+      MediationRewardedAdCallback mRewardedAdCallback,
+      boolean trackedInZone) {
     mZoneId = AppLovinUtils.retrieveZoneId(adConfiguration.getServerParameters());
     this.mRewardedAdCallback = mRewardedAdCallback;
+    mTrackedInZone = trackedInZone;
   }
 
   // Ad Display Listener.
@@ -48,7 +63,9 @@ public class AppLovinIncentivizedAdListener
   @Override
   public void adHidden(AppLovinAd ad) {
     ApplovinAdapter.log(DEBUG, "Rewarded video dismissed.");
-    AppLovinMediationAdapter.INCENTIVIZED_ADS.remove(mZoneId);
+    if (mTrackedInZone) {
+      AppLovinMediationAdapter.INCENTIVIZED_ADS.remove(mZoneId);
+    }
     if (mFullyWatched) {
       mRewardedAdCallback.onUserEarnedReward(mRewardItem);
     }
@@ -7,6 +7,7 @@ import android.os.Bundle;
 import android.text.TextUtils;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import com.applovin.adview.AppLovinAdView;
 import com.applovin.sdk.AppLovinAdSize;
 import com.applovin.sdk.AppLovinErrorCodes;
 import com.applovin.sdk.AppLovinMediationProvider;
@@ -53,6 +54,14 @@ public class AppLovinUtils {
     return sdk;
   }
 
+  /**
+   * Pauses the web view of an AppLovin banner while it is off screen. The visibility tracking is
+   * released along with the ad view.
+   */
+  public static void pauseBannerWhileOffScreen(@NonNull AppLovinAdView adView) {
+    BannerVisibilityTracker.pauseWhileOffScreen(adView);
+  }
+
   /**
    * Checks whether or not the Android Manifest has a valid SDK key
    */
@@ -119,17 +128,26 @@ public class AppLovinUtils {
   @Nullable
   public static AppLovinAdSize appLovinAdSizeFromAdMobAdSize(@NonNull Context context,
       @NonNull AdSize adSize) {
-    ArrayList<AdSize> potentials = new ArrayList<>();
-    potentials.add(AdSize.BANNER);
-    potentials.add(AdSize.LEADERBOARD);
-
-    AdSize closestSize = MediationUtils.findClosestSize(context, adSize, potentials);
-    if (AdSize.BANNER.equals(closestSize)) {
-      return AppLovinAdSize.BANNER;
-    } else if (AdSize.LEADERBOARD.equals(closestSize)) {
-      return AppLovinAdSize.LEADER;
-    }
-
-    return null;
+    return BANNER_SIZE_RESOLVER.resolve(context, adSize);
   }
+
+  private static final BannerSizeResolver<AppLovinAdSize> BANNER_SIZE_RESOLVER =
+      new BannerSizeResolver<AppLovinAdSize>() {
+        @Nullable
+        @Override
+        protected AppLovinAdSize computeSize(@NonNull Context context, @NonNull AdSize adSize) {
+          ArrayList<AdSize> potentials = new ArrayList<>();
+          potentials.add(AdSize.BANNER);
+          potentials.add(AdSize.LEADERBOARD);
+
+          AdSize closestSize = MediationUtils.findClosestSize(context, adSize, potentials);
+          if (AdSize.BANNER.equals(closestSize)) {
+            return AppLovinAdSize.BANNER;
+          } else if (AdSize.LEADERBOARD.equals(closestSize)) {
+            return AppLovinAdSize.LEADER;
+          }
+
+          return null;
+        }
+      };
 }
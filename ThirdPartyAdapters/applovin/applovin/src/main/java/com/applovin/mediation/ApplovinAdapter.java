@@ -53,6 +53,7 @@ public class ApplovinAdapter extends AppLovinMediationAdapter
 
   // Banner objects.
   private AppLovinAdView mAdView;
+  private BannerVisibilityTracker mBannerVisibilityTracker;
 
   // Controlled fields.
   private String mZoneId;
@@ -193,6 +194,11 @@ public class ApplovinAdapter extends AppLovinMediationAdapter
     mAdView.setAdClickListener(listener);
     mAdView.setAdViewEventListener(listener);
 
+    if (mBannerVisibilityTracker != null) {
+      mBannerVisibilityTracker.destroy();
+    }
+    mBannerVisibilityTracker = BannerVisibilityTracker.pauseWhileOffScreen(mAdView);
+
     if (!TextUtils.isEmpty(mZoneId)) {
       mSdk.getAdService().loadNextAdForZoneId(mZoneId, listener);
     } else {
@@ -209,14 +215,24 @@ public class ApplovinAdapter extends AppLovinMediationAdapter
   // region MediationAdapter.
   @Override
   public void onPause() {
+    if (mBannerVisibilityTracker != null) {
+      mBannerVisibilityTracker.setPaused(true);
+    }
   }
 
   @Override
   public void onResume() {
+    if (mBannerVisibilityTracker != null) {
+      mBannerVisibilityTracker.setPaused(false);
+    }
   }
 
   @Override
   public void onDestroy() {
+    if (mBannerVisibilityTracker != null) {
+      mBannerVisibilityTracker.destroy();
+      mBannerVisibilityTracker = null;
+    }
   }
   // endregion
 
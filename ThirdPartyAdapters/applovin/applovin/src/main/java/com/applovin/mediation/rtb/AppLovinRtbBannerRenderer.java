@@ -74,6 +74,8 @@ public final class AppLovinRtbBannerRenderer
     adView.setAdDisplayListener(this);
     adView.setAdClickListener(this);
     adView.setAdViewEventListener(this);
+    // Renderers are not destroyed, so the tracking is released along with the ad view.
+    AppLovinUtils.pauseBannerWhileOffScreen(adView);
 
     // Load ad!
     sdk.getAdService().loadNextAdForAdToken(adConfiguration.getBidResponse(), this);
@@ -20,6 +20,7 @@ import com.applovin.mediation.rtb.AppLovinRtbInterstitialRenderer;
 import com.applovin.sdk.AppLovinAd;
 import com.applovin.sdk.AppLovinAdLoadListener;
 import com.applovin.sdk.AppLovinSdk;
+import com.applovin.sdk.AppLovinSdkConfiguration;
 import com.applovin.sdk.AppLovinSdkUtils;
 import com.google.android.gms.ads.AdFormat;
 import com.google.android.gms.ads.mediation.InitializationCompleteCallback;
@@ -47,9 +48,32 @@ public class AppLovinMediationAdapter extends RtbAdapter
     implements MediationRewardedAd, AppLovinAdLoadListener {
 
   private static final String TAG = AppLovinMediationAdapter.class.getSimpleName();
-  private static final String DEFAULT_ZONE = "";
+  static final String DEFAULT_ZONE = "";
   private static boolean isRtbAd = true;
 
+  /**
+   * Time after which an AppLovin SDK instance that has not finished initializing is reported as
+   * timed out.
+   */
+  private static final long SDK_INITIALIZATION_BUDGET_MILLIS = 3000;
+
+  /**
+   * Maximum time to wait for all AppLovin SDK instances to initialize before logging their
+   * initialization durations.
+   */
+  private static final long INITIALIZATION_BUDGET_MILLIS = 5000;
+
+  /**
+   * Default time a bid token is reused for signal collection.
+   */
+  private static final long DEFAULT_BID_TOKEN_TIME_TO_LIVE_MILLIS = 30000;
+
+  /**
+   * Bid tokens keyed by SDK key.
+   */
+  private static final BidTokenCache BID_TOKEN_CACHE =
+      new BidTokenCache(DEFAULT_BID_TOKEN_TIME_TO_LIVE_MILLIS);
+
   // AppLovin open-bidding banner ad renderer.
   private AppLovinRtbBannerRenderer mRtbBannerRenderer;
 
@@ -70,6 +94,9 @@ public class AppLovinMediationAdapter extends RtbAdapter
   // Rewarded Video objects.
   private MediationRewardedAdCallback mRewardedAdCallback;
   private AppLovinIncentivizedInterstitial mIncentivizedInterstitial;
+  // Whether mIncentivizedInterstitial was taken from the preload pool rather than tracked in
+  // INCENTIVIZED_ADS.
+  private boolean mServedFromPool;
   private String mZoneId;
   private Bundle mNetworkExtras;
   private MediationRewardedAdConfiguration adConfiguration;
@@ -153,23 +180,76 @@ public class AppLovinMediationAdapter extends RtbAdapter
     return String.format("%d: %s", code, message);
   }
 
+  /**
+   * Sets the number of ready rewarded ads to keep preloaded for each zone. Rewarded ad requests
+   * are served from these preloaded ads when possible, and the pool is refilled in the background
+   * as they are used. Only applies to rewarded ads not loaded through open bidding. A value of 0,
+   * the default, disables preloading. Zones known from adapter initialization are preloaded as
+   * soon as the pool is enabled, so call this before initializing the Google Mobile Ads SDK.
+   */
+  public static void setRewardedAdPoolSize(int poolSize) {
+    RewardedAdPool.setPoolSize(poolSize);
+  }
+
+  /**
+   * Sets how long a bid token is reused for signal collection before a new one is requested from
+   * the AppLovin SDK. Tokens are refreshed in the background shortly before they expire. A value of
+   * 0 disables the cache. Defaults to 30 seconds.
+   */
+  public static void setBidTokenTimeToLive(long timeToLiveMillis) {
+    BID_TOKEN_CACHE.setTimeToLive(timeToLiveMillis);
+  }
+
+  /**
+   * Sets whether an expired bid token is still used for signal collection while a new one is
+   * requested in the background, instead of waiting for the AppLovin SDK. Disabled by default.
+   */
+  public static void setBidTokenStaleWhileRevalidate(boolean staleWhileRevalidate) {
+    BID_TOKEN_CACHE.setStaleWhileRevalidate(staleWhileRevalidate);
+  }
+
   @Override
   public void initialize(Context context,
       InitializationCompleteCallback initializationCompleteCallback,
       List<MediationConfiguration> mediationConfigurations) {
     log(DEBUG, "Attempting to initialize SDK.");
 
+    // Each SDK key is backed by its own SDK instance. Initialize them all concurrently in the
+    // background rather than one after the other.
+    SdkWarmUp warmUp = new SdkWarmUp();
     if (AppLovinUtils.androidManifestHasValidSdkKey(context)) {
-      AppLovinSdk.getInstance(context).initializeSdk();
+      addWarmUpTask(warmUp, AppLovinSdk.getInstance(context));
     }
-
     for (MediationConfiguration mediationConfig : mediationConfigurations) {
-      AppLovinSdk sdk = AppLovinUtils.retrieveSdk(mediationConfig.getServerParameters(), context);
-      sdk.initializeSdk();
+      Bundle serverParameters = mediationConfig.getServerParameters();
+      AppLovinSdk sdk = AppLovinUtils.retrieveSdk(serverParameters, context);
+      addWarmUpTask(warmUp, sdk);
+      if (mediationConfig.getFormat() == AdFormat.REWARDED) {
+        RewardedAdPool.register(sdk, AppLovinUtils.retrieveZoneId(serverParameters));
+      }
     }
+
+    warmUp.start(SDK_INITIALIZATION_BUDGET_MILLIS, INITIALIZATION_BUDGET_MILLIS);
+
+    // Report the adapter as initialized without waiting for the warm-up. Ad requests made while an
+    // SDK is still initializing are served by it once it is ready.
     initializationCompleteCallback.onInitializationSucceeded();
   }
 
+  private static void addWarmUpTask(@NonNull SdkWarmUp warmUp, @NonNull final AppLovinSdk sdk) {
+    warmUp.add(sdk.getSdkKey(), new SdkWarmUp.Task() {
+      @Override
+      public void run(@NonNull final Runnable completion) {
+        sdk.initializeSdk(new AppLovinSdk.SdkInitializationListener() {
+          @Override
+          public void onSdkInitialized(AppLovinSdkConfiguration configuration) {
+            completion.run();
+          }
+        });
+      }
+    });
+  }
+
   @Override
   public VersionInfo getVersionInfo() {
     String versionString = BuildConfig.VERSION_NAME;
@@ -229,10 +309,28 @@ public class AppLovinMediationAdapter extends RtbAdapter
         mSdk = AppLovinUtils.retrieveSdk(serverParameters, context);
         mNetworkExtras = adConfiguration.getMediationExtras();
         mMediationAdLoadCallback = mediationAdLoadCallback;
+        mServedFromPool = false;
 
         String logMessage = String.format("Requesting rewarded video for zone '%s'", mZoneId);
         log(DEBUG, logMessage);
 
+        // Serve the request from the preload pool when it holds a ready ad for the zone.
+        AppLovinIncentivizedInterstitial pooledInterstitial = RewardedAdPool.poll(mSdk, mZoneId);
+        if (pooledInterstitial != null) {
+          log(DEBUG, String.format("Serving preloaded rewarded video for zone '%s'", mZoneId));
+          mIncentivizedInterstitial = pooledInterstitial;
+          mServedFromPool = true;
+          AppLovinSdkUtils.runOnUiThread(
+              new Runnable() {
+                @Override
+                public void run() {
+                  mRewardedAdCallback =
+                      mMediationAdLoadCallback.onSuccess(AppLovinMediationAdapter.this);
+                }
+              });
+          return;
+        }
+
         // Check if incentivized ad for zone already exists.
         if (INCENTIVIZED_ADS.containsKey(mZoneId)) {
           mIncentivizedInterstitial = INCENTIVIZED_ADS.get(mZoneId);
@@ -275,7 +373,8 @@ public class AppLovinMediationAdapter extends RtbAdapter
     String logMessage = String.format("Showing rewarded video for zone '%s'", mZoneId);
     log(DEBUG, logMessage);
     final AppLovinIncentivizedAdListener listener =
-        new AppLovinIncentivizedAdListener(adConfiguration, mRewardedAdCallback);
+        new AppLovinIncentivizedAdListener(
+            adConfiguration, mRewardedAdCallback, !isRtbAd && !mServedFromPool);
 
     if (!isRtbAd) {
       if (!mIncentivizedInterstitial.isAdReadyToDisplay()) {
@@ -309,9 +408,14 @@ public class AppLovinMediationAdapter extends RtbAdapter
       Log.i(TAG, "Extras for signal collection: " + rtbSignalData.getNetworkExtras());
     }
 
-    AppLovinSdk sdk =
+    final AppLovinSdk sdk =
         AppLovinUtils.retrieveSdk(config.getServerParameters(), rtbSignalData.getContext());
-    String bidToken = sdk.getAdService().getBidToken();
+    String bidToken = BID_TOKEN_CACHE.get(sdk.getSdkKey(), new BidTokenCache.TokenSource() {
+      @Override
+      public String fetchToken() {
+        return sdk.getAdService().getBidToken();
+      }
+    });
 
     if (!TextUtils.isEmpty(bidToken)) {
       Log.i(TAG, "Generated bid token: " + bidToken);
@@ -0,0 +1,197 @@
+package com.google.ads.mediation.applovin;
+
+import static android.util.Log.DEBUG;
+import static com.applovin.mediation.ApplovinAdapter.log;
+
+import android.os.SystemClock;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.applovin.adview.AppLovinIncentivizedInterstitial;
+import com.applovin.sdk.AppLovinAd;
+import com.applovin.sdk.AppLovinAdLoadListener;
+import com.applovin.sdk.AppLovinSdk;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An opt-in pool of preloaded AppLovin rewarded ads. For each SDK key and zone, the pool keeps up
+ * to {@link #setPoolSize(int)} ads ready to be shown, refills itself in the background whenever an
+ * ad is taken from it, and discards ads that have been held for longer than {@link #AD_TTL_MILLIS}.
+ * Zones registered at initialization are warmed as soon as the pool is enabled, so that the first
+ * request for them can already be served from the pool.
+ */
+final class RewardedAdPool {
+
+  /**
+   * Time after which a preloaded ad is considered stale and is discarded.
+   */
+  private static final long AD_TTL_MILLIS = TimeUnit.MINUTES.toMillis(30);
+
+  /**
+   * Number of ready ads to keep for each zone. The pool is disabled when this is 0.
+   */
+  private static int sPoolSize = 0;
+
+  private static final HashMap<String, ZonePool> POOLS = new HashMap<>();
+
+  private RewardedAdPool() {
+  }
+
+  /**
+   * Sets the number of ready rewarded ads kept for each zone. A value of 0 disables the pool and
+   * releases all preloaded ads. Otherwise, the known zones start preloading right away.
+   */
+  static void setPoolSize(int poolSize) {
+    List<ZonePool> pools;
+    synchronized (RewardedAdPool.class) {
+      sPoolSize = Math.max(0, poolSize);
+      for (ZonePool pool : POOLS.values()) {
+        while (pool.mReadyAds.size() > sPoolSize) {
+          pool.mReadyAds.removeLast();
+        }
+      }
+      pools = new ArrayList<>(POOLS.values());
+    }
+    for (ZonePool pool : pools) {
+      refill(pool.mSdk, pool.mZoneId);
+    }
+  }
+
+  /**
+   * Makes a zone known to the pool, and starts preloading ads for it if the pool is enabled.
+   */
+  static void register(@NonNull AppLovinSdk sdk, @NonNull String zoneId) {
+    synchronized (RewardedAdPool.class) {
+      getPool(sdk, zoneId);
+    }
+    refill(sdk, zoneId);
+  }
+
+  static synchronized boolean isEnabled() {
+    return sPoolSize > 0;
+  }
+
+  /**
+   * Takes a ready ad for the given zone out of the pool, and starts preloading a replacement.
+   *
+   * @return an ad that is ready to be shown, or {@code null} if the pool is disabled or has no
+   *     ready ad for the zone.
+   */
+  @Nullable
+  static AppLovinIncentivizedInterstitial poll(@NonNull AppLovinSdk sdk, @NonNull String zoneId) {
+    AppLovinIncentivizedInterstitial ad = null;
+    synchronized (RewardedAdPool.class) {
+      if (sPoolSize <= 0) {
+        return null;
+      }
+      ZonePool pool = getPool(sdk, zoneId);
+      long now = SystemClock.elapsedRealtime();
+      PooledAd pooledAd;
+      while (ad == null && (pooledAd = pool.mReadyAds.pollFirst()) != null) {
+        if (pooledAd.mExpiryTime > now && pooledAd.mInterstitial.isAdReadyToDisplay()) {
+          ad = pooledAd.mInterstitial;
+        }
+      }
+    }
+    refill(sdk, zoneId);
+    return ad;
+  }
+
+  /**
+   * Starts preloading ads for the given zone until it holds as many ready ads as the pool size.
+   */
+  static void refill(@NonNull AppLovinSdk sdk, @NonNull final String zoneId) {
+    final ZonePool pool;
+    int missing;
+    synchronized (RewardedAdPool.class) {
+      if (sPoolSize <= 0) {
+        return;
+      }
+      pool = getPool(sdk, zoneId);
+      missing = sPoolSize - pool.mReadyAds.size() - pool.mLoadingCount;
+      if (missing <= 0) {
+        return;
+      }
+      pool.mLoadingCount += missing;
+    }
+
+    log(DEBUG, String.format("Preloading %d rewarded ad(s) for zone '%s'", missing, zoneId));
+    for (int i = 0; i < missing; i++) {
+      final AppLovinIncentivizedInterstitial interstitial =
+          AppLovinMediationAdapter.DEFAULT_ZONE.equals(zoneId)
+              ? AppLovinIncentivizedInterstitial.create(sdk)
+              : AppLovinIncentivizedInterstitial.create(zoneId, sdk);
+      interstitial.preload(new AppLovinAdLoadListener() {
+        @Override
+        public void adReceived(AppLovinAd ad) {
+          synchronized (RewardedAdPool.class) {
+            pool.mLoadingCount--;
+            if (pool.mReadyAds.size() < sPoolSize) {
+              pool.mReadyAds.addLast(new PooledAd(interstitial,
+                  SystemClock.elapsedRealtime() + AD_TTL_MILLIS));
+            }
+          }
+        }
+
+        @Override
+        public void failedToReceiveAd(int code) {
+          // The next request for this zone triggers another refill.
+          synchronized (RewardedAdPool.class) {
+            pool.mLoadingCount--;
+          }
+          log(DEBUG, String.format("Failed to preload rewarded ad for zone '%s': %s", zoneId,
+              AppLovinMediationAdapter.createSDKError(code)));
+        }
+      });
+    }
+  }
+
+  /**
+   * Returns the pool for the given zone, creating it if needed. Must be called while holding the
+   * lock on this class.
+   */
+  @NonNull
+  private static ZonePool getPool(@NonNull AppLovinSdk sdk, @NonNull String zoneId) {
+    String key = sdk.getSdkKey() + ":" + zoneId;
+    ZonePool pool = POOLS.get(key);
+    if (pool == null) {
+      pool = new ZonePool(sdk, zoneId);
+      POOLS.put(key, pool);
+    }
+    return pool;
+  }
+
+  private static final class ZonePool {
+
+    private final AppLovinSdk mSdk;
+
+    private final String mZoneId;
+
+    /**
+     * Ready ads, from oldest to newest.
+     */
+    private final ArrayDeque<PooledAd> mReadyAds = new ArrayDeque<>();
+
+    private int mLoadingCount;
+
+    ZonePool(@NonNull AppLovinSdk sdk, @NonNull String zoneId) {
+      mSdk = sdk;
+      mZoneId = zoneId;
+    }
+  }
+
+  private static final class PooledAd {
+
+    private final AppLovinIncentivizedInterstitial mInterstitial;
+
+    private final long mExpiryTime;
+
+    PooledAd(@NonNull AppLovinIncentivizedInterstitial interstitial, long expiryTime) {
+      mInterstitial = interstitial;
+      mExpiryTime = expiryTime;
+    }
+  }
+}
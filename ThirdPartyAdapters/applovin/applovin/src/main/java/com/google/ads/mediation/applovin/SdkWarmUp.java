@@ -0,0 +1,183 @@
+package com.google.ads.mediation.applovin;
+
+import static android.util.Log.DEBUG;
+import static android.util.Log.WARN;
+import static com.applovin.mediation.ApplovinAdapter.log;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import androidx.annotation.NonNull;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs a set of SDK initialization tasks concurrently on a bounded background executor, within a
+ * time budget per task and an overall time budget. Once every task has completed or timed out, or
+ * once the overall budget has elapsed, the duration of each task is logged once on the main thread.
+ * Tasks that are still running past the overall budget keep running in the background.
+ */
+final class SdkWarmUp {
+
+  /**
+   * A single initialization task.
+   */
+  interface Task {
+
+    /**
+     * Starts the initialization. Called on a background thread. {@code completion} must be called
+     * once the initialization has completed, from any thread.
+     */
+    void run(@NonNull Runnable completion);
+  }
+
+  /**
+   * Maximum number of initialization tasks run at the same time.
+   */
+  private static final int MAX_THREADS = 4;
+
+  /**
+   * Time an idle warm-up thread is kept alive before being released.
+   */
+  private static final long KEEP_ALIVE_SECONDS = 30;
+
+  private static ThreadPoolExecutor executor;
+
+  private final Handler mMainHandler = new Handler(Looper.getMainLooper());
+
+  private final LinkedHashMap<String, Task> mTasks = new LinkedHashMap<>();
+
+  /**
+   * Duration of each completed task, or -1 for the tasks that exceeded their budget.
+   */
+  private final ConcurrentHashMap<String, Long> mResults = new ConcurrentHashMap<>();
+
+  private final AtomicInteger mRemaining = new AtomicInteger();
+
+  private final AtomicBoolean mFinished = new AtomicBoolean();
+
+  private long mStartTime;
+
+  /**
+   * Adds a task to the warm-up. Must be called before {@link #start(long, long)}.
+   */
+  void add(@NonNull String name, @NonNull Task task) {
+    mTasks.put(name, task);
+  }
+
+  /**
+   * Starts every task concurrently. Must be called on the main thread.
+   *
+   * @param taskBudgetMillis the time after which a task that has not completed is considered timed
+   *     out.
+   * @param totalBudgetMillis the time after which the durations are logged even if some tasks are
+   *     still running.
+   */
+  void start(long taskBudgetMillis, long totalBudgetMillis) {
+    mStartTime = SystemClock.elapsedRealtime();
+    mRemaining.set(mTasks.size());
+    if (mTasks.isEmpty()) {
+      finish();
+      return;
+    }
+
+    mMainHandler.postDelayed(new Runnable() {
+      @Override
+      public void run() {
+        finish();
+      }
+    }, totalBudgetMillis);
+
+    ThreadPoolExecutor executor = getExecutor();
+    for (final Map.Entry<String, Task> entry : mTasks.entrySet()) {
+      final String name = entry.getKey();
+      mMainHandler.postDelayed(new Runnable() {
+        @Override
+        public void run() {
+          complete(name, -1);
+        }
+      }, taskBudgetMillis);
+      executor.execute(new Runnable() {
+        @Override
+        public void run() {
+          entry.getValue().run(new Runnable() {
+            @Override
+            public void run() {
+              complete(name, SystemClock.elapsedRealtime() - mStartTime);
+            }
+          });
+        }
+      });
+    }
+  }
+
+  private void complete(@NonNull String name, long duration) {
+    if (mResults.putIfAbsent(name, duration) != null) {
+      // Already completed or timed out.
+      return;
+    }
+    if (mRemaining.decrementAndGet() == 0) {
+      // Log the durations in a single main thread hop.
+      mMainHandler.post(new Runnable() {
+        @Override
+        public void run() {
+          finish();
+        }
+      });
+    }
+  }
+
+  private void finish() {
+    if (!mFinished.compareAndSet(false, true)) {
+      return;
+    }
+    mMainHandler.removeCallbacksAndMessages(null);
+
+    LinkedHashMap<String, Long> durations = new LinkedHashMap<>();
+    List<String> timedOut = new ArrayList<>();
+    for (String name : mTasks.keySet()) {
+      Long duration = mResults.get(name);
+      if (duration == null || duration < 0) {
+        timedOut.add(name);
+      } else {
+        durations.put(name, duration);
+      }
+    }
+    log(DEBUG, "Warm-up finished in " + (SystemClock.elapsedRealtime() - mStartTime)
+        + "ms. Initialization durations (ms): " + durations);
+    if (!timedOut.isEmpty()) {
+      log(WARN, "Initialization did not complete within its budget for: " + timedOut);
+    }
+  }
+
+  private static synchronized ThreadPoolExecutor getExecutor() {
+    if (executor == null) {
+      executor =
+          new ThreadPoolExecutor(
+              MAX_THREADS,
+              MAX_THREADS,
+              KEEP_ALIVE_SECONDS,
+              TimeUnit.SECONDS,
+              new LinkedBlockingQueue<Runnable>(),
+              new ThreadFactory() {
+                private final AtomicInteger mCount = new AtomicInteger();
+
+                @Override
+                public Thread newThread(@NonNull Runnable runnable) {
+                  return new Thread(runnable, "AppLovinWarmUp-" + mCount.incrementAndGet());
+                }
+              });
+      executor.allowCoreThreadTimeOut(true);
+    }
+    return executor;
+  }
+}
@@ -24,8 +24,6 @@ import com.chartboost.sdk.Chartboost;
 import com.chartboost.sdk.ChartboostDelegate;
 import com.chartboost.sdk.Libraries.CBLogging;
 import com.chartboost.sdk.Model.CBError;
-import java.lang.ref.WeakReference;
-import java.util.HashMap;
 
 /**
  * The {@link ChartboostSingleton} class is used to load Chartboost ads and manage multiple {@link
@@ -34,16 +32,16 @@ import java.util.HashMap;
 public final class ChartboostSingleton {
 
   /**
-   * Synchronized HashMaps of {@link AbstractChartboostAdapterDelegate} weak references keyed by
-   * their Chartboost location.
+   * Registries of {@link AbstractChartboostAdapterDelegate}s keyed by their Chartboost location,
+   * one per ad format. They are accessed from both the main thread and Chartboost SDK threads.
    */
-  private static HashMap<String, WeakReference<AbstractChartboostAdapterDelegate>>
-      mInterstitialDelegates = new HashMap<>();
+  private static final DelegateRegistry<AbstractChartboostAdapterDelegate> mInterstitialDelegates =
+      new DelegateRegistry<>();
 
-  private static HashMap<String, WeakReference<AbstractChartboostAdapterDelegate>>
-      mRewardedDelegates = new HashMap<>();
-  private static HashMap<String, WeakReference<AbstractChartboostAdapterDelegate>>
-      mBannerDelegates = new HashMap<>();
+  private static final DelegateRegistry<AbstractChartboostAdapterDelegate> mRewardedDelegates =
+      new DelegateRegistry<>();
+  private static final DelegateRegistry<AbstractChartboostAdapterDelegate> mBannerDelegates =
+      new DelegateRegistry<>();
 
   /** Flag to keep track of whether or not {@link Chartboost} has initialized. */
   private static boolean mIsChartboostInitialized;
@@ -66,42 +64,6 @@ public final class ChartboostSingleton {
     return chartboostSingletonDelegate;
   }
 
-  /**
-   * Adds the given {@link AbstractChartboostAdapterDelegate} to the map of Chartboost locations.
-   *
-   * @param delegate the delegate that needs to be added to {@link #mInterstitialDelegates}.
-   */
-  private static void addInterstitialDelegate(
-      String location, AbstractChartboostAdapterDelegate delegate) {
-    if (!TextUtils.isEmpty(location) && delegate != null) {
-      mInterstitialDelegates.put(location, new WeakReference<>(delegate));
-    }
-  }
-
-  /**
-   * Adds the given {@link AbstractChartboostAdapterDelegate} to the map of Chartboost locations.
-   *
-   * @param delegate the delegate that needs to be added to {@link #mRewardedDelegates}.
-   */
-  private static void addRewardedDelegate(
-      String location, AbstractChartboostAdapterDelegate delegate) {
-    if (!TextUtils.isEmpty(location) && delegate != null) {
-      mRewardedDelegates.put(location, new WeakReference<>(delegate));
-    }
-  }
-
-  /**
-   * Adds the given {@link AbstractChartboostAdapterDelegate} to the map of Chartboost locations.
-   *
-   * @param delegate the delegate that needs to be added to {@link #mBannerDelegates}.
-   */
-  private static void addBannerDelegate(
-      String location, AbstractChartboostAdapterDelegate delegate) {
-    if (!TextUtils.isEmpty(location) && delegate != null) {
-      mBannerDelegates.put(location, new WeakReference<>(delegate));
-    }
-  }
-
   /**
    * Gets the {@link AbstractChartboostAdapterDelegate} linked to a given Chartboost location.
    *
@@ -111,10 +73,10 @@ public final class ChartboostSingleton {
   @Nullable
   private static AbstractChartboostAdapterDelegate getInterstitialDelegate(
       @NonNull String location) {
-    if (!TextUtils.isEmpty(location) && mInterstitialDelegates.containsKey(location)) {
-      return mInterstitialDelegates.get(location).get();
+    if (TextUtils.isEmpty(location)) {
+      return null;
     }
-    return null;
+    return mInterstitialDelegates.get(location);
   }
 
   /**
@@ -125,10 +87,10 @@ public final class ChartboostSingleton {
    */
   @Nullable
   private static AbstractChartboostAdapterDelegate getRewardedDelegate(String location) {
-    if (!TextUtils.isEmpty(location) && mRewardedDelegates.containsKey(location)) {
-      return mRewardedDelegates.get(location).get();
+    if (TextUtils.isEmpty(location)) {
+      return null;
     }
-    return null;
+    return mRewardedDelegates.get(location);
   }
 
   /**
@@ -139,10 +101,10 @@ public final class ChartboostSingleton {
    */
   @Nullable
   private static AbstractChartboostAdapterDelegate getBannerDelegate(String location) {
-    if (!TextUtils.isEmpty(location) && mBannerDelegates.containsKey(location)) {
-      return mBannerDelegates.get(location).get();
+    if (TextUtils.isEmpty(location)) {
+      return null;
     }
-    return null;
+    return mBannerDelegates.get(location);
   }
 
   /**
@@ -153,13 +115,10 @@ public final class ChartboostSingleton {
    */
   static void removeBannerDelegate(@NonNull AbstractChartboostAdapterDelegate bannerDelegate) {
     String location = bannerDelegate.getChartboostParams().getLocation();
-    if (TextUtils.isEmpty(location) || !mBannerDelegates.containsKey(location)) {
+    if (TextUtils.isEmpty(location)) {
       return;
     }
-
-    if (bannerDelegate.equals(mBannerDelegates.get(location).get())) {
-      mBannerDelegates.remove(location);
-    }
+    mBannerDelegates.release(location, bannerDelegate);
   }
 
   /**
@@ -172,19 +131,16 @@ public final class ChartboostSingleton {
       Context context, AbstractChartboostAdapterDelegate adapterDelegate) {
     String location = adapterDelegate.getChartboostParams().getLocation();
 
-    // Checks if an ad has already been sent for caching for the requested location, and fail
-    // the ad request if it is.
-    AbstractChartboostAdapterDelegate delegate = getInterstitialDelegate(location);
-    if (delegate != null) {
+    // Claims the requested location so that the events from Chartboost SDK can be forwarded to
+    // this adapter delegate, and fail the ad request if an ad has already been sent for caching
+    // for it.
+    if (!TextUtils.isEmpty(location) && !mInterstitialDelegates.claim(location, adapterDelegate)) {
       String errorMessage =
           String.format("An ad has already been requested for the location: %s.", location);
       adapterDelegate.onAdFailedToLoad(ERROR_AD_ALREADY_LOADED, errorMessage);
       return;
     }
 
-    // Add this adapter delegate to mAdapterDelegates so that the events from
-    // Chartboost SDK can be forwarded.
-    addInterstitialDelegate(location, adapterDelegate);
     startChartboost(context, adapterDelegate.getChartboostParams(), adapterDelegate);
   }
 
@@ -198,19 +154,16 @@ public final class ChartboostSingleton {
       Context context, AbstractChartboostAdapterDelegate adapterDelegate) {
     String location = adapterDelegate.getChartboostParams().getLocation();
 
-    // Checks if an ad has already been sent for caching for the requested location, and fail
-    // the ad request if it is.
-    AbstractChartboostAdapterDelegate delegate = getRewardedDelegate(location);
-    if (delegate != null) {
+    // Claims the requested location so that the events from Chartboost SDK can be forwarded to
+    // this adapter delegate, and fail the ad request if an ad has already been sent for caching
+    // for it.
+    if (!TextUtils.isEmpty(location) && !mRewardedDelegates.claim(location, adapterDelegate)) {
       String errorMessage =
           String.format("An ad has already been requested for the location: %s.", location);
       adapterDelegate.onAdFailedToLoad(ERROR_AD_ALREADY_LOADED, errorMessage);
       return;
     }
 
-    // Add this adapter delegate to mAdapterDelegates so that the events from
-    // Chartboost SDK can be forwarded.
-    addRewardedDelegate(location, adapterDelegate);
     startChartboost(context, adapterDelegate.getChartboostParams(), adapterDelegate);
   }
 
@@ -224,17 +177,16 @@ public final class ChartboostSingleton {
       Context context, AbstractChartboostAdapterDelegate adapterDelegate) {
     String location = adapterDelegate.getChartboostParams().getLocation();
 
-    // Checks if an ad has already been sent for caching for the requested location, and fail
-    // the ad request if it is.
-    AbstractChartboostAdapterDelegate delegate = getBannerDelegate(location);
-    if (delegate != null) {
+    // Claims the requested location so that the events from Chartboost SDK can be forwarded to
+    // this adapter delegate, and fail the ad request if an ad has already been sent for caching
+    // for it.
+    if (!TextUtils.isEmpty(location) && !mBannerDelegates.claim(location, adapterDelegate)) {
       String errorMessage =
           String.format("An ad has already been requested for the location: %s.", location);
       adapterDelegate.onAdFailedToLoad(ERROR_AD_ALREADY_LOADED, errorMessage);
       return;
     }
 
-    addBannerDelegate(location, adapterDelegate);
     startChartboost(context, adapterDelegate.getChartboostParams(), adapterDelegate);
   }
 
@@ -351,24 +303,16 @@ public final class ChartboostSingleton {
       mIsChartboostInitializing = false;
       mIsChartboostInitialized = true;
 
-      for (WeakReference<AbstractChartboostAdapterDelegate> reference :
-          mInterstitialDelegates.values()) {
-        if (reference.get() != null) {
-          reference.get().didInitialize();
-        }
+      for (AbstractChartboostAdapterDelegate delegate : mInterstitialDelegates.getAll()) {
+        delegate.didInitialize();
       }
 
-      for (WeakReference<AbstractChartboostAdapterDelegate> reference :
-          mRewardedDelegates.values()) {
-        if (reference.get() != null) {
-          reference.get().didInitialize();
-        }
+      for (AbstractChartboostAdapterDelegate delegate : mRewardedDelegates.getAll()) {
+        delegate.didInitialize();
       }
 
-      for (WeakReference<AbstractChartboostAdapterDelegate> reference : mBannerDelegates.values()) {
-        if (reference.get() != null) {
-          reference.get().didInitialize();
-        }
+      for (AbstractChartboostAdapterDelegate delegate : mBannerDelegates.getAll()) {
+        delegate.didInitialize();
       }
     }
 
@@ -392,7 +336,7 @@ public final class ChartboostSingleton {
       if (delegate != null) {
         delegate.didFailToLoadInterstitial(location, error);
       }
-      mInterstitialDelegates.remove(location);
+      mInterstitialDelegates.release(location);
     }
 
     @Override
@@ -415,7 +359,7 @@ public final class ChartboostSingleton {
       if (reference != null) {
         reference.didDismissInterstitial(location);
       }
-      mInterstitialDelegates.remove(location);
+      mInterstitialDelegates.release(location);
     }
 
     @Override
@@ -454,7 +398,7 @@ public final class ChartboostSingleton {
       if (delegate != null) {
         delegate.didFailToLoadRewardedVideo(location, error);
       }
-      mRewardedDelegates.remove(location);
+      mRewardedDelegates.release(location);
     }
 
     @Override
@@ -499,7 +443,7 @@ public final class ChartboostSingleton {
       if (delegate != null) {
         delegate.didDismissRewardedVideo(location);
       }
-      mRewardedDelegates.remove(location);
+      mRewardedDelegates.release(location);
     }
   }
 }
@@ -0,0 +1,143 @@
+// Copyright 2020 Google Inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.ads.mediation.chartboost;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A thread-safe registry routing SDK callbacks to the delegate that claimed a location. Delegates
+ * are held weakly, and a location whose delegate has been garbage collected may be claimed again.
+ * Entries of garbage collected delegates are reaped through a {@link ReferenceQueue} whenever a
+ * location is claimed, in time proportional to the number of such entries.
+ *
+ * @param <T> the type of delegate.
+ */
+final class DelegateRegistry<T> {
+
+  private final ConcurrentHashMap<String, WeakReference<T>> mDelegates = new ConcurrentHashMap<>();
+
+  /**
+   * Queue to which the references of garbage collected delegates are enqueued.
+   */
+  private final ReferenceQueue<T> mCollectedDelegates = new ReferenceQueue<>();
+
+  /**
+   * Atomically claims a location for the given delegate.
+   *
+   * @return {@code true} if the location was claimed, {@code false} if another delegate already
+   *     holds it.
+   */
+  boolean claim(@Nullable String location, @NonNull T delegate) {
+    if (location == null) {
+      return false;
+    }
+    reapCollectedDelegates();
+    WeakReference<T> reference = new LocationReference<>(location, delegate, mCollectedDelegates);
+    while (true) {
+      WeakReference<T> current = mDelegates.putIfAbsent(location, reference);
+      if (current == null) {
+        return true;
+      }
+      if (current.get() != null) {
+        return false;
+      }
+      if (mDelegates.replace(location, current, reference)) {
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Returns the delegate holding a location, or {@code null} if none does.
+   */
+  @Nullable
+  T get(@Nullable String location) {
+    if (location == null) {
+      return null;
+    }
+    WeakReference<T> reference = mDelegates.get(location);
+    return reference != null ? reference.get() : null;
+  }
+
+  /**
+   * Releases a location, whichever delegate holds it.
+   */
+  void release(@Nullable String location) {
+    if (location != null) {
+      mDelegates.remove(location);
+    }
+  }
+
+  /**
+   * Releases a location only if it is held by the given delegate.
+   */
+  void release(@Nullable String location, @NonNull T delegate) {
+    if (location == null) {
+      return;
+    }
+    WeakReference<T> reference = mDelegates.get(location);
+    if (reference != null && reference.get() == delegate) {
+      mDelegates.remove(location, reference);
+    }
+  }
+
+  /**
+   * Returns every registered delegate that has not been garbage collected.
+   */
+  @NonNull
+  List<T> getAll() {
+    reapCollectedDelegates();
+    List<T> delegates = new ArrayList<>();
+    for (WeakReference<T> reference : mDelegates.values()) {
+      T delegate = reference.get();
+      if (delegate != null) {
+        delegates.add(delegate);
+      }
+    }
+    return delegates;
+  }
+
+  /**
+   * Removes the entries whose delegate has been garbage collected since the last call.
+   */
+  private void reapCollectedDelegates() {
+    Reference<? extends T> reference;
+    while ((reference = mCollectedDelegates.poll()) != null) {
+      // The location may have been claimed again since, in which case its entry is kept.
+      mDelegates.remove(((LocationReference<?>) reference).mLocation, reference);
+    }
+  }
+
+  /**
+   * A weak reference to a delegate that remembers the location it was registered for.
+   */
+  private static final class LocationReference<T> extends WeakReference<T> {
+
+    private final String mLocation;
+
+    LocationReference(
+        @NonNull String location, @NonNull T delegate, @NonNull ReferenceQueue<? super T> queue) {
+      super(delegate, queue);
+      mLocation = location;
+    }
+  }
+}
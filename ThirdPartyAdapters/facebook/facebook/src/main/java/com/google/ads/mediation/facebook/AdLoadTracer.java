@@ -0,0 +1,239 @@
+package com.google.ads.mediation.facebook;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * Times the phases of each ad load, from the ad request to the delivery of the load callback, and
+ * aggregates the phase latencies of all ad loads into histograms per ad format. Tracing is disabled
+ * by default, in which case traces record nothing.
+ */
+final class AdLoadTracer {
+
+  static final String FORMAT_BANNER = "banner";
+
+  static final String FORMAT_INTERSTITIAL = "interstitial";
+
+  static final String FORMAT_NATIVE = "native";
+
+  /**
+   * Phases of an ad load, in the order they complete. Each phase is timed from the end of the
+   * previous phase recorded for the ad load, or from the ad request for the first one.
+   */
+  enum Phase {
+    /**
+     * The network SDK is initialized.
+     */
+    INITIALIZED,
+    /**
+     * The network SDK has loaded the ad.
+     */
+    NETWORK_LOADED,
+    /**
+     * The ad's assets, such as native ad images, are downloaded.
+     */
+    ASSETS_READY,
+    /**
+     * The ad is mapped to a Google Mobile Ads native ad.
+     */
+    MAPPED,
+    /**
+     * The load callback has been delivered to the Google Mobile Ads SDK.
+     */
+    CALLBACK_DELIVERED,
+    /**
+     * The ad load failed or timed out, and the failure callback is about to be delivered.
+     */
+    FAILED
+  }
+
+  /**
+   * Histogram key of the whole ad load, from the ad request to the load callback.
+   */
+  private static final String KEY_TOTAL = "total";
+
+  /**
+   * Histogram key of the whole failed ad load, from the ad request to the failure callback.
+   */
+  private static final String KEY_TOTAL_FAILED = "total_failed";
+
+  /**
+   * Trace handed out while tracing is disabled, which records nothing.
+   */
+  private static final Trace DISABLED_TRACE = new Trace(null);
+
+  /**
+   * Latency histograms keyed by ad format and phase, such as {@code native/mapped}.
+   */
+  private static final ConcurrentHashMap<String, LatencyHistogram> HISTOGRAMS =
+      new ConcurrentHashMap<>();
+
+  private static volatile boolean enabled;
+
+  private AdLoadTracer() {
+  }
+
+  static void setEnabled(boolean isEnabled) {
+    enabled = isEnabled;
+  }
+
+  /**
+   * Starts timing an ad load of the given format, when its ad request is received.
+   */
+  @NonNull
+  static Trace start(@NonNull String format) {
+    return enabled ? new Trace(format) : DISABLED_TRACE;
+  }
+
+  /**
+   * Returns the latencies recorded so far as a JSON object, keyed by ad format and phase. Each
+   * entry holds the number of ad loads that went through the phase and its latency percentiles in
+   * milliseconds.
+   */
+  @NonNull
+  static String getSnapshot() {
+    JSONObject snapshot = new JSONObject();
+    try {
+      for (Map.Entry<String, LatencyHistogram> entry : new TreeMap<>(HISTOGRAMS).entrySet()) {
+        snapshot.put(entry.getKey(), entry.getValue().toJson());
+      }
+    } catch (JSONException exception) {
+      // Only thrown for non-finite numbers, which are never recorded.
+    }
+    return snapshot.toString();
+  }
+
+  private static void record(@NonNull String key, long latencyNanos) {
+    LatencyHistogram histogram = HISTOGRAMS.get(key);
+    if (histogram == null) {
+      LatencyHistogram newHistogram = new LatencyHistogram();
+      histogram = HISTOGRAMS.putIfAbsent(key, newHistogram);
+      if (histogram == null) {
+        histogram = newHistogram;
+      }
+    }
+    histogram.record(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+  }
+
+  /**
+   * The phases recorded so far for a single ad load.
+   */
+  static final class Trace {
+
+    @Nullable private final String mFormat;
+
+    private final long mStartNanos;
+
+    private long mLastMarkNanos;
+
+    private int mLastPhase = -1;
+
+    private Trace(@Nullable String format) {
+      mFormat = format;
+      mStartNanos = System.nanoTime();
+      mLastMarkNanos = mStartNanos;
+    }
+
+    /**
+     * Records the end of the given phase. Phases which are not later than the last recorded one,
+     * such as the loads of a refreshing banner, are ignored. {@link Phase#FAILED} ends the trace,
+     * whichever phase the ad load failed in, but is ignored once the load callback has been
+     * delivered, such as for a failed banner refresh.
+     */
+    synchronized void mark(@NonNull Phase phase) {
+      if (mFormat == null
+          || phase.ordinal() <= mLastPhase
+          || mLastPhase >= Phase.CALLBACK_DELIVERED.ordinal()) {
+        return;
+      }
+      long now = System.nanoTime();
+      record(mFormat + "/" + phase.name().toLowerCase(Locale.US), now - mLastMarkNanos);
+      mLastMarkNanos = now;
+      mLastPhase = phase.ordinal();
+      if (phase == Phase.CALLBACK_DELIVERED) {
+        record(mFormat + "/" + KEY_TOTAL, now - mStartNanos);
+      } else if (phase == Phase.FAILED) {
+        record(mFormat + "/" + KEY_TOTAL_FAILED, now - mStartNanos);
+      }
+    }
+  }
+
+  /**
+   * A log-linear histogram of latencies in microseconds, in the manner of HdrHistogram. Each power
+   * of two is split into {@link #SUB_BUCKET_COUNT} linear sub-buckets, so that recorded values keep
+   * a relative precision of about 6% over the whole range.
+   */
+  private static final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    private static final int BUCKET_COUNT = (64 - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT;
+
+    private final long[] mCounts = new long[BUCKET_COUNT];
+
+    private long mTotalCount;
+
+    private long mMaxValue;
+
+    synchronized void record(long value) {
+      value = Math.max(0, value);
+      mCounts[getIndex(value)]++;
+      mTotalCount++;
+      mMaxValue = Math.max(mMaxValue, value);
+    }
+
+    @NonNull
+    synchronized JSONObject toJson() throws JSONException {
+      JSONObject json = new JSONObject();
+      json.put("count", mTotalCount);
+      json.put("p50_ms", getPercentile(0.50) / 1000.0);
+      json.put("p90_ms", getPercentile(0.90) / 1000.0);
+      json.put("p99_ms", getPercentile(0.99) / 1000.0);
+      json.put("max_ms", mMaxValue / 1000.0);
+      return json;
+    }
+
+    private long getPercentile(double percentile) {
+      long rank = Math.max(1, (long) Math.ceil(percentile * mTotalCount));
+      long count = 0;
+      for (int index = 0; index < BUCKET_COUNT; index++) {
+        count += mCounts[index];
+        if (count >= rank) {
+          return Math.min(getMedianValue(index), mMaxValue);
+        }
+      }
+      return mMaxValue;
+    }
+
+    private static int getIndex(long value) {
+      if (value < SUB_BUCKET_COUNT) {
+        return (int) value;
+      }
+      int exponent = 63 - Long.numberOfLeadingZeros(value);
+      int shift = exponent - SUB_BUCKET_BITS;
+      int subBucket = (int) (value >>> shift) & (SUB_BUCKET_COUNT - 1);
+      return (shift + 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    /**
+     * Returns the middle of the range of values counted in the bucket at the given index.
+     */
+    private static long getMedianValue(int index) {
+      if (index < SUB_BUCKET_COUNT) {
+        return index;
+      }
+      int shift = index / SUB_BUCKET_COUNT - 1;
+      long lowestValue = (long) (SUB_BUCKET_COUNT + index % SUB_BUCKET_COUNT) << shift;
+      return lowestValue + ((1L << shift) >> 1);
+    }
+  }
+}
@@ -0,0 +1,219 @@
+package com.google.ads.mediation.facebook;
+
+import static com.google.ads.mediation.facebook.FacebookMediationAdapter.TAG;
+
+import android.os.SystemClock;
+import android.text.TextUtils;
+import android.util.Log;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caches bid tokens so that signal collection does not wait on the SDK for every auction. A cached
+ * token is refreshed on a background thread once it has lived through most of its time to live.
+ * When stale-while-revalidate is enabled, an expired token is still returned while a fresh one is
+ * fetched in the background, otherwise it is fetched again synchronously.
+ *
+ * <p>The latency of each signal collection is recorded, and its percentiles are logged
+ * periodically.
+ */
+final class BidTokenCache {
+
+  /**
+   * Fetches a bid token from the SDK. May be called on any thread.
+   */
+  interface TokenSource {
+
+    @Nullable
+    String fetchToken();
+  }
+
+  /**
+   * Fraction of the time to live after which a cached token is refreshed in the background.
+   */
+  private static final float REFRESH_AHEAD_FRACTION = 0.75f;
+
+  /**
+   * Number of most recent signal collection latencies the percentiles are computed over.
+   */
+  private static final int MAX_LATENCY_SAMPLES = 256;
+
+  /**
+   * Number of signal collections between two latency reports.
+   */
+  private static final int LATENCY_REPORT_INTERVAL = 50;
+
+  /**
+   * Time an idle refresh thread is kept alive before being released.
+   */
+  private static final long KEEP_ALIVE_SECONDS = 30;
+
+  private final ConcurrentHashMap<String, CachedToken> mTokens = new ConcurrentHashMap<>();
+
+  /**
+   * Keys for which a background refresh is in progress.
+   */
+  private final ConcurrentHashMap<String, Boolean> mRefreshing = new ConcurrentHashMap<>();
+
+  private final ThreadPoolExecutor mRefreshExecutor;
+
+  private volatile long mTimeToLiveMillis;
+
+  private volatile boolean mStaleWhileRevalidate;
+
+  /**
+   * Ring buffer of the most recent signal collection latencies, in microseconds.
+   */
+  private final long[] mLatencySamples = new long[MAX_LATENCY_SAMPLES];
+
+  private long mCollectionCount;
+
+  private long mCacheHitCount;
+
+  BidTokenCache(long timeToLiveMillis) {
+    mTimeToLiveMillis = timeToLiveMillis;
+    mRefreshExecutor =
+        new ThreadPoolExecutor(
+            1,
+            1,
+            KEEP_ALIVE_SECONDS,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<Runnable>(),
+            new ThreadFactory() {
+              @Override
+              public Thread newThread(@NonNull Runnable runnable) {
+                return new Thread(runnable, "FacebookBidTokenRefresh");
+              }
+            });
+    mRefreshExecutor.allowCoreThreadTimeOut(true);
+  }
+
+  /**
+   * Sets how long a token is served from the cache. A value of 0 disables caching, and drops the
+   * tokens cached so far.
+   */
+  void setTimeToLive(long timeToLiveMillis) {
+    mTimeToLiveMillis = Math.max(0, timeToLiveMillis);
+    if (mTimeToLiveMillis == 0) {
+      mTokens.clear();
+    }
+  }
+
+  void setStaleWhileRevalidate(boolean staleWhileRevalidate) {
+    mStaleWhileRevalidate = staleWhileRevalidate;
+  }
+
+  /**
+   * Returns a bid token for the given key, from the cache when possible.
+   *
+   * @return the token, or {@code null} if none is cached and the SDK did not provide one.
+   */
+  @Nullable
+  String get(@NonNull String key, @NonNull TokenSource source) {
+    long startNanos = System.nanoTime();
+    long timeToLive = mTimeToLiveMillis;
+    CachedToken cachedToken = timeToLive > 0 ? mTokens.get(key) : null;
+    String token = null;
+    if (cachedToken != null) {
+      long age = SystemClock.elapsedRealtime() - cachedToken.mFetchTime;
+      if (age < timeToLive) {
+        if (age >= timeToLive * REFRESH_AHEAD_FRACTION) {
+          refreshAsync(key, source);
+        }
+        token = cachedToken.mToken;
+      } else if (mStaleWhileRevalidate) {
+        refreshAsync(key, source);
+        token = cachedToken.mToken;
+      }
+    }
+
+    boolean cacheHit = token != null;
+    if (!cacheHit) {
+      token = fetch(key, source);
+    }
+    recordLatency((System.nanoTime() - startNanos) / 1000, cacheHit);
+    return token;
+  }
+
+  /**
+   * Fetches a token from the SDK and caches it if caching is enabled.
+   */
+  @Nullable
+  private String fetch(@NonNull String key, @NonNull TokenSource source) {
+    String token = source.fetchToken();
+    if (!TextUtils.isEmpty(token) && mTimeToLiveMillis > 0) {
+      mTokens.put(key, new CachedToken(token, SystemClock.elapsedRealtime()));
+    }
+    return token;
+  }
+
+  private void refreshAsync(@NonNull final String key, @NonNull final TokenSource source) {
+    if (mRefreshing.putIfAbsent(key, Boolean.TRUE) != null) {
+      return;
+    }
+    mRefreshExecutor.execute(new Runnable() {
+      @Override
+      public void run() {
+        try {
+          fetch(key, source);
+        } finally {
+          mRefreshing.remove(key);
+        }
+      }
+    });
+  }
+
+  private void recordLatency(long latencyMicros, boolean cacheHit) {
+    long[] samples;
+    long collectionCount;
+    long cacheHitCount;
+    synchronized (mLatencySamples) {
+      mLatencySamples[(int) (mCollectionCount % MAX_LATENCY_SAMPLES)] = latencyMicros;
+      mCollectionCount++;
+      if (cacheHit) {
+        mCacheHitCount++;
+      }
+      if (mCollectionCount % LATENCY_REPORT_INTERVAL != 0) {
+        return;
+      }
+      collectionCount = mCollectionCount;
+      cacheHitCount = mCacheHitCount;
+      samples =
+          Arrays.copyOf(mLatencySamples, (int) Math.min(collectionCount, MAX_LATENCY_SAMPLES));
+    }
+
+    Arrays.sort(samples);
+    Log.d(TAG, String.format(Locale.US,
+        "Signal collection latency: p50=%.2fms, p99=%.2fms over the last %d collections. "
+            + "%d of %d collections served from the bid token cache.",
+        percentile(samples, 0.50) / 1000f, percentile(samples, 0.99) / 1000f, samples.length,
+        cacheHitCount, collectionCount));
+  }
+
+  private static long percentile(@NonNull long[] sortedSamples, double percentile) {
+    int index = (int) Math.ceil(percentile * sortedSamples.length) - 1;
+    return sortedSamples[Math.max(0, Math.min(index, sortedSamples.length - 1))];
+  }
+
+  private static final class CachedToken {
+
+    private final String mToken;
+
+    /**
+     * Time at which the token was fetched, in {@link SystemClock#elapsedRealtime()} time base.
+     */
+    private final long mFetchTime;
+
+    CachedToken(@NonNull String token, long fetchTime) {
+      mToken = token;
+      mFetchTime = fetchTime;
+    }
+  }
+}
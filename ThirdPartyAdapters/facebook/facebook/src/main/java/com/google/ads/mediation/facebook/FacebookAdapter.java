@@ -122,9 +122,28 @@ public final class FacebookAdapter extends FacebookMediationAdapter
    */
   private MediaView mMediaView;
 
+  /**
+   * Traces of the banner, interstitial and native ad loads of this adapter.
+   */
+  private AdLoadTracer.Trace mBannerTrace;
+  private AdLoadTracer.Trace mInterstitialTrace;
+  private AdLoadTracer.Trace mNativeTrace;
+
+  /**
+   * Destroys this adapter's ads when their activity is destroyed, if enabled.
+   */
+  private final ActivityLifecycleTracker.Destroyable mActivityDestroyable =
+      new ActivityLifecycleTracker.Destroyable() {
+        @Override
+        public void destroy() {
+          onDestroy();
+        }
+      };
+
   //region MediationAdapter implementation.
   @Override
   public void onDestroy() {
+    ActivityLifecycleTracker.getInstance().unbind(mActivityDestroyable);
     if (mAdView != null) {
       mAdView.destroy();
     }
@@ -164,11 +183,14 @@ public final class FacebookAdapter extends FacebookMediationAdapter
       final MediationAdRequest adRequest,
       Bundle mediationExtras) {
     mBannerListener = listener;
+    ActivityLifecycleTracker.getInstance().bind(context, mActivityDestroyable);
+    mBannerTrace = AdLoadTracer.start(AdLoadTracer.FORMAT_BANNER);
 
     final String placementID = getPlacementID(serverParameters);
     if (TextUtils.isEmpty(placementID)) {
       Log.e(TAG, createAdapterError(ERROR_INVALID_SERVER_PARAMETERS,
           "Failed to request ad: placementID is null or empty."));
+      mBannerTrace.mark(AdLoadTracer.Phase.FAILED);
       mBannerListener.onAdFailedToLoad(this, ERROR_INVALID_SERVER_PARAMETERS);
       return;
     }
@@ -177,6 +199,7 @@ public final class FacebookAdapter extends FacebookMediationAdapter
     if (facebookAdSize == null) {
       Log.w(TAG, createAdapterError(ERROR_BANNER_SIZE_MISMATCH,
           "There is no matching Facebook ad size for Google ad size: " + adSize.toString()));
+      mBannerTrace.mark(AdLoadTracer.Phase.FAILED);
       mBannerListener.onAdFailedToLoad(this, ERROR_BANNER_SIZE_MISMATCH);
       return;
     }
@@ -188,6 +211,7 @@ public final class FacebookAdapter extends FacebookMediationAdapter
             new FacebookInitializer.Listener() {
               @Override
               public void onInitializeSuccess() {
+                mBannerTrace.mark(AdLoadTracer.Phase.INITIALIZED);
                 mAdView = new AdView(context, placementID, facebookAdSize);
                 buildAdRequest(adRequest);
 
@@ -207,6 +231,7 @@ public final class FacebookAdapter extends FacebookMediationAdapter
               public void onInitializeError(String message) {
                 Log.w(TAG, createAdapterError(ERROR_FACEBOOK_INITIALIZATION, message));
                 if (mBannerListener != null) {
+                  mBannerTrace.mark(AdLoadTracer.Phase.FAILED);
                   mBannerListener.onAdFailedToLoad(FacebookAdapter.this,
                       ERROR_FACEBOOK_INITIALIZATION);
                 }
@@ -228,11 +253,14 @@ public final class FacebookAdapter extends FacebookMediationAdapter
       final MediationAdRequest adRequest,
       Bundle mediationExtras) {
     mInterstitialListener = listener;
+    ActivityLifecycleTracker.getInstance().bind(context, mActivityDestroyable);
+    mInterstitialTrace = AdLoadTracer.start(AdLoadTracer.FORMAT_INTERSTITIAL);
     final String placementID = getPlacementID(serverParameters);
 
     if (TextUtils.isEmpty(placementID)) {
       Log.e(TAG, createAdapterError(ERROR_INVALID_SERVER_PARAMETERS,
           "Failed to request ad, placementID is null or empty."));
+      mInterstitialTrace.mark(AdLoadTracer.Phase.FAILED);
       mInterstitialListener.onAdFailedToLoad(this, ERROR_INVALID_SERVER_PARAMETERS);
       return;
     }
@@ -244,6 +272,7 @@ public final class FacebookAdapter extends FacebookMediationAdapter
             new FacebookInitializer.Listener() {
               @Override
               public void onInitializeSuccess() {
+                mInterstitialTrace.mark(AdLoadTracer.Phase.INITIALIZED);
                 createAndLoadInterstitial(context, placementID, adRequest);
               }
 
@@ -251,6 +280,7 @@ public final class FacebookAdapter extends FacebookMediationAdapter
               public void onInitializeError(String message) {
                 Log.w(TAG, createAdapterError(ERROR_FACEBOOK_INITIALIZATION, message));
                 if (mInterstitialListener != null) {
+                  mInterstitialTrace.mark(AdLoadTracer.Phase.FAILED);
                   mInterstitialListener.onAdFailedToLoad(FacebookAdapter.this,
                       ERROR_FACEBOOK_INITIALIZATION);
                 }
@@ -282,11 +312,14 @@ public final class FacebookAdapter extends FacebookMediationAdapter
       final NativeMediationAdRequest mediationAdRequest,
       final Bundle mediationExtras) {
     mNativeListener = listener;
+    ActivityLifecycleTracker.getInstance().bind(context, mActivityDestroyable);
+    mNativeTrace = AdLoadTracer.start(AdLoadTracer.FORMAT_NATIVE);
     final String placementID = getPlacementID(serverParameters);
 
     if (TextUtils.isEmpty(placementID)) {
       Log.e(TAG, createAdapterError(ERROR_INVALID_SERVER_PARAMETERS,
           "Failed to request ad, placementID is null or empty."));
+      mNativeTrace.mark(AdLoadTracer.Phase.FAILED);
       mNativeListener.onAdFailedToLoad(this, ERROR_INVALID_SERVER_PARAMETERS);
       return;
     }
@@ -300,6 +333,7 @@ public final class FacebookAdapter extends FacebookMediationAdapter
       Log.w(TAG, createAdapterError(ERROR_REQUIRES_UNIFIED_NATIVE_ADS,
           "Either unified native ads or both app install and content ads "
               + "must be requested."));
+      mNativeTrace.mark(AdLoadTracer.Phase.FAILED);
       mNativeListener.onAdFailedToLoad(this, ERROR_REQUIRES_UNIFIED_NATIVE_ADS);
       return;
     }
@@ -311,6 +345,7 @@ public final class FacebookAdapter extends FacebookMediationAdapter
             new FacebookInitializer.Listener() {
               @Override
               public void onInitializeSuccess() {
+                mNativeTrace.mark(AdLoadTracer.Phase.INITIALIZED);
                 createAndLoadNativeAd(context, placementID, mediationAdRequest, mediationExtras);
               }
 
@@ -318,6 +353,7 @@ public final class FacebookAdapter extends FacebookMediationAdapter
               public void onInitializeError(String message) {
                 Log.w(TAG, createAdapterError(ERROR_FACEBOOK_INITIALIZATION, message));
                 if (mNativeListener != null) {
+                  mNativeTrace.mark(AdLoadTracer.Phase.FAILED);
                   mNativeListener
                       .onAdFailedToLoad(FacebookAdapter.this, ERROR_FACEBOOK_INITIALIZATION);
                 }
@@ -361,13 +397,16 @@ public final class FacebookAdapter extends FacebookMediationAdapter
 
     @Override
     public void onAdLoaded(Ad ad) {
+      mBannerTrace.mark(AdLoadTracer.Phase.NETWORK_LOADED);
       FacebookAdapter.this.mBannerListener.onAdLoaded(FacebookAdapter.this);
+      mBannerTrace.mark(AdLoadTracer.Phase.CALLBACK_DELIVERED);
     }
 
     @Override
     public void onError(Ad ad, AdError adError) {
       String errorMessage = createSdkError(adError);
       Log.w(TAG, errorMessage);
+      mBannerTrace.mark(AdLoadTracer.Phase.FAILED);
       FacebookAdapter.this.mBannerListener
           .onAdFailedToLoad(FacebookAdapter.this, adError.getErrorCode());
     }
@@ -407,7 +446,9 @@ public final class FacebookAdapter extends FacebookMediationAdapter
 
     @Override
     public void onAdLoaded(Ad ad) {
+      mInterstitialTrace.mark(AdLoadTracer.Phase.NETWORK_LOADED);
       FacebookAdapter.this.mInterstitialListener.onAdLoaded(FacebookAdapter.this);
+      mInterstitialTrace.mark(AdLoadTracer.Phase.CALLBACK_DELIVERED);
     }
 
     @Override
@@ -421,6 +462,7 @@ public final class FacebookAdapter extends FacebookMediationAdapter
         return;
       }
 
+      mInterstitialTrace.mark(AdLoadTracer.Phase.FAILED);
       FacebookAdapter.this.mInterstitialListener.onAdFailedToLoad(
           FacebookAdapter.this, adError.getErrorCode());
     }
@@ -534,15 +576,18 @@ public final class FacebookAdapter extends FacebookMediationAdapter
       if (!TextUtils.isEmpty(adError.getErrorMessage())) {
         Log.w(TAG, errorMessage);
       }
+      mNativeTrace.mark(AdLoadTracer.Phase.FAILED);
       FacebookAdapter.this.mNativeListener.onAdFailedToLoad(
           FacebookAdapter.this, adError.getErrorCode());
     }
 
     @Override
     public void onAdLoaded(Ad ad) {
+      mNativeTrace.mark(AdLoadTracer.Phase.NETWORK_LOADED);
       if (ad != mNativeBannerAd) {
         Log.w(TAG, createAdapterError(ERROR_WRONG_NATIVE_TYPE,
             "Ad loaded is not a native banner ad."));
+        mNativeTrace.mark(AdLoadTracer.Phase.FAILED);
         FacebookAdapter.this.mNativeListener.onAdFailedToLoad(
             FacebookAdapter.this, ERROR_WRONG_NATIVE_TYPE);
         return;
@@ -552,6 +597,7 @@ public final class FacebookAdapter extends FacebookMediationAdapter
       if (context == null) {
         Log.w(TAG, createAdapterError(ERROR_NULL_CONTEXT,
             "Failed to create ad options view, Context is null."));
+        mNativeTrace.mark(AdLoadTracer.Phase.FAILED);
         mNativeListener.onAdFailedToLoad(FacebookAdapter.this, ERROR_NULL_CONTEXT);
         return;
       }
@@ -562,13 +608,16 @@ public final class FacebookAdapter extends FacebookMediationAdapter
         mapper.mapUnifiedNativeAd(context, new NativeAdMapperListener() {
           @Override
           public void onMappingSuccess() {
+            mNativeTrace.mark(AdLoadTracer.Phase.MAPPED);
             mNativeListener.onAdLoaded(FacebookAdapter.this, mapper);
+            mNativeTrace.mark(AdLoadTracer.Phase.CALLBACK_DELIVERED);
           }
 
           @Override
           public void onMappingFailed(String message) {
             String errorMessage = createAdapterError(ERROR_MAPPING_NATIVE_ASSETS, message);
             Log.w(TAG, errorMessage);
+            mNativeTrace.mark(AdLoadTracer.Phase.FAILED);
             mNativeListener.onAdFailedToLoad(FacebookAdapter.this,
                 ERROR_MAPPING_NATIVE_ASSETS);
           }
@@ -579,19 +628,23 @@ public final class FacebookAdapter extends FacebookMediationAdapter
         mapper.mapNativeAd(context, new NativeAdMapperListener() {
           @Override
           public void onMappingSuccess() {
+            mNativeTrace.mark(AdLoadTracer.Phase.MAPPED);
             mNativeListener.onAdLoaded(FacebookAdapter.this, mapper);
+            mNativeTrace.mark(AdLoadTracer.Phase.CALLBACK_DELIVERED);
           }
 
           @Override
           public void onMappingFailed(String message) {
             String errorMessage = createAdapterError(ERROR_MAPPING_NATIVE_ASSETS, message);
             Log.w(TAG, errorMessage);
+            mNativeTrace.mark(AdLoadTracer.Phase.FAILED);
             mNativeListener.onAdFailedToLoad(FacebookAdapter.this,
                 ERROR_MAPPING_NATIVE_ASSETS);
           }
         });
       } else {
         Log.e(TAG, "Content Ads are not supported.");
+        mNativeTrace.mark(AdLoadTracer.Phase.FAILED);
         FacebookAdapter.this.mNativeListener.onAdFailedToLoad(
             FacebookAdapter.this, AdRequest.ERROR_CODE_INVALID_REQUEST);
       }
@@ -666,10 +719,12 @@ public final class FacebookAdapter extends FacebookMediationAdapter
 
     @Override
     public void onAdLoaded(Ad ad) {
+      mNativeTrace.mark(AdLoadTracer.Phase.NETWORK_LOADED);
       if (ad != mNativeAd) {
         String errorMessage = createAdapterError(ERROR_WRONG_NATIVE_TYPE,
             "Ad loaded is not a native ad.");
         Log.w(TAG, errorMessage);
+        mNativeTrace.mark(AdLoadTracer.Phase.FAILED);
         FacebookAdapter.this.mNativeListener.onAdFailedToLoad(
             FacebookAdapter.this, ERROR_WRONG_NATIVE_TYPE);
         return;
@@ -680,6 +735,7 @@ public final class FacebookAdapter extends FacebookMediationAdapter
         String errorMessage = createAdapterError(ERROR_NULL_CONTEXT,
             "Failed to create ad options view, Context is null.");
         Log.w(TAG, errorMessage);
+        mNativeTrace.mark(AdLoadTracer.Phase.FAILED);
         mNativeListener.onAdFailedToLoad(FacebookAdapter.this,
             ERROR_NULL_CONTEXT);
         return;
@@ -691,13 +747,16 @@ public final class FacebookAdapter extends FacebookMediationAdapter
         mapper.mapUnifiedNativeAd(context, new NativeAdMapperListener() {
           @Override
           public void onMappingSuccess() {
+            mNativeTrace.mark(AdLoadTracer.Phase.MAPPED);
             mNativeListener.onAdLoaded(FacebookAdapter.this, mapper);
+            mNativeTrace.mark(AdLoadTracer.Phase.CALLBACK_DELIVERED);
           }
 
           @Override
           public void onMappingFailed(String message) {
             String errorMessage = createAdapterError(ERROR_MAPPING_NATIVE_ASSETS, message);
             Log.w(TAG, errorMessage);
+            mNativeTrace.mark(AdLoadTracer.Phase.FAILED);
             mNativeListener.onAdFailedToLoad(FacebookAdapter.this,
                 ERROR_MAPPING_NATIVE_ASSETS);
           }
@@ -708,13 +767,16 @@ public final class FacebookAdapter extends FacebookMediationAdapter
         mapper.mapNativeAd(context, new NativeAdMapperListener() {
           @Override
           public void onMappingSuccess() {
+            mNativeTrace.mark(AdLoadTracer.Phase.MAPPED);
             mNativeListener.onAdLoaded(FacebookAdapter.this, mapper);
+            mNativeTrace.mark(AdLoadTracer.Phase.CALLBACK_DELIVERED);
           }
 
           @Override
           public void onMappingFailed(String message) {
             String errorMessage = createAdapterError(ERROR_MAPPING_NATIVE_ASSETS, message);
             Log.w(TAG, errorMessage);
+            mNativeTrace.mark(AdLoadTracer.Phase.FAILED);
             mNativeListener.onAdFailedToLoad(FacebookAdapter.this,
                 ERROR_MAPPING_NATIVE_ASSETS);
           }
@@ -723,6 +785,7 @@ public final class FacebookAdapter extends FacebookMediationAdapter
         String errorMessage = createAdapterError(ERROR_REQUIRES_UNIFIED_NATIVE_ADS,
             "App did not request Unified Native Ads");
         Log.e(TAG, errorMessage);
+        mNativeTrace.mark(AdLoadTracer.Phase.FAILED);
         FacebookAdapter.this.mNativeListener.onAdFailedToLoad(
             FacebookAdapter.this, ERROR_REQUIRES_UNIFIED_NATIVE_ADS);
       }
@@ -734,6 +797,7 @@ public final class FacebookAdapter extends FacebookMediationAdapter
       if (!TextUtils.isEmpty(adError.getErrorMessage())) {
         Log.w(TAG, errorMessage);
       }
+      mNativeTrace.mark(AdLoadTracer.Phase.FAILED);
       FacebookAdapter.this.mNativeListener.onAdFailedToLoad(
           FacebookAdapter.this, adError.getErrorCode());
     }
@@ -746,40 +810,49 @@ public final class FacebookAdapter extends FacebookMediationAdapter
 
   @Nullable
   private com.facebook.ads.AdSize getAdSize(@NonNull Context context, @NonNull AdSize adSize) {
+    return BANNER_SIZE_RESOLVER.resolve(context, adSize);
+  }
 
-    // Get the actual width of the ad size since Smart Banners and FULL_WIDTH sizes return a
-    // width of -1.
-    int width = adSize.getWidth();
-    if (width < 0) {
-      float density = context.getResources().getDisplayMetrics().density;
-      width = Math.round(adSize.getWidthInPixels(context) / density);
-    }
+  private static final BannerSizeResolver<com.facebook.ads.AdSize> BANNER_SIZE_RESOLVER =
+      new BannerSizeResolver<com.facebook.ads.AdSize>() {
+        @Nullable
+        @Override
+        protected com.facebook.ads.AdSize computeSize(
+            @NonNull Context context, @NonNull AdSize adSize) {
+          // Get the actual width of the ad size since Smart Banners and FULL_WIDTH sizes return a
+          // width of -1.
+          int width = adSize.getWidth();
+          if (width < 0) {
+            float density = context.getResources().getDisplayMetrics().density;
+            width = Math.round(adSize.getWidthInPixels(context) / density);
+          }
 
-    ArrayList<AdSize> potentials = new ArrayList<>(3);
-    potentials.add(0, new AdSize(width, 50));
-    potentials.add(1, new AdSize(width, 90));
-    potentials.add(2, new AdSize(width, 250));
-    Log.i(TAG, "Potential ad sizes: " + potentials.toString());
-    AdSize closestSize = MediationUtils.findClosestSize(context, adSize, potentials);
-    if (closestSize == null) {
-      return null;
-    }
-    Log.i(TAG, "Found closest ad size: " + closestSize.toString());
+          ArrayList<AdSize> potentials = new ArrayList<>(3);
+          potentials.add(0, new AdSize(width, 50));
+          potentials.add(1, new AdSize(width, 90));
+          potentials.add(2, new AdSize(width, 250));
+          Log.i(TAG, "Potential ad sizes: " + potentials.toString());
+          AdSize closestSize = MediationUtils.findClosestSize(context, adSize, potentials);
+          if (closestSize == null) {
+            return null;
+          }
+          Log.i(TAG, "Found closest ad size: " + closestSize.toString());
 
-    int adHeight = closestSize.getHeight();
-    if (adHeight == com.facebook.ads.AdSize.BANNER_HEIGHT_50.getHeight()) {
-      return com.facebook.ads.AdSize.BANNER_HEIGHT_50;
-    }
+          int adHeight = closestSize.getHeight();
+          if (adHeight == com.facebook.ads.AdSize.BANNER_HEIGHT_50.getHeight()) {
+            return com.facebook.ads.AdSize.BANNER_HEIGHT_50;
+          }
 
-    if (adHeight == com.facebook.ads.AdSize.BANNER_HEIGHT_90.getHeight()) {
-      return com.facebook.ads.AdSize.BANNER_HEIGHT_90;
-    }
+          if (adHeight == com.facebook.ads.AdSize.BANNER_HEIGHT_90.getHeight()) {
+            return com.facebook.ads.AdSize.BANNER_HEIGHT_90;
+          }
 
-    if (adHeight == com.facebook.ads.AdSize.RECTANGLE_HEIGHT_250.getHeight()) {
-      return com.facebook.ads.AdSize.RECTANGLE_HEIGHT_250;
-    }
-    return null;
-  }
+          if (adHeight == com.facebook.ads.AdSize.RECTANGLE_HEIGHT_250.getHeight()) {
+            return com.facebook.ads.AdSize.RECTANGLE_HEIGHT_250;
+          }
+          return null;
+        }
+      };
 
   /**
    * The {@link AppInstallMapper} class is used to map Facebook native ads to Google Mobile Ads'
@@ -1,6 +1,7 @@
 package com.google.ads.mediation.facebook;
 
 import android.content.Context;
+import androidx.annotation.NonNull;
 import com.facebook.ads.AudienceNetworkAds;
 import java.util.ArrayList;
 
@@ -8,12 +9,10 @@ import java.util.ArrayList;
 class FacebookInitializer implements AudienceNetworkAds.InitListener {
 
   private static FacebookInitializer instance;
-  private boolean mIsInitializing = false;
-  private boolean mIsInitialized = false;
 
-  private ArrayList<Listener> mListeners;
+  private final SingleFlightInitializer mInitializer = new SingleFlightInitializer();
 
-  static FacebookInitializer getInstance() {
+  static synchronized FacebookInitializer getInstance() {
     if (instance == null) {
       instance = new FacebookInitializer();
     }
@@ -21,7 +20,6 @@ class FacebookInitializer implements AudienceNetworkAds.InitListener {
   }
 
   private FacebookInitializer() {
-    mListeners = new ArrayList<>();
   }
 
   void initialize(Context context, String placementId, Listener listener) {
@@ -31,40 +29,39 @@ class FacebookInitializer implements AudienceNetworkAds.InitListener {
     getInstance().initialize(context, placements, listener);
   }
 
-  void initialize(Context context, ArrayList<String> placements, Listener listener) {
-    if (mIsInitializing) {
-      mListeners.add(listener);
-      return;
-    }
-
-    if (mIsInitialized) {
-      listener.onInitializeSuccess();
-      return;
-    }
-
-    mIsInitializing = true;
-
-    getInstance().mListeners.add(listener);
-    AudienceNetworkAds.buildInitSettings(context)
-        .withMediationService("GOOGLE:" + BuildConfig.VERSION_NAME)
-        .withPlacementIds(placements)
-        .withInitListener(FacebookInitializer.this)
-        .initialize();
+  void initialize(final Context context, final ArrayList<String> placements,
+      final Listener listener) {
+    mInitializer.initialize(
+        new SingleFlightInitializer.Listener() {
+          @Override
+          public void onInitializeSuccess() {
+            listener.onInitializeSuccess();
+          }
+
+          @Override
+          public void onInitializeError(@NonNull String errorMessage) {
+            listener.onInitializeError(errorMessage);
+          }
+        },
+        new Runnable() {
+          @Override
+          public void run() {
+            AudienceNetworkAds.buildInitSettings(context)
+                .withMediationService("GOOGLE:" + BuildConfig.VERSION_NAME)
+                .withPlacementIds(placements)
+                .withInitListener(FacebookInitializer.this)
+                .initialize();
+          }
+        });
   }
 
   @Override
   public void onInitialized(AudienceNetworkAds.InitResult initResult) {
-    mIsInitializing = false;
-    mIsInitialized = initResult.isSuccess();
-
-    for (Listener listener : mListeners) {
-      if (initResult.isSuccess()) {
-        listener.onInitializeSuccess();
-      } else {
-        listener.onInitializeError(initResult.getMessage());
-      }
+    if (initResult.isSuccess()) {
+      mInitializer.onSuccess();
+    } else {
+      mInitializer.onFailure(initResult.getMessage());
     }
-    mListeners.clear();
   }
 
   interface Listener {
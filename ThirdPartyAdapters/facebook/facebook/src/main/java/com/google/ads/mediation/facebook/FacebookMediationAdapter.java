@@ -52,6 +52,19 @@ public class FacebookMediationAdapter extends RtbAdapter {
   public static final String PLACEMENT_PARAMETER = "pubid";
   public static final String RTB_PLACEMENT_PARAMETER = "placement_id";
 
+  /**
+   * Default time a bidder token is reused for signal collection.
+   */
+  private static final long DEFAULT_BIDDER_TOKEN_TIME_TO_LIVE_MILLIS = 30000;
+
+  /**
+   * Key of the bidder token in the cache, as there is a single token for the app.
+   */
+  private static final String BIDDER_TOKEN_KEY = "bidder_token";
+
+  private static final BidTokenCache BIDDER_TOKEN_CACHE =
+      new BidTokenCache(DEFAULT_BIDDER_TOKEN_TIME_TO_LIVE_MILLIS);
+
   /**
    * Facebook Audience Network adapter errors.
    */
@@ -223,9 +236,61 @@ public class FacebookMediationAdapter extends RtbAdapter {
         });
   }
 
+  /**
+   * Sets how long a bidder token is reused for signal collection before a new one is requested
+   * from the Facebook SDK. Tokens are refreshed in the background shortly before they expire. A
+   * value of 0 disables the cache. Defaults to 30 seconds.
+   */
+  public static void setBidderTokenTimeToLive(long timeToLiveMillis) {
+    BIDDER_TOKEN_CACHE.setTimeToLive(timeToLiveMillis);
+  }
+
+  /**
+   * Sets whether an expired bidder token is still used for signal collection while a new one is
+   * requested in the background, instead of waiting for the Facebook SDK. Disabled by default.
+   */
+  public static void setBidderTokenStaleWhileRevalidate(boolean staleWhileRevalidate) {
+    BIDDER_TOKEN_CACHE.setStaleWhileRevalidate(staleWhileRevalidate);
+  }
+
+  /**
+   * Sets whether Facebook banner, interstitial and native ads are destroyed automatically when the
+   * activity they were requested from is destroyed, for apps that do not destroy their ads
+   * themselves. Disabled by default.
+   */
+  public static void setAutoDestroyEnabled(boolean enabled) {
+    ActivityLifecycleTracker.setEnabled(enabled);
+  }
+
+  /**
+   * Sets whether the phases of Facebook banner, interstitial and native ad loads are timed, from
+   * the ad request through SDK initialization, ad loading and native ad mapping to the delivery
+   * of the load callback. Disabled by default.
+   */
+  public static void setAdLoadTracingEnabled(boolean enabled) {
+    AdLoadTracer.setEnabled(enabled);
+  }
+
+  /**
+   * Returns the latency percentiles of each phase of the ad loads timed so far, as a JSON object
+   * keyed by ad format and phase, such as {@code native/mapped} or {@code banner/total}. Failed ad
+   * loads are recorded under {@code failed} and {@code total_failed}, such as
+   * {@code banner/total_failed}.
+   */
+  @NonNull
+  public static String getAdLoadTraceSnapshot() {
+    return AdLoadTracer.getSnapshot();
+  }
+
   @Override
   public void collectSignals(RtbSignalData rtbSignalData, SignalCallbacks signalCallbacks) {
-    String token = BidderTokenProvider.getBidderToken(rtbSignalData.getContext());
+    final Context context = rtbSignalData.getContext().getApplicationContext();
+    String token = BIDDER_TOKEN_CACHE.get(BIDDER_TOKEN_KEY, new BidTokenCache.TokenSource() {
+      @Override
+      public String fetchToken() {
+        return BidderTokenProvider.getBidderToken(context);
+      }
+    });
     signalCallbacks.onSuccess(token);
   }
 
@@ -0,0 +1,143 @@
+package com.google.ads.mediation.facebook;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import androidx.annotation.NonNull;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Coordinates the initialization of an SDK so that it runs at most once at a time, however many ad
+ * requests ask for it concurrently. Listeners that arrive while initialization is in progress are
+ * queued, and each of them is notified exactly once on the main thread. Listeners that arrive once
+ * the SDK is initialized are notified right away on the calling thread. After a failure, further
+ * attempts are delayed with an exponential backoff, during which requests fail fast.
+ */
+final class SingleFlightInitializer {
+
+  enum State {
+    UNINITIALIZED,
+    INITIALIZING,
+    INITIALIZED,
+    FAILED
+  }
+
+  interface Listener {
+
+    void onInitializeSuccess();
+
+    void onInitializeError(@NonNull String errorMessage);
+  }
+
+  /** Delay before the first retry after a failed initialization. */
+  private static final long INITIAL_BACKOFF_MILLIS = 1000;
+
+  /** Maximum delay between two initialization attempts. */
+  private static final long MAX_BACKOFF_MILLIS = 60000;
+
+  private final AtomicReference<State> mState = new AtomicReference<>(State.UNINITIALIZED);
+
+  private final ConcurrentLinkedQueue<Listener> mListeners = new ConcurrentLinkedQueue<>();
+
+  private final Handler mMainHandler = new Handler(Looper.getMainLooper());
+
+  private final Runnable mDeliverRunnable =
+      new Runnable() {
+        @Override
+        public void run() {
+          deliverQueuedListeners();
+        }
+      };
+
+  private volatile String mErrorMessage;
+
+  private volatile long mRetryAtMillis;
+
+  private volatile long mBackoffMillis = INITIAL_BACKOFF_MILLIS;
+
+  /**
+   * Requests initialization. {@code initialization} is only run if no other attempt is in progress
+   * and the SDK is not initialized yet; it must eventually call {@link #onSuccess()} or {@link
+   * #onFailure(String)}.
+   */
+  void initialize(@NonNull Listener listener, @NonNull Runnable initialization) {
+    // The SDK stays initialized once it is, so there is nothing to wait for.
+    if (mState.get() == State.INITIALIZED) {
+      listener.onInitializeSuccess();
+      return;
+    }
+    // The listener must be queued before the state is read, so that a concurrent completion
+    // either sees it in the queue or is observed by this call.
+    mListeners.add(listener);
+    while (true) {
+      State state = mState.get();
+      if (state == State.INITIALIZED) {
+        deliver();
+        return;
+      }
+      if (state == State.INITIALIZING) {
+        return;
+      }
+      if (state == State.FAILED && SystemClock.elapsedRealtime() < mRetryAtMillis) {
+        deliver();
+        return;
+      }
+      if (mState.compareAndSet(state, State.INITIALIZING)) {
+        initialization.run();
+        return;
+      }
+    }
+  }
+
+  /**
+   * Marks the SDK as initialized and notifies all queued listeners. May be called on any thread.
+   */
+  void onSuccess() {
+    mBackoffMillis = INITIAL_BACKOFF_MILLIS;
+    mState.set(State.INITIALIZED);
+    deliver();
+  }
+
+  /**
+   * Marks the initialization attempt as failed and notifies all queued listeners. May be called on
+   * any thread.
+   */
+  void onFailure(@NonNull String errorMessage) {
+    mErrorMessage = errorMessage;
+    mRetryAtMillis = SystemClock.elapsedRealtime() + mBackoffMillis;
+    mBackoffMillis = Math.min(mBackoffMillis * 2, MAX_BACKOFF_MILLIS);
+    mState.set(State.FAILED);
+    deliver();
+  }
+
+  @NonNull
+  State getState() {
+    return mState.get();
+  }
+
+  private void deliver() {
+    if (Looper.myLooper() == Looper.getMainLooper()) {
+      deliverQueuedListeners();
+    } else {
+      mMainHandler.post(mDeliverRunnable);
+    }
+  }
+
+  private void deliverQueuedListeners() {
+    State state = mState.get();
+    if (state != State.INITIALIZED && state != State.FAILED) {
+      // A newer attempt is in progress and will notify the queued listeners when it completes.
+      return;
+    }
+
+    Listener listener;
+    while ((listener = mListeners.poll()) != null) {
+      if (state == State.INITIALIZED) {
+        listener.onInitializeSuccess();
+      } else {
+        listener.onInitializeError(mErrorMessage);
+      }
+    }
+  }
+}
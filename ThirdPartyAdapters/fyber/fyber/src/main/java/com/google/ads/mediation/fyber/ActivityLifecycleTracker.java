@@ -0,0 +1,152 @@
+package com.google.ads.mediation.fyber;
+
+import android.app.Activity;
+import android.app.Application;
+import android.content.Context;
+import android.content.ContextWrapper;
+import android.os.Bundle;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Destroys ads when the activity they were requested from is destroyed, for apps that do not
+ * destroy their ads themselves. Otherwise, such ads keep their views and web views running until
+ * the adapter is garbage collected. Disabled by default.
+ */
+final class ActivityLifecycleTracker implements Application.ActivityLifecycleCallbacks {
+
+  interface Destroyable {
+
+    void destroy();
+  }
+
+  private static ActivityLifecycleTracker instance;
+
+  private static volatile boolean enabled;
+
+  /**
+   * Ads bound to each activity that has not been destroyed yet. Guarded by this.
+   */
+  private final HashMap<Activity, List<Destroyable>> mBoundAds = new HashMap<>();
+
+  /**
+   * Whether this tracker has been registered for activity lifecycle callbacks.
+   */
+  private boolean mRegistered;
+
+  private ActivityLifecycleTracker() {
+  }
+
+  @NonNull
+  static synchronized ActivityLifecycleTracker getInstance() {
+    if (instance == null) {
+      instance = new ActivityLifecycleTracker();
+    }
+    return instance;
+  }
+
+  /**
+   * Sets whether ads are bound to their activity. Ads bound so far stay bound.
+   */
+  static void setEnabled(boolean isEnabled) {
+    enabled = isEnabled;
+  }
+
+  /**
+   * Destroys the given ad when the activity of the given context is destroyed. Does nothing if the
+   * tracker is disabled or the context does not belong to an activity.
+   */
+  synchronized void bind(@Nullable Context context, @NonNull Destroyable ad) {
+    if (!enabled) {
+      return;
+    }
+    Activity activity = getActivity(context);
+    if (activity == null || activity.isFinishing()) {
+      return;
+    }
+    if (!mRegistered) {
+      activity.getApplication().registerActivityLifecycleCallbacks(this);
+      mRegistered = true;
+    }
+    List<Destroyable> ads = mBoundAds.get(activity);
+    if (ads == null) {
+      ads = new ArrayList<>();
+      mBoundAds.put(activity, ads);
+    }
+    if (!ads.contains(ad)) {
+      ads.add(ad);
+    }
+  }
+
+  /**
+   * Stops tracking the given ad, once it has been destroyed by the app.
+   */
+  synchronized void unbind(@NonNull Destroyable ad) {
+    Iterator<List<Destroyable>> iterator = mBoundAds.values().iterator();
+    while (iterator.hasNext()) {
+      List<Destroyable> ads = iterator.next();
+      if (ads.remove(ad) && ads.isEmpty()) {
+        iterator.remove();
+      }
+    }
+  }
+
+  @Override
+  public void onActivityDestroyed(@NonNull Activity activity) {
+    List<Destroyable> ads;
+    synchronized (this) {
+      ads = mBoundAds.remove(activity);
+    }
+    if (ads == null) {
+      return;
+    }
+    for (Destroyable ad : ads) {
+      ad.destroy();
+    }
+  }
+
+  @Override
+  public void onActivityCreated(@NonNull Activity activity, @Nullable Bundle savedInstanceState) {
+    // No op.
+  }
+
+  @Override
+  public void onActivityStarted(@NonNull Activity activity) {
+    // No op.
+  }
+
+  @Override
+  public void onActivityResumed(@NonNull Activity activity) {
+    // No op.
+  }
+
+  @Override
+  public void onActivityPaused(@NonNull Activity activity) {
+    // No op.
+  }
+
+  @Override
+  public void onActivityStopped(@NonNull Activity activity) {
+    // No op.
+  }
+
+  @Override
+  public void onActivitySaveInstanceState(@NonNull Activity activity, @NonNull Bundle outState) {
+    // No op.
+  }
+
+  @Nullable
+  private static Activity getActivity(@Nullable Context context) {
+    while (context instanceof ContextWrapper) {
+      if (context instanceof Activity) {
+        return (Activity) context;
+      }
+      context = ((ContextWrapper) context).getBaseContext();
+    }
+    return null;
+  }
+}
@@ -114,12 +114,32 @@ public class FyberMediationAdapter extends Adapter
    */
   private FyberRewardedVideoRenderer mRewardedRenderer;
 
+  /**
+   * Destroys this adapter's ads when their activity is destroyed, if enabled.
+   */
+  private final ActivityLifecycleTracker.Destroyable mActivityDestroyable =
+      new ActivityLifecycleTracker.Destroyable() {
+        @Override
+        public void destroy() {
+          onDestroy();
+        }
+      };
+
   /**
    * Default Constructor.
    */
   public FyberMediationAdapter() {
   }
 
+  /**
+   * Sets whether Fyber banner and interstitial ads are destroyed automatically when the activity
+   * they were requested from is destroyed, for apps that do not destroy their ads themselves.
+   * Disabled by default.
+   */
+  public static void setAutoDestroyEnabled(boolean enabled) {
+    ActivityLifecycleTracker.setEnabled(enabled);
+  }
+
   /**
    * Only rewarded ads are implemented using the new Adapter interface.
    */
@@ -253,6 +273,7 @@ public class FyberMediationAdapter extends Adapter
       MediationAdRequest mediationAdRequest, final Bundle mediationExtras) {
 
     mMediationBannerListener = mediationBannerListener;
+    ActivityLifecycleTracker.getInstance().bind(context, mActivityDestroyable);
 
     String keyAppId = serverParameters.getString(KEY_APP_ID);
     if (TextUtils.isEmpty(keyAppId)) {
@@ -310,6 +331,7 @@ public class FyberMediationAdapter extends Adapter
 
   @Override
   public void onDestroy() {
+    ActivityLifecycleTracker.getInstance().unbind(mActivityDestroyable);
     if (mBannerSpot != null) {
       mBannerSpot.destroy();
       mBannerSpot = null;
@@ -442,6 +464,7 @@ public class FyberMediationAdapter extends Adapter
       final Bundle mediationExtras) {
 
     mMediationInterstitialListener = mediationInterstitialListener;
+    ActivityLifecycleTracker.getInstance().bind(context, mActivityDestroyable);
 
     String keyAppId = serverParameters.getString(KEY_APP_ID);
     if (TextUtils.isEmpty(keyAppId)) {
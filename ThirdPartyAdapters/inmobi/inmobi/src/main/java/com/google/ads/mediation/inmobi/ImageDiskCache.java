@@ -0,0 +1,371 @@
+package com.google.ads.mediation.inmobi;
+
+import android.content.Context;
+import android.util.Log;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.URLConnection;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An optional, size-capped disk cache of native ad images, sitting under {@link
+ * InMobiMemoryCache}. Entries are stored in files named after a hash of the image URL, prefixed
+ * with their expiry time and validators, and are evicted in least recently used order. Expired
+ * entries that carry a validator are kept so that they can be revalidated with a conditional
+ * request. All methods perform disk I/O and must not be called on the main thread.
+ */
+final class ImageDiskCache {
+
+  private static final String TAG = "ImageDiskCache";
+
+  private static final String DIRECTORY_NAME = "inmobi_image_cache";
+
+  private static final String TEMP_FILE_SUFFIX = ".tmp";
+
+  /**
+   * Marks the start of an entry. Entries written without it are discarded when read.
+   */
+  private static final int ENTRY_MAGIC = 0x494d4701;
+
+  /**
+   * Lifetime of images whose response does not carry any cache header.
+   */
+  private static final long DEFAULT_LIFETIME_MILLIS = TimeUnit.DAYS.toMillis(1);
+
+  /**
+   * Fraction of the maximum size the cache is trimmed down to when it overflows, to avoid trimming
+   * on every write.
+   */
+  private static final float TRIM_FACTOR = 0.9f;
+
+  /**
+   * Maximum size of the disk cache in bytes. The disk cache is disabled when this is 0.
+   */
+  private static long sMaxSize = 0;
+
+  private static ImageDiskCache instance;
+
+  private final File mDirectory;
+
+  // All fields below are guarded by this.
+  private long mMaxSize;
+  /**
+   * Current size of the cache directory in bytes, or -1 if it has not been computed yet.
+   */
+  private long mSize = -1;
+
+  private ImageDiskCache(@NonNull File directory, long maxSize) {
+    mDirectory = directory;
+    mMaxSize = maxSize;
+  }
+
+  /**
+   * Sets the maximum number of bytes used to cache native ad images on disk. A value of 0 disables
+   * the disk cache.
+   */
+  static synchronized void setMaxSize(long maxSize) {
+    sMaxSize = Math.max(0, maxSize);
+    if (instance != null) {
+      synchronized (instance) {
+        instance.mMaxSize = sMaxSize;
+      }
+    }
+  }
+
+  /**
+   * Returns the shared disk cache, or {@code null} if the disk cache is disabled.
+   */
+  @Nullable
+  static synchronized ImageDiskCache getInstance(@NonNull Context context) {
+    if (sMaxSize <= 0) {
+      return null;
+    }
+    if (instance == null) {
+      File directory = new File(context.getApplicationContext().getCacheDir(), DIRECTORY_NAME);
+      instance = new ImageDiskCache(directory, sMaxSize);
+    }
+    return instance;
+  }
+
+  /**
+   * Reads the cached image for the given URL. Expired images are only returned if they carry a
+   * validator, and must be revalidated before use.
+   *
+   * @return the cached image, or {@code null} if it is not cached or has expired without a
+   *     validator.
+   */
+  @Nullable
+  Entry get(@NonNull String url) {
+    File file = new File(mDirectory, getFileName(url));
+    if (!file.exists()) {
+      return null;
+    }
+
+    DataInputStream in = null;
+    try {
+      in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+      if (in.readInt() != ENTRY_MAGIC) {
+        in.close();
+        remove(file);
+        return null;
+      }
+      long expiryTime = in.readLong();
+      String eTag = readValidator(in);
+      String lastModified = readValidator(in);
+      boolean expired = expiryTime < System.currentTimeMillis();
+      if (expired && eTag == null && lastModified == null) {
+        in.close();
+        remove(file);
+        return null;
+      }
+
+      ByteArrayOutputStream data = new ByteArrayOutputStream((int) file.length());
+      byte[] buffer = new byte[8192];
+      int count;
+      while ((count = in.read(buffer)) != -1) {
+        data.write(buffer, 0, count);
+      }
+      in.close();
+      if (!expired) {
+        // The last modified time doubles as the access time used for LRU eviction.
+        file.setLastModified(System.currentTimeMillis());
+      }
+      return new Entry(data.toByteArray(), expired, eTag, lastModified);
+    } catch (IOException exception) {
+      Log.w(TAG, "Failed to read cached image.", exception);
+      closeQuietly(in);
+      remove(file);
+      return null;
+    }
+  }
+
+  /**
+   * Stores the image data for the given URL until {@code expiryTime}, along with the validators
+   * used to revalidate it once it has expired.
+   */
+  void put(
+      @NonNull String url,
+      @NonNull byte[] data,
+      long expiryTime,
+      @Nullable String eTag,
+      @Nullable String lastModified) {
+    if (expiryTime < 0
+        || (expiryTime <= System.currentTimeMillis() && eTag == null && lastModified == null)) {
+      return;
+    }
+    if (!mDirectory.exists() && !mDirectory.mkdirs()) {
+      return;
+    }
+
+    String fileName = getFileName(url);
+    File tempFile = new File(mDirectory, fileName + TEMP_FILE_SUFFIX);
+    File file = new File(mDirectory, fileName);
+    DataOutputStream out = null;
+    try {
+      out = new DataOutputStream(new FileOutputStream(tempFile));
+      out.writeInt(ENTRY_MAGIC);
+      out.writeLong(expiryTime);
+      out.writeUTF(eTag != null ? eTag : "");
+      out.writeUTF(lastModified != null ? lastModified : "");
+      out.write(data);
+      out.close();
+      out = null;
+
+      synchronized (this) {
+        long previousLength = file.length();
+        if (!tempFile.renameTo(file)) {
+          tempFile.delete();
+          return;
+        }
+        if (mSize >= 0) {
+          mSize += file.length() - previousLength;
+        }
+        trimIfNeeded();
+      }
+    } catch (IOException exception) {
+      Log.w(TAG, "Failed to write image to the disk cache.", exception);
+      closeQuietly(out);
+      tempFile.delete();
+    }
+  }
+
+  private synchronized void remove(@NonNull File file) {
+    long length = file.length();
+    if (file.delete() && mSize >= 0) {
+      mSize -= length;
+    }
+  }
+
+  /**
+   * Deletes least recently used entries if the cache is over its maximum size. Must be called
+   * while holding the lock on this object.
+   */
+  private void trimIfNeeded() {
+    File[] files = mDirectory.listFiles();
+    if (files == null) {
+      return;
+    }
+    if (mSize < 0) {
+      mSize = 0;
+      for (File file : files) {
+        mSize += file.length();
+      }
+    }
+    if (mSize <= mMaxSize) {
+      return;
+    }
+
+    Arrays.sort(files, new Comparator<File>() {
+      @Override
+      public int compare(File first, File second) {
+        long firstModified = first.lastModified();
+        long secondModified = second.lastModified();
+        return firstModified < secondModified ? -1 : (firstModified == secondModified ? 0 : 1);
+      }
+    });
+    long targetSize = (long) (mMaxSize * TRIM_FACTOR);
+    for (File file : files) {
+      if (mSize <= targetSize) {
+        break;
+      }
+      if (file.getName().endsWith(TEMP_FILE_SUFFIX)) {
+        // Still being written.
+        continue;
+      }
+      long length = file.length();
+      if (file.delete()) {
+        mSize -= length;
+      }
+    }
+  }
+
+  /**
+   * Computes the time at which a response may no longer be served from the cache, based on its
+   * {@code Cache-Control} and {@code Expires} headers.
+   *
+   * @return the expiry time in milliseconds, 0 if the response must be revalidated before every
+   *     use, or -1 if it must not be stored.
+   */
+  static long getExpiryTime(@NonNull URLConnection connection) {
+    long now = System.currentTimeMillis();
+    String cacheControl = connection.getHeaderField("Cache-Control");
+    if (cacheControl != null) {
+      for (String directive : cacheControl.split(",")) {
+        directive = directive.trim().toLowerCase(Locale.US);
+        if (directive.equals("no-store")) {
+          return -1;
+        }
+        if (directive.equals("no-cache")) {
+          return 0;
+        }
+        if (directive.startsWith("max-age=")) {
+          try {
+            long maxAgeSeconds = Long.parseLong(directive.substring("max-age=".length()));
+            return maxAgeSeconds > 0 ? now + TimeUnit.SECONDS.toMillis(maxAgeSeconds) : 0;
+          } catch (NumberFormatException exception) {
+            // Fall through to the Expires header.
+          }
+        }
+      }
+    }
+
+    long expires = connection.getExpiration();
+    if (expires > 0) {
+      return expires > now ? expires : 0;
+    }
+    return now + DEFAULT_LIFETIME_MILLIS;
+  }
+
+  @Nullable
+  private static String readValidator(@NonNull DataInputStream in) throws IOException {
+    String validator = in.readUTF();
+    return validator.isEmpty() ? null : validator;
+  }
+
+  @NonNull
+  private static String getFileName(@NonNull String url) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      byte[] hash = digest.digest(url.getBytes("UTF-8"));
+      StringBuilder builder = new StringBuilder(hash.length * 2);
+      for (byte b : hash) {
+        builder.append(String.format(Locale.US, "%02x", b));
+      }
+      return builder.toString();
+    } catch (NoSuchAlgorithmException | IOException exception) {
+      return Integer.toHexString(url.hashCode());
+    }
+  }
+
+  private static void closeQuietly(@Nullable Closeable closeable) {
+    if (closeable == null) {
+      return;
+    }
+    try {
+      closeable.close();
+    } catch (IOException exception) {
+      // Ignore.
+    }
+  }
+
+  /**
+   * A cached image, along with the validators of the response it was read from.
+   */
+  static final class Entry {
+
+    private final byte[] mData;
+
+    private final boolean mExpired;
+
+    @Nullable private final String mETag;
+
+    @Nullable private final String mLastModified;
+
+    Entry(
+        @NonNull byte[] data,
+        boolean expired,
+        @Nullable String eTag,
+        @Nullable String lastModified) {
+      mData = data;
+      mExpired = expired;
+      mETag = eTag;
+      mLastModified = lastModified;
+    }
+
+    @NonNull
+    byte[] getData() {
+      return mData;
+    }
+
+    /**
+     * Returns whether the image must be revalidated before use.
+     */
+    boolean isExpired() {
+      return mExpired;
+    }
+
+    @Nullable
+    String getETag() {
+      return mETag;
+    }
+
+    @Nullable
+    String getLastModified() {
+      return mLastModified;
+    }
+  }
+}
@@ -1,19 +1,12 @@
 package com.google.ads.mediation.inmobi;
 
-import android.content.res.Resources;
-import android.graphics.Bitmap;
-import android.graphics.BitmapFactory;
-import android.graphics.drawable.BitmapDrawable;
+import android.content.Context;
 import android.graphics.drawable.Drawable;
 import android.os.AsyncTask;
-import android.util.DisplayMetrics;
-import java.io.InputStream;
 import java.net.URL;
 import java.util.HashMap;
-import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -27,14 +20,33 @@ class ImageDownloaderAsyncTask extends AsyncTask<Object, Void, HashMap<String, D
 
   static final String KEY_ICON = "icon_key";
 
-  private static final long DRAWABLE_FUTURE_TIMEOUT_SECONDS = 10;
+  /**
+   * Time allowed to download the images of a native ad.
+   */
+  private static final long DRAWABLES_TIMEOUT_MILLIS = 10000;
+
+  /**
+   * Maximum size of the icon image in dp. Icons are downsampled to this size when decoded.
+   */
+  private static final int MAX_ICON_SIZE_DP = 128;
 
   private final DrawableDownloadListener mListener;
 
-  private final InMobiMemoryCache mMemoryCache = new InMobiMemoryCache();
+  private final InMobiMemoryCache mMemoryCache;
+
+  private final ImageDiskCache mDiskCache;
+
+  /**
+   * Maximum size of the decoded icon image in pixels.
+   */
+  private final int mMaxIconSize;
 
-  public ImageDownloaderAsyncTask(DrawableDownloadListener listener) {
+  public ImageDownloaderAsyncTask(Context context, DrawableDownloadListener listener) {
     mListener = listener;
+    mMemoryCache = InMobiMemoryCache.getInstance(context);
+    mDiskCache = ImageDiskCache.getInstance(context);
+    mMaxIconSize =
+        Math.round(MAX_ICON_SIZE_DP * context.getResources().getDisplayMetrics().density);
   }
 
   /**
@@ -52,46 +64,35 @@ class ImageDownloaderAsyncTask extends AsyncTask<Object, Void, HashMap<String, D
   @Override
   protected HashMap<String, Drawable> doInBackground(Object... params) {
     HashMap<String, URL> urlsMap = (HashMap<String, URL>) params[0];
-    ExecutorService executorService = Executors.newCachedThreadPool();
-    Drawable imageDrawable;
-    Drawable iconDrawable;
+    String iconKey = String.valueOf(urlsMap.get(KEY_ICON));
+    Future<Drawable> iconDrawableFuture = null;
 
     try {
-      if (null != mMemoryCache.get(String.valueOf(urlsMap.get(KEY_ICON)))) {
-        iconDrawable = mMemoryCache.get(String.valueOf(urlsMap.get(KEY_ICON)));
-      } else {
-        iconDrawable = getDrawableFuture(urlsMap.get(KEY_ICON), executorService).get
-            (DRAWABLE_FUTURE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
-        mMemoryCache.put(String.valueOf(urlsMap.get(KEY_ICON)), iconDrawable);
+      Drawable iconDrawable = mMemoryCache.get(iconKey);
+      if (iconDrawable == null) {
+        iconDrawableFuture =
+            ImageFetchExecutor.getInstance()
+                .submit(urlsMap.get(KEY_ICON), mMaxIconSize, mMaxIconSize, mDiskCache);
+        iconDrawable = iconDrawableFuture.get(DRAWABLES_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        mMemoryCache.put(iconKey, iconDrawable);
       }
 
       HashMap<String, Drawable> drawableHashMap = new HashMap<>();
       drawableHashMap.put(KEY_ICON, iconDrawable);
 
       return drawableHashMap;
-    } catch (InterruptedException | ExecutionException | TimeoutException e) {
+    } catch (InterruptedException | ExecutionException | TimeoutException
+        | CancellationException e) {
       e.printStackTrace();
+      if (iconDrawableFuture != null) {
+        // Release this task's interest in the download so that it can be aborted if no other
+        // native ad is waiting on it.
+        iconDrawableFuture.cancel(true);
+      }
       return null;
     }
   }
 
-  private Future<Drawable> getDrawableFuture(final URL url, ExecutorService executorService) {
-    return executorService.submit(new Callable<Drawable>() {
-
-      @Override
-
-      public Drawable call() throws Exception {
-        InputStream in = url.openStream();
-        Bitmap bitmap = BitmapFactory.decodeStream(in);
-        // Defaulting to a scale of 1.
-        bitmap.setDensity(DisplayMetrics.DENSITY_DEFAULT);
-        return new BitmapDrawable(Resources.getSystem(), bitmap);
-      }
-
-    });
-
-  }
-
   /**
    * <p>Runs on the UI thread after {@link #doInBackground}. The
    * specified result is the value returned by {@link #doInBackground}.</p>
@@ -0,0 +1,826 @@
+package com.google.ads.mediation.inmobi;
+
+import android.content.res.Resources;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.drawable.BitmapDrawable;
+import android.graphics.drawable.Drawable;
+import android.util.DisplayMetrics;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.SocketTimeoutException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A process-wide, bounded executor used to download native ad images. Concurrent requests for the
+ * same URL share a single download and decoded bitmap, but each of them gets its own drawable. The
+ * number of simultaneous downloads per host is capped, and downloads over the cap wait in a queue
+ * for their host without holding a download thread.
+ * Connection timeouts adapt to the latency observed for each host and, when hedging is enabled, a
+ * download that takes longer than usual for its host is raced against a second request. Connections
+ * are kept alive between downloads from the same host, and cached images are revalidated with
+ * conditional requests once they have expired.
+ */
+final class ImageFetchExecutor {
+
+  /**
+   * Maximum number of threads used to download images.
+   */
+  private static final int MAX_THREADS = 4;
+
+  /**
+   * Maximum number of simultaneous downloads from a single host.
+   */
+  private static final int MAX_REQUESTS_PER_HOST = 2;
+
+  /**
+   * Time an idle download thread is kept alive before being released.
+   */
+  private static final long KEEP_ALIVE_SECONDS = 30;
+
+  /**
+   * Number of download latencies kept for each host.
+   */
+  private static final int MAX_LATENCY_SAMPLES = 32;
+
+  /**
+   * Number of download latencies needed before the timeouts of a host adapt to them.
+   */
+  private static final int MIN_LATENCY_SAMPLES = 5;
+
+  /**
+   * Timeout multiplier applied to the 95th percentile latency of a host.
+   */
+  private static final int TIMEOUT_LATENCY_MULTIPLIER = 4;
+
+  /**
+   * Lower bound of the adaptive connection timeouts.
+   */
+  private static final int MIN_TIMEOUT_MILLIS = 2000;
+
+  /**
+   * Connection timeout used until enough latencies have been observed for a host.
+   */
+  private static final int MAX_TIMEOUT_MILLIS = 10000;
+
+  /**
+   * Size of the buffers images are read with.
+   */
+  private static final int BUFFER_SIZE = 16 * 1024;
+
+  /**
+   * Largest Content-Length the read output is pre-sized to, whatever the server claims.
+   */
+  private static final int MAX_PRESIZED_LENGTH = 1024 * 1024;
+
+  private static ImageFetchExecutor instance;
+
+  /**
+   * Read buffers not in use, at most one per download thread.
+   */
+  private static final ArrayDeque<byte[]> bufferPool = new ArrayDeque<>();
+
+  /**
+   * Schedules hedged requests. Created when hedging is first enabled.
+   */
+  private static ScheduledThreadPoolExecutor hedgeScheduler;
+
+  private static volatile boolean hedgingEnabled;
+
+  private final ThreadPoolExecutor mExecutor;
+
+  /**
+   * Downloads currently in progress, keyed by URL.
+   */
+  private final ConcurrentHashMap<String, SharedDownload> mInFlight = new ConcurrentHashMap<>();
+
+  /**
+   * Downloads running and waiting for each host.
+   */
+  private final ConcurrentHashMap<String, HostQueue> mHostQueues = new ConcurrentHashMap<>();
+
+  /**
+   * Recent download latencies for each host.
+   */
+  private final ConcurrentHashMap<String, HostLatency> mHostLatencies = new ConcurrentHashMap<>();
+
+  private ImageFetchExecutor() {
+    mExecutor =
+        new ThreadPoolExecutor(
+            MAX_THREADS,
+            MAX_THREADS,
+            KEEP_ALIVE_SECONDS,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<Runnable>(),
+            new ThreadFactory() {
+              private final AtomicInteger mCount = new AtomicInteger();
+
+              @Override
+              public Thread newThread(@NonNull Runnable runnable) {
+                Thread thread =
+                    new Thread(runnable, "InMobiImageFetch-" + mCount.incrementAndGet());
+                thread.setPriority(Thread.MIN_PRIORITY);
+                return thread;
+              }
+            });
+    mExecutor.allowCoreThreadTimeOut(true);
+  }
+
+  static synchronized ImageFetchExecutor getInstance() {
+    if (instance == null) {
+      instance = new ImageFetchExecutor();
+    }
+    return instance;
+  }
+
+  /**
+   * Sets whether a download that has not completed within the 95th percentile latency of its host
+   * is raced against a second request for the same image. Disabled by default.
+   */
+  static void setHedgingEnabled(boolean enabled) {
+    synchronized (ImageFetchExecutor.class) {
+      if (enabled && hedgeScheduler == null) {
+        hedgeScheduler = new ScheduledThreadPoolExecutor(1);
+        hedgeScheduler.setKeepAliveTime(KEEP_ALIVE_SECONDS, TimeUnit.SECONDS);
+        hedgeScheduler.allowCoreThreadTimeOut(true);
+      }
+    }
+    hedgingEnabled = enabled;
+  }
+
+  /**
+   * Requests the image at the given URL. If a download for the same URL is already in progress,
+   * the returned {@link Future} is attached to it instead of starting a new one.
+   *
+   * @param url the image URL.
+   * @param targetWidth the maximum width of the decoded image in pixels, or 0 to decode the image
+   *     at full resolution.
+   * @param targetHeight the maximum height of the decoded image in pixels, or 0 to decode the
+   *     image at full resolution.
+   * @param diskCache the disk cache to read the image from and store it in, if enabled.
+   * @return a {@link Future} for the decoded image. Cancelling it releases this caller's interest
+   *     in the download, which is only aborted once no other caller is waiting on it.
+   */
+  @NonNull
+  Future<Drawable> submit(
+      @NonNull URL url, int targetWidth, int targetHeight, @Nullable ImageDiskCache diskCache) {
+    final String key = url + "#" + targetWidth + "x" + targetHeight;
+    while (true) {
+      SharedDownload download = mInFlight.get(key);
+      if (download == null) {
+        SharedDownload newDownload =
+            new SharedDownload(key, url, targetWidth, targetHeight, diskCache);
+        download = mInFlight.putIfAbsent(key, newDownload);
+        if (download == null) {
+          newDownload.acquire();
+          executeForHost(url.getHost(), newDownload.mTask);
+          newDownload.scheduleHedge();
+          return new Request(newDownload);
+        }
+      }
+      if (download.acquire()) {
+        return new Request(download);
+      }
+      // The download was cancelled by its last caller while we were attaching to it.
+      mInFlight.remove(key, download);
+    }
+  }
+
+  @NonNull
+  private HostLatency getHostLatency(@NonNull String host) {
+    HostLatency latency = mHostLatencies.get(host);
+    if (latency == null) {
+      HostLatency newLatency = new HostLatency();
+      latency = mHostLatencies.putIfAbsent(host, newLatency);
+      if (latency == null) {
+        latency = newLatency;
+      }
+    }
+    return latency;
+  }
+
+  @NonNull
+  private HostQueue getHostQueue(@NonNull String host) {
+    HostQueue queue = mHostQueues.get(host);
+    if (queue == null) {
+      HostQueue newQueue = new HostQueue();
+      queue = mHostQueues.putIfAbsent(host, newQueue);
+      if (queue == null) {
+        queue = newQueue;
+      }
+    }
+    return queue;
+  }
+
+  /**
+   * Runs a download on the pool if fewer than {@link #MAX_REQUESTS_PER_HOST} downloads from its
+   * host are running, or queues it for its host otherwise. A queued download is started by the
+   * thread of a finishing download from the same host, so downloads never block a thread waiting
+   * for their host. Hedged requests bypass the cap, as they are only made once the original is
+   * already late.
+   */
+  private void executeForHost(@NonNull String host, @NonNull final Runnable download) {
+    final HostQueue queue = getHostQueue(host);
+    synchronized (queue) {
+      if (queue.mRunning >= MAX_REQUESTS_PER_HOST) {
+        queue.mPending.add(download);
+        return;
+      }
+      queue.mRunning++;
+    }
+    mExecutor.execute(
+        new Runnable() {
+          @Override
+          public void run() {
+            Runnable next = download;
+            while (next != null) {
+              try {
+                next.run();
+              } finally {
+                // Clear an interrupt from the cancellation of this download, as the pool would
+                // between two tasks.
+                Thread.interrupted();
+                synchronized (queue) {
+                  next = queue.mPending.poll();
+                  if (next == null) {
+                    queue.mRunning--;
+                  }
+                }
+              }
+            }
+          }
+        });
+  }
+
+  private Bitmap download(
+      @NonNull URL url,
+      int targetWidth,
+      int targetHeight,
+      @Nullable ImageDiskCache diskCache,
+      @NonNull Attempt attempt)
+      throws IOException, InterruptedException {
+    String key = url.toString();
+    ImageDiskCache.Entry cached = diskCache != null ? diskCache.get(key) : null;
+    if (cached != null && !cached.isExpired()) {
+      Bitmap bitmap = decodeBitmap(cached.getData(), targetWidth, targetHeight);
+      if (bitmap != null) {
+        return prepareBitmap(bitmap);
+      }
+      cached = null;
+    }
+
+    HostLatency latency = getHostLatency(url.getHost());
+    long startTime = System.nanoTime();
+    // HttpURLConnection keeps the connection alive for the next request to the same host once
+    // the response body has been fully read and closed.
+    URLConnection connection = url.openConnection();
+    if (!attempt.setConnection(connection)) {
+      throw new InterruptedException("Image download aborted.");
+    }
+    int timeout = latency.getTimeoutMillis();
+    connection.setConnectTimeout(timeout);
+    connection.setReadTimeout(timeout);
+    if (cached != null) {
+      if (cached.getETag() != null) {
+        connection.setRequestProperty("If-None-Match", cached.getETag());
+      }
+      if (cached.getLastModified() != null) {
+        connection.setRequestProperty("If-Modified-Since", cached.getLastModified());
+      }
+    }
+    byte[] data;
+    try {
+      if (cached != null && isNotModified(connection)) {
+        data = cached.getData();
+      } else {
+        InputStream in = connection.getInputStream();
+        try {
+          data = readFully(in, connection.getContentLength());
+        } finally {
+          in.close();
+        }
+      }
+    } catch (IOException exception) {
+      if (!attempt.isAborted()) {
+        // Slow and failing hosts must raise their timeouts, so failed attempts are recorded
+        // too, a timed out one at its timeout.
+        latency.record(
+            exception instanceof SocketTimeoutException
+                ? timeout
+                : TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+        discardErrorStream(connection);
+      }
+      throw exception;
+    }
+    latency.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+
+    Bitmap bitmap = decodeBitmap(data, targetWidth, targetHeight);
+    // The other attempt won the race and has already cached the image.
+    if (bitmap != null && diskCache != null && !attempt.isAborted()) {
+      String eTag = connection.getHeaderField("ETag");
+      String lastModified = connection.getHeaderField("Last-Modified");
+      if (cached != null && eTag == null && lastModified == null) {
+        // A 304 response need not repeat the validators of the cached image.
+        eTag = cached.getETag();
+        lastModified = cached.getLastModified();
+      }
+      diskCache.put(key, data, ImageDiskCache.getExpiryTime(connection), eTag, lastModified);
+    }
+    return prepareBitmap(bitmap);
+  }
+
+  /**
+   * Decodes an image so that it fits within the target size. The image is first subsampled by the
+   * largest power of two that keeps it at least as large as the target, then scaled down exactly.
+   * Images are never scaled up.
+   */
+  @Nullable
+  static Bitmap decodeBitmap(@NonNull byte[] data, int targetWidth, int targetHeight) {
+    if (targetWidth <= 0 || targetHeight <= 0) {
+      return BitmapFactory.decodeByteArray(data, 0, data.length);
+    }
+
+    BitmapFactory.Options options = new BitmapFactory.Options();
+    options.inJustDecodeBounds = true;
+    BitmapFactory.decodeByteArray(data, 0, data.length, options);
+    if (options.outWidth <= 0 || options.outHeight <= 0) {
+      return null;
+    }
+
+    float scale =
+        Math.min(
+            (float) targetWidth / options.outWidth, (float) targetHeight / options.outHeight);
+    int inSampleSize = 1;
+    while (inSampleSize * 2 <= 1 / scale) {
+      inSampleSize *= 2;
+    }
+    options.inJustDecodeBounds = false;
+    options.inSampleSize = inSampleSize;
+    Bitmap bitmap = BitmapFactory.decodeByteArray(data, 0, data.length, options);
+    if (bitmap == null || scale >= 1) {
+      return bitmap;
+    }
+
+    int width = Math.max(1, Math.round(options.outWidth * scale));
+    int height = Math.max(1, Math.round(options.outHeight * scale));
+    if (width >= bitmap.getWidth() && height >= bitmap.getHeight()) {
+      return bitmap;
+    }
+    Bitmap scaledBitmap = Bitmap.createScaledBitmap(bitmap, width, height, true);
+    if (scaledBitmap != bitmap) {
+      bitmap.recycle();
+    }
+    return scaledBitmap;
+  }
+
+  @NonNull
+  private static Bitmap prepareBitmap(@Nullable Bitmap bitmap) throws IOException {
+    if (bitmap == null) {
+      throw new IOException("Failed to decode image.");
+    }
+    // Defaulting to a scale of 1.
+    bitmap.setDensity(DisplayMetrics.DENSITY_DEFAULT);
+    return bitmap;
+  }
+
+  private static byte[] readFully(@NonNull InputStream in, int contentLength)
+      throws IOException {
+    ByteArrayOutputStream out =
+        new ByteArrayOutputStream(
+            contentLength > 0 ? Math.min(contentLength, MAX_PRESIZED_LENGTH) : BUFFER_SIZE);
+    byte[] buffer = obtainBuffer();
+    try {
+      int count;
+      while ((count = in.read(buffer)) != -1) {
+        out.write(buffer, 0, count);
+      }
+    } finally {
+      recycleBuffer(buffer);
+    }
+    return out.toByteArray();
+  }
+
+  private static boolean isNotModified(@NonNull URLConnection connection) throws IOException {
+    return connection instanceof HttpURLConnection
+        && ((HttpURLConnection) connection).getResponseCode()
+            == HttpURLConnection.HTTP_NOT_MODIFIED;
+  }
+
+  /**
+   * Reads and closes the body of a failed response, so that its connection can be reused.
+   */
+  private static void discardErrorStream(@NonNull URLConnection connection) {
+    if (!(connection instanceof HttpURLConnection)) {
+      return;
+    }
+    InputStream errorStream = ((HttpURLConnection) connection).getErrorStream();
+    if (errorStream == null) {
+      return;
+    }
+    byte[] buffer = obtainBuffer();
+    try {
+      while (errorStream.read(buffer) != -1) {
+        // Discard.
+      }
+    } catch (IOException exception) {
+      // The connection is not reused.
+    } finally {
+      recycleBuffer(buffer);
+      try {
+        errorStream.close();
+      } catch (IOException exception) {
+        // Ignore.
+      }
+    }
+  }
+
+  @NonNull
+  private static byte[] obtainBuffer() {
+    synchronized (bufferPool) {
+      byte[] buffer = bufferPool.poll();
+      if (buffer != null) {
+        return buffer;
+      }
+    }
+    return new byte[BUFFER_SIZE];
+  }
+
+  private static void recycleBuffer(@NonNull byte[] buffer) {
+    synchronized (bufferPool) {
+      if (bufferPool.size() < MAX_THREADS) {
+        bufferPool.push(buffer);
+      }
+    }
+  }
+
+  /**
+   * A single download shared by every caller requesting the same URL.
+   */
+  private final class SharedDownload {
+
+    private final DownloadTask mTask;
+
+    private final URL mUrl;
+
+    private final int mTargetWidth;
+
+    private final int mTargetHeight;
+
+    @Nullable private final ImageDiskCache mDiskCache;
+
+    @Nullable private volatile ScheduledFuture<?> mHedge;
+
+    @Nullable private volatile Future<?> mHedgeFuture;
+
+    private final Attempt mAttempt = new Attempt();
+
+    @Nullable private volatile Attempt mHedgeAttempt;
+
+    /**
+     * Number of callers waiting on this download, or -1 once it has been cancelled.
+     */
+    private final AtomicInteger mSubscribers = new AtomicInteger();
+
+    SharedDownload(
+        @NonNull final String key,
+        @NonNull final URL url,
+        final int targetWidth,
+        final int targetHeight,
+        @Nullable final ImageDiskCache diskCache) {
+      mUrl = url;
+      mTargetWidth = targetWidth;
+      mTargetHeight = targetHeight;
+      mDiskCache = diskCache;
+      mTask =
+          new DownloadTask(
+              new Callable<Bitmap>() {
+                @Override
+                public Bitmap call() throws Exception {
+                  mAttempt.start();
+                  try {
+                    return download(url, targetWidth, targetHeight, diskCache, mAttempt);
+                  } finally {
+                    mAttempt.finish();
+                  }
+                }
+              }) {
+            @Override
+            protected void done() {
+              mInFlight.remove(key, SharedDownload.this);
+              ScheduledFuture<?> hedge = mHedge;
+              if (hedge != null) {
+                hedge.cancel(false);
+              }
+              // Abort whichever attempt lost the race, or both if the download was cancelled.
+              mAttempt.abort();
+              Future<?> hedgeFuture = mHedgeFuture;
+              if (hedgeFuture != null) {
+                hedgeFuture.cancel(false);
+              }
+              Attempt hedgeAttempt = mHedgeAttempt;
+              if (hedgeAttempt != null) {
+                hedgeAttempt.abort();
+              }
+            }
+          };
+    }
+
+    /**
+     * Schedules a second request for the image, started if this download has not completed within
+     * the 95th percentile latency of its host. Does nothing if hedging is disabled or if not enough
+     * latencies have been observed for the host yet.
+     */
+    void scheduleHedge() {
+      ScheduledThreadPoolExecutor scheduler;
+      synchronized (ImageFetchExecutor.class) {
+        scheduler = hedgeScheduler;
+      }
+      if (!hedgingEnabled || scheduler == null) {
+        return;
+      }
+      long delay = getHostLatency(mUrl.getHost()).getPercentile(0.95);
+      if (delay < 0) {
+        return;
+      }
+      mHedge =
+          scheduler.schedule(
+              new Runnable() {
+                @Override
+                public void run() {
+                  if (!mTask.isDone()) {
+                    startHedgeAttempt();
+                  }
+                }
+              },
+              delay,
+              TimeUnit.MILLISECONDS);
+      if (mTask.isDone()) {
+        mHedge.cancel(false);
+      }
+    }
+
+    private void startHedgeAttempt() {
+      final Attempt attempt = new Attempt();
+      mHedgeAttempt = attempt;
+      mHedgeFuture =
+          mExecutor.submit(
+              new Runnable() {
+                @Override
+                public void run() {
+                  if (mTask.isDone()) {
+                    return;
+                  }
+                  Bitmap bitmap;
+                  attempt.start();
+                  try {
+                    bitmap = download(mUrl, mTargetWidth, mTargetHeight, mDiskCache, attempt);
+                  } catch (IOException | InterruptedException exception) {
+                    // The original request may still succeed.
+                    return;
+                  } finally {
+                    attempt.finish();
+                  }
+                  mTask.complete(bitmap);
+                }
+              });
+      if (mTask.isDone()) {
+        mHedgeFuture.cancel(false);
+        attempt.abort();
+      }
+    }
+
+    boolean acquire() {
+      while (true) {
+        int subscribers = mSubscribers.get();
+        if (subscribers < 0) {
+          return false;
+        }
+        if (mSubscribers.compareAndSet(subscribers, subscribers + 1)) {
+          return true;
+        }
+      }
+    }
+
+    void release() {
+      if (mSubscribers.decrementAndGet() == 0 && mSubscribers.compareAndSet(0, -1)) {
+        mTask.cancel(true);
+      }
+    }
+  }
+
+  /**
+   * One of the requests racing to download an image, which the other can abort.
+   */
+  private static final class Attempt {
+
+    /**
+     * Thread running the request, while it runs.
+     */
+    @Nullable private Thread mThread;
+
+    @Nullable private URLConnection mConnection;
+
+    private boolean mAborted;
+
+    synchronized void start() {
+      mThread = Thread.currentThread();
+    }
+
+    /**
+     * Must be called by the thread that started the request, once it is over.
+     */
+    synchronized void finish() {
+      mThread = null;
+      mConnection = null;
+      // Clear an interrupt from abort() that arrived after the request was over.
+      Thread.interrupted();
+    }
+
+    /**
+     * Returns {@code false} if the request was aborted before it connected.
+     */
+    synchronized boolean setConnection(@NonNull URLConnection connection) {
+      mConnection = connection;
+      return !mAborted;
+    }
+
+    synchronized boolean isAborted() {
+      return mAborted;
+    }
+
+    /**
+     * Interrupts the request and closes its connection, unless it is over already.
+     */
+    void abort() {
+      URLConnection connection;
+      synchronized (this) {
+        if (mAborted) {
+          return;
+        }
+        mAborted = true;
+        if (mThread == null || mThread == Thread.currentThread()) {
+          return;
+        }
+        mThread.interrupt();
+        connection = mConnection;
+      }
+      // Blocking socket reads are not interruptible, so close the connection as well.
+      if (connection instanceof HttpURLConnection) {
+        ((HttpURLConnection) connection).disconnect();
+      }
+    }
+  }
+
+  /**
+   * A download whose result may also be provided by a hedged request.
+   */
+  private static class DownloadTask extends FutureTask<Bitmap> {
+
+    DownloadTask(@NonNull Callable<Bitmap> callable) {
+      super(callable);
+    }
+
+    /**
+     * Completes the download with the given image, unless it has completed already.
+     */
+    void complete(@NonNull Bitmap bitmap) {
+      set(bitmap);
+    }
+  }
+
+  /**
+   * The most recent download latencies observed for a host.
+   */
+  private static final class HostLatency {
+
+    private final long[] mSamples = new long[MAX_LATENCY_SAMPLES];
+
+    private int mCount;
+
+    synchronized void record(long latencyMillis) {
+      mSamples[mCount % MAX_LATENCY_SAMPLES] = latencyMillis;
+      mCount++;
+    }
+
+    /**
+     * Returns the given percentile of the recent latencies, or -1 if too few were observed.
+     */
+    synchronized long getPercentile(double percentile) {
+      if (mCount < MIN_LATENCY_SAMPLES) {
+        return -1;
+      }
+      long[] samples = Arrays.copyOf(mSamples, Math.min(mCount, MAX_LATENCY_SAMPLES));
+      Arrays.sort(samples);
+      int index = (int) Math.ceil(percentile * samples.length) - 1;
+      return samples[Math.max(0, Math.min(index, samples.length - 1))];
+    }
+
+    int getTimeoutMillis() {
+      long latency = getPercentile(0.95);
+      if (latency < 0) {
+        return MAX_TIMEOUT_MILLIS;
+      }
+      return (int)
+          Math.max(
+              MIN_TIMEOUT_MILLIS,
+              Math.min(MAX_TIMEOUT_MILLIS, latency * TIMEOUT_LATENCY_MULTIPLIER));
+    }
+  }
+
+  /**
+   * The downloads from a host waiting for one of its slots, and the number of slots in use. Guarded
+   * by the queue itself.
+   */
+  private static final class HostQueue {
+
+    private final ArrayDeque<Runnable> mPending = new ArrayDeque<>();
+
+    private int mRunning;
+  }
+
+  /**
+   * A caller's handle on a {@link SharedDownload}.
+   */
+  private static final class Request implements Future<Drawable> {
+
+    private final SharedDownload mDownload;
+
+    private volatile boolean mCancelled;
+
+    @Nullable private Drawable mDrawable;
+
+    Request(@NonNull SharedDownload download) {
+      mDownload = download;
+    }
+
+    @Override
+    public synchronized boolean cancel(boolean mayInterruptIfRunning) {
+      if (mCancelled || mDownload.mTask.isDone()) {
+        return false;
+      }
+      mCancelled = true;
+      mDownload.release();
+      return true;
+    }
+
+    @Override
+    public boolean isCancelled() {
+      return mCancelled || mDownload.mTask.isCancelled();
+    }
+
+    @Override
+    public boolean isDone() {
+      return mCancelled || mDownload.mTask.isDone();
+    }
+
+    @Override
+    public Drawable get() throws InterruptedException, ExecutionException {
+      if (mCancelled) {
+        throw new CancellationException();
+      }
+      return getDrawable(mDownload.mTask.get());
+    }
+
+    @Override
+    public Drawable get(long timeout, @NonNull TimeUnit unit)
+        throws InterruptedException, ExecutionException, TimeoutException {
+      if (mCancelled) {
+        throw new CancellationException();
+      }
+      return getDrawable(mDownload.mTask.get(timeout, unit));
+    }
+
+    /**
+     * Returns this caller's drawable of the shared bitmap. Drawables hold mutable state, such as
+     * their bounds, alpha and callback, so callers of the same download must not share one.
+     */
+    @NonNull
+    private synchronized Drawable getDrawable(@NonNull Bitmap bitmap) {
+      if (mDrawable == null) {
+        mDrawable = new BitmapDrawable(Resources.getSystem(), bitmap);
+      }
+      return mDrawable;
+    }
+  }
+}
@@ -61,6 +61,8 @@ public final class InMobiAdapter extends InMobiMediationAdapter
 
   private InMobiNative mAdNative;
 
+  private InMobiUnifiedNativeAdMapper mNativeAdMapper;
+
   /**
    * Converts a {@link com.inmobi.ads.InMobiAdRequestStatus.StatusCode} to Google Mobile Ads SDK
    * readable error code.
@@ -93,6 +95,10 @@ public final class InMobiAdapter extends InMobiMediationAdapter
   //region MediationAdapter implementation.
   @Override
   public void onDestroy() {
+    if (mNativeAdMapper != null) {
+      mNativeAdMapper.cancelImageDownload();
+      mNativeAdMapper = null;
+    }
   }
 
   @Override
@@ -504,12 +510,12 @@ public final class InMobiAdapter extends InMobiMediationAdapter
             mIsOnlyUrl = nativeAdOptions.shouldReturnUrlsForImageAssets();
           }
 
-          InMobiUnifiedNativeAdMapper inMobiUnifiedNativeAdMapper =
+          mNativeAdMapper =
               new InMobiUnifiedNativeAdMapper(InMobiAdapter.this,
                   imNativeAd,
                   mIsOnlyUrl,
                   mNativeListener);
-          inMobiUnifiedNativeAdMapper.mapUnifiedNativeAd(context);
+          mNativeAdMapper.mapUnifiedNativeAd(context);
         }
 
         @Override
@@ -8,7 +8,6 @@ import com.inmobi.sdk.InMobiSdk;
 import com.inmobi.sdk.SdkInitializationListener;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
-import java.util.ArrayList;
 
 
 public class InMobiInitializer {
@@ -39,55 +38,68 @@ public class InMobiInitializer {
    */
   public static final int INITIALIZED = 2;
 
-  private @InitializationStatus int initializationStatus;
+  private final SingleFlightInitializer mInitializer = new SingleFlightInitializer();
 
-  private ArrayList<Listener> mListeners = new ArrayList<>();
+  /**
+   * Error reported by the InMobi SDK for the last failed initialization.
+   */
+  private volatile Error mInitializationError;
 
   private InMobiInitializer() {
-    initializationStatus = UNINITIALIZED;
   }
 
-  public static InMobiInitializer getInstance() {
+  public static synchronized InMobiInitializer getInstance() {
     if (instance == null) {
       instance = new InMobiInitializer();
     }
     return instance;
   }
 
-  public void init(@NonNull final Context context,
-      @NonNull @Size(min = 32, max = 36) String accountID,
-      @NonNull final Listener listener) {
-
-    if (initializationStatus == INITIALIZED) {
-      listener.onInitializeSuccess();
-      return;
-    }
-
-    mListeners.add(listener);
-    if (initializationStatus == INITIALIZING) {
-      return;
+  /**
+   * Returns the current initialization status.
+   */
+  public @InitializationStatus int getInitializationStatus() {
+    switch (mInitializer.getState()) {
+      case INITIALIZED:
+        return INITIALIZED;
+      case INITIALIZING:
+        return INITIALIZING;
+      default:
+        return UNINITIALIZED;
     }
+  }
 
-    initializationStatus = INITIALIZING;
-
-    InMobiSdk.init(context, accountID, InMobiConsent.getConsentObj(),
-        new SdkInitializationListener() {
-          @Override
-          public void onInitializationComplete(Error error) {
-            if (error == null) {
-              initializationStatus = INITIALIZED;
-              for (Listener initListener : mListeners) {
-                initListener.onInitializeSuccess();
-              }
-            } else {
-              initializationStatus = UNINITIALIZED;
-              for (Listener initListener : mListeners) {
-                initListener.onInitializeError(error);
+  public void init(@NonNull final Context context,
+      @NonNull @Size(min = 32, max = 36) final String accountID,
+      @NonNull final Listener listener) {
+    mInitializer.initialize(new SingleFlightInitializer.Listener() {
+      @Override
+      public void onInitializeSuccess() {
+        listener.onInitializeSuccess();
+      }
+
+      @Override
+      public void onInitializeError(@NonNull String errorMessage) {
+        Error error = mInitializationError;
+        listener.onInitializeError(error != null ? error : new Error(errorMessage));
+      }
+    }, new Runnable() {
+      @Override
+      public void run() {
+        InMobiSdk.init(context, accountID, InMobiConsent.getConsentObj(),
+            new SdkInitializationListener() {
+              @Override
+              public void onInitializationComplete(Error error) {
+                if (error == null) {
+                  mInitializer.onSuccess();
+                } else {
+                  mInitializationError = error;
+                  mInitializer.onFailure(String.valueOf(error.getMessage()));
+                }
               }
-            }
-            mListeners.clear();
-          }
-        });
+            });
+      }
+    });
   }
 
   interface Listener {
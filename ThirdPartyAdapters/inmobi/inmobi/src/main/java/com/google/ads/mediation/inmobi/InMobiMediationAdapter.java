@@ -32,6 +32,35 @@ public class InMobiMediationAdapter extends Adapter {
   // Callback listener
   private InMobiRewardedAd mInMobiRewarded;
 
+  /**
+   * Sets the maximum number of bytes used to cache native ad images in memory. By default, the
+   * cache uses up to one eighth of the maximum heap size.
+   *
+   * @param maxSizeInBytes the image cache budget, in bytes.
+   */
+  public static void setImageCacheSize(long maxSizeInBytes) {
+    InMobiMemoryCache.getInstance().setLimit(maxSizeInBytes);
+  }
+
+  /**
+   * Sets the maximum number of bytes used to cache native ad images on disk, so that they survive
+   * app restarts. The disk cache is disabled by default.
+   *
+   * @param maxSizeInBytes the disk cache budget, in bytes, or 0 to disable the disk cache.
+   */
+  public static void setImageDiskCacheSize(long maxSizeInBytes) {
+    ImageDiskCache.setMaxSize(maxSizeInBytes);
+  }
+
+  /**
+   * Sets whether a native ad image download that is slower than usual for its host is raced
+   * against a second request for the same image, using whichever completes first. Disabled by
+   * default.
+   */
+  public static void setImageRequestHedgingEnabled(boolean enabled) {
+    ImageFetchExecutor.setHedgingEnabled(enabled);
+  }
+
   /**
    * {@link Adapter} implementation
    */
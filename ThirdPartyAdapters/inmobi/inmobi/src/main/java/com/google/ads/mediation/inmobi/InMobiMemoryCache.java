@@ -1,97 +1,194 @@
 package com.google.ads.mediation.inmobi;
 
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.content.res.Resources;
 import android.graphics.Bitmap;
 import android.graphics.drawable.BitmapDrawable;
 import android.graphics.drawable.Drawable;
+import android.os.Build;
 import android.util.Log;
-import java.util.Collections;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
- * This class is used to cache images loaded/shown by InMobi adapter.
+ * A process-wide, byte-budgeted LRU cache of the images loaded by the InMobi adapter, keyed by
+ * image URL. All reads, writes and evictions happen under a single lock.
  */
-class InMobiMemoryCache {
+class InMobiMemoryCache implements MemoryTrimCoordinator.Trimmable {
 
   private static final String TAG = "MemoryCache";
-  // Last argument true for LRU
-  private final Map<String, Drawable> mCache = Collections.synchronizedMap(
-      new LinkedHashMap<String, Drawable>(10, 1.5f, true));
-  // ordering.
+
+  /**
+   * Default fraction of the maximum heap size used by the cache.
+   */
+  private static final int DEFAULT_HEAP_FRACTION = 8;
+
+  private static InMobiMemoryCache instance;
+
+  /**
+   * Cached bitmaps, iterated from least to most recently accessed.
+   */
+  private final LinkedHashMap<String, Bitmap> mCache =
+      new LinkedHashMap<>(16, 0.75f, true);
+
+  /**
+   * Whether this cache has been registered for memory trim callbacks.
+   */
+  private boolean mRegisteredForTrimMemory;
+
+  // All fields below are guarded by mCache.
   private long mSize = 0; // Current allocated size.
-  private long mLimit = 1000000; // Max memory in bytes.
+  private long mLimit; // Max memory in bytes.
+  private long mHitCount;
+  private long mMissCount;
+  private long mEvictionCount;
+
+  private InMobiMemoryCache() {
+    mLimit = Runtime.getRuntime().maxMemory() / DEFAULT_HEAP_FRACTION;
+  }
+
+  /**
+   * Returns the shared cache, registering it for memory trim callbacks on first use.
+   */
+  static synchronized InMobiMemoryCache getInstance(@NonNull Context context) {
+    if (instance == null) {
+      instance = new InMobiMemoryCache();
+    }
+    if (!instance.mRegisteredForTrimMemory) {
+      MemoryTrimCoordinator.getInstance()
+          .register(context, instance, MemoryTrimCoordinator.PRIORITY_CACHE);
+      instance.mRegisteredForTrimMemory = true;
+    }
+    return instance;
+  }
 
-  InMobiMemoryCache() {
-    // Use 25% of available heap size.
-    setLimit(Runtime.getRuntime().maxMemory() / 4);
+  static synchronized InMobiMemoryCache getInstance() {
+    if (instance == null) {
+      instance = new InMobiMemoryCache();
+    }
+    return instance;
   }
 
-  private void setLimit(long new_limit) {
-    mLimit = new_limit;
-    Log.i(TAG, "MemoryCache will use up to " + mLimit / 1024. / 1024. + "MB");
+  /**
+   * Sets the maximum number of bytes the cache may hold, evicting entries if needed.
+   */
+  void setLimit(long limit) {
+    synchronized (mCache) {
+      mLimit = Math.max(0, limit);
+      trimToSize(mLimit);
+    }
+    Log.i(TAG, "MemoryCache will use up to " + limit / 1024. / 1024. + "MB");
   }
 
-  public Drawable get(String id) {
-    try {
-      if (!mCache.containsKey(id)) {
+  @Nullable
+  public Drawable get(@NonNull String id) {
+    Bitmap bitmap;
+    synchronized (mCache) {
+      bitmap = mCache.get(id);
+      if (bitmap == null) {
+        mMissCount++;
         return null;
       }
-      // NullPointerException sometimes happen here
-      // http://code.google.com/p/osmdroid/issues/detail?id=78
-      return mCache.get(id);
-    } catch (NullPointerException ex) {
-      ex.printStackTrace();
-      return null;
+      mHitCount++;
     }
+    return new BitmapDrawable(Resources.getSystem(), bitmap);
   }
 
-  void put(String id, Drawable drawable) {
-    try {
-      if (mCache.containsKey(id)) {
-        mSize -= getSizeInBytes(((BitmapDrawable) mCache.get(id)).getBitmap());
+  void put(@NonNull String id, @Nullable Drawable drawable) {
+    if (!(drawable instanceof BitmapDrawable)) {
+      return;
+    }
+    Bitmap bitmap = ((BitmapDrawable) drawable).getBitmap();
+    long size = getSizeInBytes(bitmap);
+    if (size == 0) {
+      return;
+    }
+
+    synchronized (mCache) {
+      if (size > mLimit) {
+        // Never cache an image that would evict everything else.
+        return;
       }
-      mCache.put(id, drawable);
-      mSize += getSizeInBytes(((BitmapDrawable) drawable).getBitmap());
-      checkSize();
-      Log.d(TAG, "Drawable used from cache");
-    } catch (Throwable th) {
-      th.printStackTrace();
+      Bitmap previous = mCache.put(id, bitmap);
+      if (previous != null) {
+        mSize -= getSizeInBytes(previous);
+      }
+      mSize += size;
+      trimToSize(mLimit);
     }
   }
 
-  private void checkSize() {
-    Log.i(TAG, "cache size=" + mSize + " length=" + mCache.size());
-    if (mSize > mLimit) {
-      Iterator<Map.Entry<String, Drawable>> iter = mCache.entrySet().iterator();//least
-      // recently accessed item will be the first one iterated
-      while (iter.hasNext()) {
-        Map.Entry<String, Drawable> entry = iter.next();
-        mSize -= getSizeInBytes(((BitmapDrawable) entry.getValue()).getBitmap());
-        iter.remove();
-        if (mSize <= mLimit) {
-          break;
-        }
-      }
-      Log.i(TAG, "Clean cache. New size " + mCache.size());
+  /**
+   * Evicts least recently used entries until the cache holds at most {@code maxSize} bytes. Must
+   * be called while holding the lock on {@link #mCache}.
+   */
+  private void trimToSize(long maxSize) {
+    Iterator<Map.Entry<String, Bitmap>> iterator = mCache.entrySet().iterator();
+    while (mSize > maxSize && iterator.hasNext()) {
+      Map.Entry<String, Bitmap> entry = iterator.next();
+      mSize -= getSizeInBytes(entry.getValue());
+      iterator.remove();
+      mEvictionCount++;
     }
   }
 
   public void clear() {
-    try {
-      // NullPointerException sometimes happen here
-      // http://code.google.com/p/osmdroid/issues/detail?id=78
+    synchronized (mCache) {
+      mEvictionCount += mCache.size();
       mCache.clear();
       mSize = 0;
-    } catch (NullPointerException ex) {
-      ex.printStackTrace();
     }
   }
 
-  private long getSizeInBytes(Bitmap bitmap) {
+  long getSize() {
+    synchronized (mCache) {
+      return mSize;
+    }
+  }
+
+  long getHitCount() {
+    synchronized (mCache) {
+      return mHitCount;
+    }
+  }
+
+  long getMissCount() {
+    synchronized (mCache) {
+      return mMissCount;
+    }
+  }
+
+  long getEvictionCount() {
+    synchronized (mCache) {
+      return mEvictionCount;
+    }
+  }
+
+  @Override
+  public long trim(int level) {
+    synchronized (mCache) {
+      long previousSize = mSize;
+      if (level >= ComponentCallbacks2.TRIM_MEMORY_MODERATE) {
+        // The app is likely to be killed soon, release everything.
+        trimToSize(0);
+      } else if (level >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW) {
+        trimToSize(mLimit / 2);
+      }
+      return previousSize - mSize;
+    }
+  }
+
+  private static long getSizeInBytes(@Nullable Bitmap bitmap) {
     if (bitmap == null) {
       return 0;
     }
-    return bitmap.getRowBytes() * bitmap.getHeight();
+    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.KITKAT) {
+      return bitmap.getAllocationByteCount();
+    }
+    return bitmap.getByteCount();
   }
 }
@@ -5,6 +5,7 @@ import android.graphics.Color;
 import android.graphics.drawable.ColorDrawable;
 import android.graphics.drawable.Drawable;
 import android.net.Uri;
+import android.os.AsyncTask;
 import android.os.Bundle;
 import android.view.Gravity;
 import android.view.View;
@@ -42,6 +43,10 @@ class InMobiUnifiedNativeAdMapper extends UnifiedNativeAdMapper {
    * InMobi adapter instance.
    */
   private final InMobiAdapter mInMobiAdapter;
+  /**
+   * Task downloading the native ad's image assets, if any.
+   */
+  private ImageDownloaderAsyncTask mImageDownloaderAsyncTask;
 
   public InMobiUnifiedNativeAdMapper(
       InMobiAdapter inMobiAdapter,
@@ -156,7 +161,7 @@ class InMobiUnifiedNativeAdMapper extends UnifiedNativeAdMapper {
 
     // Download drawables.
     if (!this.mIsOnlyURL) {
-      new ImageDownloaderAsyncTask(
+      mImageDownloaderAsyncTask = new ImageDownloaderAsyncTask(context,
           new ImageDownloaderAsyncTask.DrawableDownloadListener() {
             @Override
             public void onDownloadSuccess(HashMap<String, Drawable> drawableMap) {
@@ -182,13 +187,25 @@ class InMobiUnifiedNativeAdMapper extends UnifiedNativeAdMapper {
               mMediationNativeListener.onAdFailedToLoad(
                   mInMobiAdapter, AdRequest.ERROR_CODE_NO_FILL);
             }
-          })
-          .execute(map);
+          });
+      // Run on the shared pool so that one native ad waiting on its images does not hold up the
+      // image downloads of other native ads.
+      mImageDownloaderAsyncTask.executeOnExecutor(AsyncTask.THREAD_POOL_EXECUTOR, map);
     } else {
       mMediationNativeListener.onAdLoaded(mInMobiAdapter, InMobiUnifiedNativeAdMapper.this);
     }
   }
 
+  /**
+   * Cancels any image download still in progress for this native ad.
+   */
+  void cancelImageDownload() {
+    if (mImageDownloaderAsyncTask != null) {
+      mImageDownloaderAsyncTask.cancel(true);
+      mImageDownloaderAsyncTask = null;
+    }
+  }
+
   @Override
   public void handleClick(View view) {
     // Handle click.
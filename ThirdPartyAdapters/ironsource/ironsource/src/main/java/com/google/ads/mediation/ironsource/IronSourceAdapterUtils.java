@@ -1,7 +1,5 @@
 package com.google.ads.mediation.ironsource;
 
-import android.os.Handler;
-import android.os.Looper;
 import androidx.annotation.NonNull;
 import com.google.ads.mediation.ironsource.IronSourceMediationAdapter.AdapterError;
 import com.ironsource.mediationsdk.logger.IronSourceError;
@@ -30,14 +28,9 @@ public class IronSourceAdapterUtils {
   /** Constant used for IronSource adapter version internal reporting */
   static final String ADAPTER_VERSION_NAME = "310";
 
-  /** UI thread handler used to send callbacks with AdMob interface. */
-  private static Handler uiHandler;
-
-  static synchronized void sendEventOnUIThread(Runnable runnable) {
-    if (uiHandler == null) {
-      uiHandler = new Handler(Looper.getMainLooper());
-    }
-    uiHandler.post(runnable);
+  /** Sends callbacks with AdMob interface on the UI thread. */
+  static void sendEventOnUIThread(Runnable runnable) {
+    MainThreadDispatcher.getInstance().dispatch(runnable);
   }
 
   /**
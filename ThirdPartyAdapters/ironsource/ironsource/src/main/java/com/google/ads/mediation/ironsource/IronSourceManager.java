@@ -19,6 +19,8 @@ import com.ironsource.mediationsdk.IronSource;
 import com.ironsource.mediationsdk.logger.IronSourceError;
 import com.ironsource.mediationsdk.sdk.ISDemandOnlyInterstitialListener;
 import com.ironsource.mediationsdk.sdk.ISDemandOnlyRewardedVideoListener;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -37,6 +39,12 @@ class IronSourceManager
   private ConcurrentHashMap<String, WeakReference<IronSourceAdapter>>
       availableInterstitialInstances;
 
+  /** Queues to which adapters are enqueued once garbage collected, to remove their entries. */
+  private final ReferenceQueue<IronSourceMediationAdapter> collectedRewardedAdapters =
+      new ReferenceQueue<>();
+  private final ReferenceQueue<IronSourceAdapter> collectedInterstitialAdapters =
+      new ReferenceQueue<>();
+
   private WeakReference<IronSourceMediationAdapter> currentlyShowingRewardedAdapter;
 
   static IronSourceManager getInstance() {
@@ -85,6 +93,7 @@ class IronSourceManager
       return;
     }
 
+    removeCollectedAdapters(availableInterstitialInstances, collectedInterstitialAdapters);
     if (!canLoadInterstitialInstance(instanceId)) {
       String errorMessage =
           String.format("An ad is already loading for instance ID: %s", instanceId);
@@ -92,7 +101,8 @@ class IronSourceManager
       return;
     }
 
-    registerISInterstitialAdapter(instanceId, new WeakReference<>(adapter));
+    registerISInterstitialAdapter(
+        instanceId, new InstanceReference<>(instanceId, adapter, collectedInterstitialAdapters));
     IronSource.loadISDemandOnlyInterstitial(instanceId);
   }
 
@@ -103,6 +113,7 @@ class IronSourceManager
       return;
     }
 
+    removeCollectedAdapters(availableInstances, collectedRewardedAdapters);
     if (!canLoadRewardedVideoInstance(instanceId)) {
       String errorMessage =
           String.format("An ad is already loading for instance ID: %s", instanceId);
@@ -110,10 +121,24 @@ class IronSourceManager
       return;
     }
 
-    registerISRewardedVideoAdapter(instanceId, new WeakReference<>(adapter));
+    registerISRewardedVideoAdapter(
+        instanceId, new InstanceReference<>(instanceId, adapter, collectedRewardedAdapters));
     IronSource.loadISDemandOnlyRewardedVideo(instanceId);
   }
 
+  /**
+   * Removes the entries of the adapters garbage collected since the last call, in time
+   * proportional to their number. An entry replaced since by a new adapter is kept.
+   */
+  private static <T> void removeCollectedAdapters(
+      @NonNull ConcurrentHashMap<String, WeakReference<T>> instances,
+      @NonNull ReferenceQueue<T> collectedAdapters) {
+    Reference<? extends T> reference;
+    while ((reference = collectedAdapters.poll()) != null) {
+      instances.remove(((InstanceReference<?>) reference).instanceId, reference);
+    }
+  }
+
   private boolean canLoadInterstitialInstance(@NonNull String instanceId) {
     WeakReference<IronSourceAdapter> weakAdapter = availableInterstitialInstances.get(instanceId);
     if (weakAdapter == null) {
@@ -302,6 +327,18 @@ class IronSourceManager
     }
   }
 
+  /** A weak reference to an adapter, which keeps track of the instance ID it was loaded for. */
+  private static final class InstanceReference<T> extends WeakReference<T> {
+
+    @NonNull private final String instanceId;
+
+    InstanceReference(
+        @NonNull String instanceId, @NonNull T adapter, @NonNull ReferenceQueue<T> queue) {
+      super(adapter, queue);
+      this.instanceId = instanceId;
+    }
+  }
+
   interface InitializationCallback {
 
     void onInitializeSuccess();
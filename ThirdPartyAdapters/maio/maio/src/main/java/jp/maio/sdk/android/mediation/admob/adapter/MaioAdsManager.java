@@ -9,7 +9,6 @@ import android.util.Log;
 import androidx.annotation.NonNull;
 import com.google.ads.mediation.maio.MaioAdsManagerListener;
 import java.lang.ref.WeakReference;
-import java.util.ArrayList;
 import java.util.HashMap;
 import jp.maio.sdk.android.FailNotificationReason;
 import jp.maio.sdk.android.MaioAds;
@@ -23,25 +22,17 @@ import jp.maio.sdk.android.MaioAdsListenerInterface;
 public class MaioAdsManager implements MaioAdsListenerInterface {
 
   private static final HashMap<String, MaioAdsManager> mInstances = new HashMap<>();
-  private ArrayList<InitializationListener> mInitListeners = new ArrayList<>();
+  private final SingleFlightInitializer mInitializer = new SingleFlightInitializer();
 
   private MaioAdsInstance mMaioInstance;
   private String mMediaID;
 
-  private enum InitializationStatus {
-    UNINITIALIZED,
-    INITIALIZING,
-    INITIALIZED
-  }
-
-  private InitializationStatus mInitState;
-
   private HashMap<String, WeakReference<MaioAdsManagerListener>> mListeners;
 
   public static final String KEY_MEDIA_ID = "mediaId";
   public static final String KEY_ZONE_ID = "zoneId";
 
-  public static MaioAdsManager getManager(@NonNull String mediaID) {
+  public static synchronized MaioAdsManager getManager(@NonNull String mediaID) {
     if (!mInstances.containsKey(mediaID)) {
       mInstances.put(mediaID, new MaioAdsManager(mediaID));
     }
@@ -51,22 +42,28 @@ public class MaioAdsManager implements MaioAdsListenerInterface {
   private MaioAdsManager(String mediaID) {
     this.mMediaID = mediaID;
     this.mListeners = new HashMap<>();
-    this.mInitState = InitializationStatus.UNINITIALIZED;
   }
 
-  public void initialize(Activity activity, InitializationListener listener) {
-    if (mInitState == InitializationStatus.INITIALIZED) {
-      listener.onMaioInitialized();
-      return;
-    }
-
-    mInitListeners.add(listener);
-    if (mInitState != InitializationStatus.INITIALIZING) {
-      mInitState = InitializationStatus.INITIALIZING;
-
-      this.mMaioInstance =
-          MaioAds.initWithNonDefaultMediaId(activity, this.mMediaID, MaioAdsManager.this);
-    }
+  public void initialize(final Activity activity, final InitializationListener listener) {
+    mInitializer.initialize(
+        new SingleFlightInitializer.Listener() {
+          @Override
+          public void onInitializeSuccess() {
+            listener.onMaioInitialized();
+          }
+
+          @Override
+          public void onInitializeError(@NonNull String errorMessage) {
+            // maio does not report initialization failures.
+          }
+        },
+        new Runnable() {
+          @Override
+          public void run() {
+            mMaioInstance =
+                MaioAds.initWithNonDefaultMediaId(activity, mMediaID, MaioAdsManager.this);
+          }
+        });
   }
 
   private boolean hasListener(String zoneID) {
@@ -113,12 +110,7 @@ public class MaioAdsManager implements MaioAdsListenerInterface {
   // region MaioAdsListenerInterface implementation
   @Override
   public void onInitialized() {
-    mInitState = InitializationStatus.INITIALIZED;
-
-    for (InitializationListener listener : mInitListeners) {
-      listener.onMaioInitialized();
-    }
-    mInitListeners.clear();
+    mInitializer.onSuccess();
   }
 
   @Override
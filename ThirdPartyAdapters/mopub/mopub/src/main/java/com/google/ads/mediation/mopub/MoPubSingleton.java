@@ -20,7 +20,6 @@ import com.mopub.mobileads.MoPubRewardedVideos;
 import com.mopub.mobileads.dfp.adapters.MoPubAdapter;
 import com.mopub.mobileads.dfp.adapters.MoPubAdapterRewardedListener;
 import java.lang.ref.WeakReference;
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Set;
@@ -28,13 +27,12 @@ import java.util.Set;
 public class MoPubSingleton implements MoPubRewardedVideoListener {
 
   private static MoPubSingleton instance;
-  private static boolean isInitializing;
 
-  private ArrayList<SdkInitializationListener> mInitListeners = new ArrayList<>();
+  private final SingleFlightInitializer mInitializer = new SingleFlightInitializer();
   private static HashMap<String, WeakReference<MoPubAdapterRewardedListener>> mListeners =
       new HashMap<>();
 
-  public static MoPubSingleton getInstance() {
+  public static synchronized MoPubSingleton getInstance() {
     if (instance == null) {
       instance = new MoPubSingleton();
     }
@@ -69,34 +67,43 @@ public class MoPubSingleton implements MoPubRewardedVideoListener {
   }
 
   public void initializeMoPubSDK(
-      Context context, SdkConfiguration configuration, SdkInitializationListener listener) {
+      final Context context,
+      final SdkConfiguration configuration,
+      final SdkInitializationListener listener) {
     if (MoPub.isSdkInitialized()) {
       MoPubRewardedVideos.setRewardedVideoListener(MoPubSingleton.this);
       listener.onInitializationFinished();
       return;
     }
 
-    mInitListeners.add(listener);
-    if (!isInitializing) {
-      isInitializing = true;
-
-      MoPub.initializeSdk(
-          context,
-          configuration,
-          new SdkInitializationListener() {
-            @Override
-            public void onInitializationFinished() {
-              MoPubLog.d("MoPub SDK initialized.");
-              isInitializing = false;
-
-              MoPubRewardedVideos.setRewardedVideoListener(MoPubSingleton.this);
-              for (SdkInitializationListener initListener : mInitListeners) {
-                initListener.onInitializationFinished();
-              }
-              mInitListeners.clear();
-            }
-          });
-    }
+    mInitializer.initialize(
+        new SingleFlightInitializer.Listener() {
+          @Override
+          public void onInitializeSuccess() {
+            listener.onInitializationFinished();
+          }
+
+          @Override
+          public void onInitializeError(@NonNull String errorMessage) {
+            // MoPub does not report initialization failures.
+          }
+        },
+        new Runnable() {
+          @Override
+          public void run() {
+            MoPub.initializeSdk(
+                context,
+                configuration,
+                new SdkInitializationListener() {
+                  @Override
+                  public void onInitializationFinished() {
+                    MoPubLog.d("MoPub SDK initialized.");
+                    MoPubRewardedVideos.setRewardedVideoListener(MoPubSingleton.this);
+                    mInitializer.onSuccess();
+                  }
+                });
+          }
+        });
   }
 
   public void loadRewardedAd(
@@ -0,0 +1,133 @@
+package com.mopub.mobileads.dfp.adapters;
+
+import android.graphics.Rect;
+import android.view.View;
+import android.view.ViewTreeObserver;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * Tracks whether a banner ad view is on screen, and notifies a listener when it leaves or comes
+ * back on screen. A banner is off screen while its ad is paused, or while its view is detached,
+ * hidden, in an invisible window or scrolled out of its window. Scrolls and layouts are checked at
+ * most once per frame. All methods must be called on the main thread.
+ */
+final class BannerVisibilityTracker
+    implements View.OnAttachStateChangeListener,
+        ViewTreeObserver.OnScrollChangedListener,
+        ViewTreeObserver.OnGlobalLayoutListener {
+
+  interface Listener {
+
+    void onBannerVisibilityChanged(boolean visible);
+  }
+
+  private final View mView;
+
+  private final Listener mListener;
+
+  private final Rect mVisibleRect = new Rect();
+
+  /** View tree observer the listeners were added to, or {@code null} while detached. */
+  @Nullable private ViewTreeObserver mViewTreeObserver;
+
+  /** Whether the ad has been paused through its mediation adapter. */
+  private boolean mPaused;
+
+  /** Whether the banner was on screen when last checked. Banners start on screen. */
+  private boolean mVisible = true;
+
+  private boolean mCheckScheduled;
+
+  private final Runnable mCheckRunnable =
+      new Runnable() {
+        @Override
+        public void run() {
+          mCheckScheduled = false;
+          checkVisibility();
+        }
+      };
+
+  BannerVisibilityTracker(@NonNull View view, @NonNull Listener listener) {
+    mView = view;
+    mListener = listener;
+    view.addOnAttachStateChangeListener(this);
+    if (view.getWindowToken() != null) {
+      onViewAttachedToWindow(view);
+    }
+  }
+
+  /**
+   * Sets whether the ad has been paused, typically because its activity has been paused. A paused
+   * banner is off screen.
+   */
+  void setPaused(boolean paused) {
+    mPaused = paused;
+    checkVisibility();
+  }
+
+  /** Stops tracking the banner. */
+  void destroy() {
+    mView.removeOnAttachStateChangeListener(this);
+    removeViewTreeObserverListeners();
+    mView.removeCallbacks(mCheckRunnable);
+    mCheckScheduled = false;
+  }
+
+  @Override
+  public void onViewAttachedToWindow(@NonNull View view) {
+    removeViewTreeObserverListeners();
+    mViewTreeObserver = view.getViewTreeObserver();
+    mViewTreeObserver.addOnScrollChangedListener(this);
+    mViewTreeObserver.addOnGlobalLayoutListener(this);
+    scheduleCheck();
+  }
+
+  @Override
+  public void onViewDetachedFromWindow(@NonNull View view) {
+    removeViewTreeObserverListeners();
+    checkVisibility();
+  }
+
+  @Override
+  public void onScrollChanged() {
+    scheduleCheck();
+  }
+
+  @Override
+  public void onGlobalLayout() {
+    scheduleCheck();
+  }
+
+  private void scheduleCheck() {
+    if (!mCheckScheduled) {
+      mCheckScheduled = true;
+      mView.postOnAnimation(mCheckRunnable);
+    }
+  }
+
+  private void checkVisibility() {
+    boolean visible =
+        !mPaused
+            && mViewTreeObserver != null
+            && mView.getWindowVisibility() == View.VISIBLE
+            && mView.isShown()
+            && mView.getGlobalVisibleRect(mVisibleRect);
+    if (visible != mVisible) {
+      mVisible = visible;
+      mListener.onBannerVisibilityChanged(visible);
+    }
+  }
+
+  private void removeViewTreeObserverListeners() {
+    if (mViewTreeObserver == null) {
+      return;
+    }
+    // A dead observer has handed its listeners over to the view's current one.
+    ViewTreeObserver observer =
+        mViewTreeObserver.isAlive() ? mViewTreeObserver : mView.getViewTreeObserver();
+    observer.removeOnScrollChangedListener(this);
+    observer.removeOnGlobalLayoutListener(this);
+    mViewTreeObserver = null;
+  }
+}
@@ -1,20 +1,16 @@
 package com.mopub.mobileads.dfp.adapters;
 
-import android.content.res.Resources;
-import android.graphics.Bitmap;
-import android.graphics.BitmapFactory;
-import android.graphics.drawable.BitmapDrawable;
+import android.content.Context;
 import android.graphics.drawable.Drawable;
 import android.os.AsyncTask;
+import android.os.SystemClock;
 import android.util.DisplayMetrics;
 import android.util.Log;
-import java.io.InputStream;
+import androidx.annotation.Nullable;
 import java.net.URL;
 import java.util.HashMap;
-import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -24,54 +20,71 @@ public class DownloadDrawablesAsync extends AsyncTask<Object, Void, HashMap<Stri
 
   public static final String KEY_IMAGE = "image_key";
   public static final String KEY_ICON = "icon_key";
-  private static final long DRAWABLE_FUTURE_TIMEOUT_SECONDS = 10;
+  /** Time allowed to download every image of a native ad. */
+  private static final long DRAWABLES_TIMEOUT_MILLIS = 10000;
+  /** Maximum size of the icon image in dp. Icons are downsampled to this size when decoded. */
+  private static final int MAX_ICON_SIZE_DP = 128;
 
   private DrawableDownloadListener mListener;
+  @Nullable private ImageDiskCache mDiskCache;
+
+  /**
+   * Maximum size of the decoded images in pixels, or 0 to decode images at full resolution. The
+   * main image is bounded by the screen size since the view it will be rendered in is not known yet.
+   */
+  private int mMaxImageWidth;
+  private int mMaxImageHeight;
+  private int mMaxIconSize;
 
   public DownloadDrawablesAsync(DrawableDownloadListener listener) {
     mListener = listener;
   }
 
+  public DownloadDrawablesAsync(Context context, DrawableDownloadListener listener) {
+    mListener = listener;
+    mDiskCache = ImageDiskCache.getInstance(context);
+    DisplayMetrics displayMetrics = context.getResources().getDisplayMetrics();
+    mMaxImageWidth = displayMetrics.widthPixels;
+    mMaxImageHeight = displayMetrics.heightPixels;
+    mMaxIconSize = Math.round(MAX_ICON_SIZE_DP * displayMetrics.density);
+  }
+
   @Override
   protected HashMap<String, Drawable> doInBackground(Object... params) {
 
     HashMap<String, URL> urlsMap = (HashMap<String, URL>) params[0];
-    ExecutorService executorService = Executors.newCachedThreadPool();
+    ImageFetchExecutor imageFetchExecutor = ImageFetchExecutor.getInstance();
 
     Future<Drawable> imageDrawableFuture =
-        getDrawableFuture(urlsMap.get(KEY_IMAGE), executorService);
-    Future<Drawable> iconDrawableFuture = getDrawableFuture(urlsMap.get(KEY_ICON), executorService);
+        imageFetchExecutor.submit(
+            urlsMap.get(KEY_IMAGE), mMaxImageWidth, mMaxImageHeight, mDiskCache);
+    Future<Drawable> iconDrawableFuture =
+        imageFetchExecutor.submit(urlsMap.get(KEY_ICON), mMaxIconSize, mMaxIconSize, mDiskCache);
 
+    // Both images are downloaded concurrently, within a single deadline.
+    long deadline = SystemClock.elapsedRealtime() + DRAWABLES_TIMEOUT_MILLIS;
     try {
       Drawable imageDrawable =
-          imageDrawableFuture.get(DRAWABLE_FUTURE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+          imageDrawableFuture.get(getRemainingMillis(deadline), TimeUnit.MILLISECONDS);
       Drawable iconDrawable =
-          iconDrawableFuture.get(DRAWABLE_FUTURE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+          iconDrawableFuture.get(getRemainingMillis(deadline), TimeUnit.MILLISECONDS);
       HashMap<String, Drawable> drawablesMap = new HashMap<>();
       drawablesMap.put(KEY_IMAGE, imageDrawable);
       drawablesMap.put(KEY_ICON, iconDrawable);
       return drawablesMap;
-    } catch (InterruptedException | ExecutionException | TimeoutException e) {
+    } catch (InterruptedException | ExecutionException | TimeoutException
+        | CancellationException e) {
       Log.d(MoPubAdapter.TAG, "Native ad images failed to download.");
+      // Release this task's interest in the downloads so that they can be aborted if no other
+      // native ad is waiting on them.
+      imageDrawableFuture.cancel(true);
+      iconDrawableFuture.cancel(true);
       return null;
     }
   }
 
-  private Future<Drawable> getDrawableFuture(final URL url, ExecutorService executorService) {
-    // The call() will be executed as the threads in executorService's thread pool become
-    // available.
-    return executorService.submit(
-        new Callable<Drawable>() {
-          @Override
-          public Drawable call() throws Exception {
-            InputStream in = url.openStream();
-            Bitmap bitmap = BitmapFactory.decodeStream(in);
-
-            // Defaulting to a scale of 1.
-            bitmap.setDensity(DisplayMetrics.DENSITY_DEFAULT);
-            return new BitmapDrawable(Resources.getSystem(), bitmap);
-          }
-        });
+  private static long getRemainingMillis(long deadline) {
+    return Math.max(0, deadline - SystemClock.elapsedRealtime());
   }
 
   @Override
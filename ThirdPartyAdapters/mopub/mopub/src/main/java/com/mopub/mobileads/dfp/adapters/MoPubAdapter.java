@@ -17,7 +17,9 @@ import static com.mopub.mobileads.dfp.adapters.DownloadDrawablesAsync.KEY_IMAGE;
 import android.app.Activity;
 import android.content.Context;
 import android.graphics.drawable.Drawable;
+import android.os.AsyncTask;
 import android.os.Bundle;
+import android.os.SystemClock;
 import android.text.TextUtils;
 import android.text.format.DateFormat;
 import android.util.Log;
@@ -69,11 +71,20 @@ public class MoPubAdapter
 
   private Bundle mExtras;
   private MoPubView mMoPubView;
+  private BannerVisibilityTracker mBannerVisibilityTracker;
+  /** Whether a banner has loaded since the banner view was created. */
+  private boolean mBannerLoaded;
+  /** Time at which the banner last went off screen, in {@link SystemClock#elapsedRealtime()}. */
+  private long mBannerHiddenTime;
+  /** Whether MoPub's automatic refresh was enabled when the banner last went off screen. */
+  private boolean mBannerAutorefreshEnabled;
+  private AdLoadTracer.Trace mBannerTrace;
   private Context mContext;
   private AdSize mAdSize;
 
   private MoPubInterstitial mMoPubInterstitial;
   private MediationInterstitialListener mMediationInterstitialListener;
+  private AdLoadTracer.Trace mInterstitialTrace;
   public static final String MOPUB_NATIVE_CEVENT_VERSION = "gmext";
   public static final double DEFAULT_MOPUB_IMAGE_SCALE = 1;
   private static final String MOPUB_AD_UNIT_KEY = "adUnitId";
@@ -84,11 +95,61 @@ public class MoPubAdapter
   private static final int DEFAULT_MOPUB_PRIVACY_ICON_SIZE_DP = 20;
   private static final int MAXIMUM_MOPUB_PRIVACY_ICON_SIZE_DP = 30;
 
+  /**
+   * Time off screen after which a banner is refreshed once when it comes back on screen. This is
+   * MoPub's default refresh interval.
+   */
+  private static final long BANNER_CATCH_UP_REFRESH_MILLIS = 60 * 1000;
+
   private NativeAd.MoPubNativeEventListener mMoPubNativeEventListener;
   private RequestParameters requestParameters;
+  private DownloadDrawablesAsync mDownloadDrawablesAsync;
+
+  /**
+   * Sets the maximum number of bytes used to cache native ad images on disk, so that they survive
+   * app restarts. The disk cache is disabled by default.
+   *
+   * @param maxSizeInBytes the disk cache budget, in bytes, or 0 to disable the disk cache.
+   */
+  public static void setImageDiskCacheSize(long maxSizeInBytes) {
+    ImageDiskCache.setMaxSize(maxSizeInBytes);
+  }
+
+  /**
+   * Sets whether a native ad image download that is slower than usual for its host is raced
+   * against a second request for the same image, using whichever completes first. Disabled by
+   * default.
+   */
+  public static void setImageRequestHedgingEnabled(boolean enabled) {
+    ImageFetchExecutor.setHedgingEnabled(enabled);
+  }
+
+  /**
+   * Sets whether the phases of MoPub banner, interstitial and native ad loads are timed, from the
+   * ad request through SDK initialization, ad loading, image downloads and native ad mapping to
+   * the delivery of the load callback. Disabled by default.
+   */
+  public static void setAdLoadTracingEnabled(boolean enabled) {
+    AdLoadTracer.setEnabled(enabled);
+  }
+
+  /**
+   * Returns the latency percentiles of each phase of the ad loads timed so far, as a JSON object
+   * keyed by ad format and phase, such as {@code native/assets_ready} or {@code banner/total}.
+   * Failed ad loads are recorded under {@code failed} and {@code total_failed}, such as
+   * {@code banner/total_failed}.
+   */
+  @NonNull
+  public static String getAdLoadTraceSnapshot() {
+    return AdLoadTracer.getSnapshot();
+  }
 
   @Override
   public void onDestroy() {
+    if (mBannerVisibilityTracker != null) {
+      mBannerVisibilityTracker.destroy();
+      mBannerVisibilityTracker = null;
+    }
     if (mMoPubInterstitial != null) {
       mMoPubInterstitial.destroy();
       mMoPubInterstitial = null;
@@ -97,13 +158,25 @@ public class MoPubAdapter
       mMoPubView.destroy();
       mMoPubView = null;
     }
+    if (mDownloadDrawablesAsync != null) {
+      mDownloadDrawablesAsync.cancel(true);
+      mDownloadDrawablesAsync = null;
+    }
   }
 
   @Override
-  public void onPause() {}
+  public void onPause() {
+    if (mBannerVisibilityTracker != null) {
+      mBannerVisibilityTracker.setPaused(true);
+    }
+  }
 
   @Override
-  public void onResume() {}
+  public void onResume() {
+    if (mBannerVisibilityTracker != null) {
+      mBannerVisibilityTracker.setPaused(false);
+    }
+  }
 
   @Override
   public void requestNativeAd(
@@ -153,11 +226,13 @@ public class MoPubAdapter
       mPrivacyIconSize = DEFAULT_MOPUB_PRIVACY_ICON_SIZE_DP;
     }
 
+    final AdLoadTracer.Trace nativeTrace = AdLoadTracer.start(AdLoadTracer.FORMAT_NATIVE);
     MoPubNative.MoPubNativeNetworkListener moPubNativeNetworkListener =
         new MoPubNative.MoPubNativeNetworkListener() {
 
           @Override
           public void onNativeLoad(NativeAd nativeAd) {
+            nativeTrace.mark(AdLoadTracer.Phase.NETWORK_LOADED);
             // Setting a native event listener for MoPub's impression & click events.
             nativeAd.setMoPubNativeEventListener(mMoPubNativeEventListener);
             BaseNativeAd adData = nativeAd.getBaseNativeAd();
@@ -167,6 +242,7 @@ public class MoPubAdapter
                       ERROR_WRONG_NATIVE_TYPE,
                       "Loaded native ad is not an instance of StaticNativeAd.");
               Log.w(TAG, errorMessage);
+              nativeTrace.mark(AdLoadTracer.Phase.FAILED);
               listener.onAdFailedToLoad(MoPubAdapter.this, ERROR_WRONG_NATIVE_TYPE);
               return;
             }
@@ -183,13 +259,18 @@ public class MoPubAdapter
                       ERROR_DOWNLOADING_NATIVE_ASSETS,
                       "Invalid ad response received from MoPub. Image URLs are malformed.");
               Log.i(TAG, errorMessage);
+              nativeTrace.mark(AdLoadTracer.Phase.FAILED);
               listener.onAdFailedToLoad(MoPubAdapter.this, ERROR_DOWNLOADING_NATIVE_ASSETS);
+              return;
             }
 
-            new DownloadDrawablesAsync(
+            mDownloadDrawablesAsync =
+                new DownloadDrawablesAsync(
+                    context,
                     new DrawableDownloadListener() {
                       @Override
                       public void onDownloadSuccess(HashMap<String, Drawable> drawableMap) {
+                        nativeTrace.mark(AdLoadTracer.Phase.ASSETS_READY);
                         Drawable icon = drawableMap.get(DownloadDrawablesAsync.KEY_ICON);
                         Drawable image = drawableMap.get(DownloadDrawablesAsync.KEY_IMAGE);
                         if (mediationAdRequest.isUnifiedNativeAdRequested()) {
@@ -202,7 +283,9 @@ public class MoPubAdapter
                                   privacyIconPlacement,
                                   mPrivacyIconSize);
 
+                          nativeTrace.mark(AdLoadTracer.Phase.MAPPED);
                           listener.onAdLoaded(MoPubAdapter.this, moPubUnifiedNativeAdMapper);
+                          nativeTrace.mark(AdLoadTracer.Phase.CALLBACK_DELIVERED);
                         } else if (mediationAdRequest.isAppInstallAdRequested()) {
                           final MoPubNativeAppInstallAdMapper moPubNativeAppInstallAdMapper =
                               new MoPubNativeAppInstallAdMapper(
@@ -213,7 +296,9 @@ public class MoPubAdapter
                                   privacyIconPlacement,
                                   mPrivacyIconSize);
 
+                          nativeTrace.mark(AdLoadTracer.Phase.MAPPED);
                           listener.onAdLoaded(MoPubAdapter.this, moPubNativeAppInstallAdMapper);
+                          nativeTrace.mark(AdLoadTracer.Phase.CALLBACK_DELIVERED);
                         }
                       }
 
@@ -224,17 +309,21 @@ public class MoPubAdapter
                             createAdapterError(
                                 ERROR_DOWNLOADING_NATIVE_ASSETS, "Failed to download images.");
                         Log.w(TAG, errorMessage);
+                        nativeTrace.mark(AdLoadTracer.Phase.FAILED);
                         listener.onAdFailedToLoad(
                             MoPubAdapter.this, ERROR_DOWNLOADING_NATIVE_ASSETS);
                       }
-                    })
-                .execute(map);
+                    });
+            // Run on the shared pool so that one native ad waiting on its images does not hold
+            // up the image downloads of other native ads.
+            mDownloadDrawablesAsync.executeOnExecutor(AsyncTask.THREAD_POOL_EXECUTOR, map);
           }
 
           @Override
           public void onNativeFail(NativeErrorCode errorCode) {
             String errorSDKMessage = createSDKError(errorCode);
             Log.w(TAG, errorSDKMessage);
+            nativeTrace.mark(AdLoadTracer.Phase.FAILED);
             listener.onAdFailedToLoad(MoPubAdapter.this, getMediationErrorCode(errorCode));
           }
         };
@@ -269,6 +358,7 @@ public class MoPubAdapter
             new SdkInitializationListener() {
               @Override
               public void onInitializationFinished() {
+                nativeTrace.mark(AdLoadTracer.Phase.INITIALIZED);
                 moPubNative.makeRequest(requestParameters);
               }
             });
@@ -315,9 +405,23 @@ public class MoPubAdapter
       return;
     }
 
+    mBannerTrace = AdLoadTracer.start(AdLoadTracer.FORMAT_BANNER);
     mMoPubView = new MoPubView(context);
     mMoPubView.setBannerAdListener(new MBannerListener(mediationBannerListener));
     mMoPubView.setAdUnitId(adUnit);
+    mBannerLoaded = false;
+    if (mBannerVisibilityTracker != null) {
+      mBannerVisibilityTracker.destroy();
+    }
+    mBannerVisibilityTracker =
+        new BannerVisibilityTracker(
+            mMoPubView,
+            new BannerVisibilityTracker.Listener() {
+              @Override
+              public void onBannerVisibilityChanged(boolean visible) {
+                onMoPubViewVisibilityChanged(visible);
+              }
+            });
 
     // If test mode is enabled
     if (mediationAdRequest.isTesting()) {
@@ -340,6 +444,7 @@ public class MoPubAdapter
             new SdkInitializationListener() {
               @Override
               public void onInitializationFinished() {
+                mBannerTrace.mark(AdLoadTracer.Phase.INITIALIZED);
                 mMoPubView.loadAd();
               }
             });
@@ -350,6 +455,30 @@ public class MoPubAdapter
     return mMoPubView;
   }
 
+  /**
+   * Stops MoPub's automatic refresh while the banner is off screen, and restores it when the banner
+   * comes back on screen. If the banner was auto-refreshing, and has been off screen for longer
+   * than a refresh interval, it is refreshed once when it comes back on screen. Banners whose
+   * refresh is driven by the Google Mobile Ads SDK are never refreshed here.
+   */
+  private void onMoPubViewVisibilityChanged(boolean visible) {
+    if (mMoPubView == null) {
+      return;
+    }
+    if (!visible) {
+      mBannerHiddenTime = SystemClock.elapsedRealtime();
+      mBannerAutorefreshEnabled = mMoPubView.getAutorefreshEnabled();
+      mMoPubView.setAutorefreshEnabled(false);
+      return;
+    }
+    mMoPubView.setAutorefreshEnabled(mBannerAutorefreshEnabled);
+    if (mBannerAutorefreshEnabled
+        && mBannerLoaded
+        && SystemClock.elapsedRealtime() - mBannerHiddenTime >= BANNER_CATCH_UP_REFRESH_MILLIS) {
+      mMoPubView.forceRefresh();
+    }
+  }
+
   // Keywords passed from AdMob are separated into 1) personally identifiable, and 2) non-personally
   // identifiable categories before they are forwarded to MoPub due to GDPR.
   public static String getKeywords(MediationAdRequest mediationAdRequest, boolean intendedForPII) {
@@ -436,12 +565,15 @@ public class MoPubAdapter
     public void onBannerFailed(MoPubView moPubView, MoPubErrorCode moPubErrorCode) {
       String errorSDKMessage = createSDKError(moPubErrorCode);
       Log.w(TAG, errorSDKMessage);
+      mBannerTrace.mark(AdLoadTracer.Phase.FAILED);
       mMediationBannerListener.onAdFailedToLoad(
           MoPubAdapter.this, getMediationErrorCode(moPubErrorCode));
     }
 
     @Override
     public void onBannerLoaded(MoPubView moPubView) {
+      mBannerLoaded = true;
+      mBannerTrace.mark(AdLoadTracer.Phase.NETWORK_LOADED);
       // If the publisher provides a minimum ad size to be loaded, then that size will be verified
       // against the ad size returned by MoPub.
       if (mExtras != null) {
@@ -458,6 +590,7 @@ public class MoPubAdapter
                   moPubView.getAdWidth(), moPubView.getAdHeight(), minimumWidth, minimumHeight);
           String logMessage = createAdapterError(ERROR_MINIMUM_BANNER_SIZE, errorMessage);
           Log.e(TAG, logMessage);
+          mBannerTrace.mark(AdLoadTracer.Phase.FAILED);
           mMediationBannerListener.onAdFailedToLoad(MoPubAdapter.this, ERROR_MINIMUM_BANNER_SIZE);
           return;
         }
@@ -488,11 +621,13 @@ public class MoPubAdapter
                 requestedAdHeight);
         String logMessage = createAdapterError(ERROR_BANNER_SIZE_MISMATCH, errorMessage);
         Log.w(TAG, logMessage);
+        mBannerTrace.mark(AdLoadTracer.Phase.FAILED);
         mMediationBannerListener.onAdFailedToLoad(MoPubAdapter.this, ERROR_BANNER_SIZE_MISMATCH);
         return;
       }
 
       mMediationBannerListener.onAdLoaded(MoPubAdapter.this);
+      mBannerTrace.mark(AdLoadTracer.Phase.CALLBACK_DELIVERED);
     }
   }
 
@@ -527,6 +662,7 @@ public class MoPubAdapter
     }
 
     mMediationInterstitialListener = mediationInterstitialListener;
+    mInterstitialTrace = AdLoadTracer.start(AdLoadTracer.FORMAT_INTERSTITIAL);
 
     mMoPubInterstitial = new MoPubInterstitial((Activity) context, adUnit);
     mMoPubInterstitial.setInterstitialAdListener(
@@ -548,6 +684,7 @@ public class MoPubAdapter
             new SdkInitializationListener() {
               @Override
               public void onInitializationFinished() {
+                mInterstitialTrace.mark(AdLoadTracer.Phase.INITIALIZED);
                 mMoPubInterstitial.load();
               }
             });
@@ -590,13 +727,16 @@ public class MoPubAdapter
         MoPubInterstitial moPubInterstitial, MoPubErrorCode moPubErrorCode) {
       String errorSDKMessage = createSDKError(moPubErrorCode);
       Log.w(TAG, errorSDKMessage);
+      mInterstitialTrace.mark(AdLoadTracer.Phase.FAILED);
       mMediationInterstitialListener.onAdFailedToLoad(
           MoPubAdapter.this, getMediationErrorCode(moPubErrorCode));
     }
 
     @Override
     public void onInterstitialLoaded(MoPubInterstitial moPubInterstitial) {
+      mInterstitialTrace.mark(AdLoadTracer.Phase.NETWORK_LOADED);
       mMediationInterstitialListener.onAdLoaded(MoPubAdapter.this);
+      mInterstitialTrace.mark(AdLoadTracer.Phase.CALLBACK_DELIVERED);
     }
 
     @Override
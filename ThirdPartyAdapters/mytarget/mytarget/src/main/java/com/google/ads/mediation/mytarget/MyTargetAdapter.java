@@ -20,7 +20,6 @@ import com.my.target.ads.MyTargetView.MyTargetViewListener;
 import com.my.target.common.CustomParams;
 import java.util.ArrayList;
 import java.util.Date;
-import java.util.GregorianCalendar;
 
 /**
  * Mediation adapter for myTarget.
@@ -157,12 +156,7 @@ public class MyTargetAdapter extends MyTargetMediationAdapter
       params.setGender(gender);
       Date date = mediationAdRequest.getBirthday();
       if (date != null && date.getTime() != -1) {
-        GregorianCalendar calendar = new GregorianCalendar();
-        GregorianCalendar calendarNow = new GregorianCalendar();
-
-        calendar.setTimeInMillis(date.getTime());
-        int age = calendarNow.get(GregorianCalendar.YEAR)
-            - calendar.get(GregorianCalendar.YEAR);
+        int age = MyTargetTools.getAge(date);
         if (age >= 0) {
           Log.d(TAG, "Set age to " + age);
           params.setAge(age);
@@ -229,12 +223,7 @@ public class MyTargetAdapter extends MyTargetMediationAdapter
 
         Date date = mediationAdRequest.getBirthday();
         if (date != null && date.getTime() != -1) {
-          GregorianCalendar calendar = new GregorianCalendar();
-          GregorianCalendar calendarNow = new GregorianCalendar();
-
-          calendar.setTimeInMillis(date.getTime());
-          int age = calendarNow.get(GregorianCalendar.YEAR) -
-              calendar.get(GregorianCalendar.YEAR);
+          int age = MyTargetTools.getAge(date);
           if (age >= 0) {
             Log.d(TAG, "Set age to " + age);
             params.setAge(age);
@@ -34,7 +34,6 @@ import com.my.target.nativeads.banners.NativePromoBanner;
 import com.my.target.nativeads.views.MediaAdView;
 import java.util.ArrayList;
 import java.util.Date;
-import java.util.GregorianCalendar;
 import java.util.List;
 import java.util.Map;
 
@@ -124,12 +123,7 @@ public class MyTargetNativeAdapter implements MediationNativeAdapter {
     params.setGender(gender);
 
     if (birthday != null && birthday.getTime() != -1) {
-      GregorianCalendar calendar = new GregorianCalendar();
-      GregorianCalendar calendarNow = new GregorianCalendar();
-
-      calendar.setTimeInMillis(birthday.getTime());
-      int age = calendarNow.get(GregorianCalendar.YEAR)
-          - calendar.get(GregorianCalendar.YEAR);
+      int age = MyTargetTools.getAge(birthday);
       if (age >= 0) {
         params.setAge(age);
       }
@@ -6,6 +6,9 @@ import android.text.TextUtils;
 import android.util.Log;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
 
 /**
  * A helper class for the myTarget adapter.
@@ -18,6 +21,22 @@ class MyTargetTools {
   @NonNull
   static final String PARAM_MEDIATION_VALUE = "1";
 
+  /**
+   * Birthday of the last age computed, in milliseconds. Guarded by the class.
+   */
+  private static long lastBirthdayMillis;
+
+  /**
+   * Last age computed. Guarded by the class.
+   */
+  private static int lastAge;
+
+  /**
+   * Time at which the last age computed becomes stale, at the start of the next year. Guarded by
+   * the class.
+   */
+  private static long lastAgeExpiryMillis;
+
   /**
    * Checks params taken from Google. MyTarget slotId must be only positive, so if we return
    * negative number, it was invalid request.
@@ -56,4 +75,30 @@ class MyTargetTools {
     return slotId;
   }
 
+  /**
+   * Returns the age myTarget expects for the given birthday, which is the difference between the
+   * current year and the birth year. The age is computed again only when the birthday or the
+   * current year changes, as ad requests usually carry the same birthday.
+   *
+   * @return the age, or a negative number if the birthday is in a later year.
+   */
+  static synchronized int getAge(@NonNull Date birthday) {
+    long now = System.currentTimeMillis();
+    if (birthday.getTime() == lastBirthdayMillis && now < lastAgeExpiryMillis) {
+      return lastAge;
+    }
+
+    GregorianCalendar calendar = new GregorianCalendar();
+    calendar.setTimeInMillis(now);
+    int currentYear = calendar.get(Calendar.YEAR);
+    calendar.setTimeInMillis(birthday.getTime());
+    lastAge = currentYear - calendar.get(Calendar.YEAR);
+    lastBirthdayMillis = birthday.getTime();
+
+    calendar.clear();
+    calendar.set(currentYear + 1, Calendar.JANUARY, 1);
+    lastAgeExpiryMillis = calendar.getTimeInMillis();
+    return lastAge;
+  }
+
 }
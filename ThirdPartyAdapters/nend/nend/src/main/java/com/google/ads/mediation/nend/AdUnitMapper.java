@@ -13,14 +13,16 @@ class AdUnitMapper {
   final int spotId;
   final String apiKey;
 
-  private AdUnitMapper(Bundle serverParameters) {
-    this.apiKey = serverParameters.getString(KEY_API_KEY);
-    this.spotId = Integer.parseInt(serverParameters.getString(KEY_SPOT_ID, "0"));
+  private AdUnitMapper(@Nullable String apiKey, int spotId) {
+    this.apiKey = apiKey;
+    this.spotId = spotId;
   }
 
   @Nullable
   static AdUnitMapper createAdUnitMapper(Bundle serverParameters) {
-    AdUnitMapper mapper = new AdUnitMapper(serverParameters);
+    String apiKey = serverParameters.getString(KEY_API_KEY);
+    String spotId = serverParameters.getString(KEY_SPOT_ID, "0");
+    AdUnitMapper mapper = new AdUnitMapper(apiKey, parseSpotId(spotId));
 
     if (TextUtils.isEmpty(mapper.apiKey)) {
       Log.w(
@@ -36,4 +38,15 @@ class AdUnitMapper {
 
     return mapper;
   }
+
+  private static int parseSpotId(@Nullable String spotId) {
+    if (spotId == null) {
+      return 0;
+    }
+    try {
+      return Integer.parseInt(spotId);
+    } catch (NumberFormatException exception) {
+      return 0;
+    }
+  }
 }
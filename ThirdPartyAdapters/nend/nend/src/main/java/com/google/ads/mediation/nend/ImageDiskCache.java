@@ -0,0 +1,265 @@
+package com.google.ads.mediation.nend;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Bitmap.CompressFormat;
+import android.graphics.BitmapFactory;
+import android.util.Log;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An optional, size-capped disk cache of the native ad images downloaded by the nend SDK. Entries
+ * are stored in files named after a hash of the image URL, prefixed with their expiry time, and are
+ * evicted in least recently used order. All methods perform disk I/O and must not be called on the
+ * main thread.
+ */
+final class ImageDiskCache {
+
+  private static final String TAG = "ImageDiskCache";
+
+  private static final String DIRECTORY_NAME = "nend_image_cache";
+
+  private static final String TEMP_FILE_SUFFIX = ".tmp";
+
+  /** Lifetime of cached images. The nend SDK does not expose the response's cache headers. */
+  private static final long DEFAULT_LIFETIME_MILLIS = TimeUnit.DAYS.toMillis(1);
+
+  /**
+   * Fraction of the maximum size the cache is trimmed down to when it overflows, to avoid trimming
+   * on every write.
+   */
+  private static final float TRIM_FACTOR = 0.9f;
+
+  /** Maximum size of the disk cache in bytes. The disk cache is disabled when this is 0. */
+  private static long sMaxSize = 0;
+
+  private static ImageDiskCache instance;
+
+  private final File mDirectory;
+
+  // All fields below are guarded by this.
+  private long mMaxSize;
+  /** Current size of the cache directory in bytes, or -1 if it has not been computed yet. */
+  private long mSize = -1;
+
+  private ImageDiskCache(@NonNull File directory, long maxSize) {
+    mDirectory = directory;
+    mMaxSize = maxSize;
+  }
+
+  /**
+   * Sets the maximum number of bytes used to cache native ad images on disk. A value of 0 disables
+   * the disk cache.
+   */
+  static synchronized void setMaxSize(long maxSize) {
+    sMaxSize = Math.max(0, maxSize);
+    if (instance != null) {
+      synchronized (instance) {
+        instance.mMaxSize = sMaxSize;
+      }
+    }
+  }
+
+  /** Returns the shared disk cache, or {@code null} if the disk cache is disabled. */
+  @Nullable
+  static synchronized ImageDiskCache getInstance(@NonNull Context context) {
+    if (sMaxSize <= 0) {
+      return null;
+    }
+    if (instance == null) {
+      File directory = new File(context.getApplicationContext().getCacheDir(), DIRECTORY_NAME);
+      instance = new ImageDiskCache(directory, sMaxSize);
+    }
+    return instance;
+  }
+
+  /**
+   * Opens a stream on the cached image for the given URL.
+   *
+   * @return a stream positioned at the start of the image data, which the caller must close, or
+   *     {@code null} if the image is not cached or has expired.
+   */
+  @Nullable
+  private InputStream openStream(@NonNull String url) {
+    File file = new File(mDirectory, getFileName(url));
+    if (!file.exists()) {
+      return null;
+    }
+
+    DataInputStream in = null;
+    try {
+      in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+      long expiryTime = in.readLong();
+      if (expiryTime < System.currentTimeMillis()) {
+        in.close();
+        remove(file);
+        return null;
+      }
+      // The last modified time doubles as the access time used for LRU eviction.
+      file.setLastModified(System.currentTimeMillis());
+      return in;
+    } catch (IOException exception) {
+      Log.w(TAG, "Failed to read cached image.", exception);
+      closeQuietly(in);
+      remove(file);
+      return null;
+    }
+  }
+
+  /**
+   * Decodes the cached image for the given URL.
+   *
+   * @return the cached image, or {@code null} if the image is not cached or has expired.
+   */
+  @Nullable
+  Bitmap get(@NonNull String url) {
+    InputStream in = openStream(url);
+    if (in == null) {
+      return null;
+    }
+    try {
+      return BitmapFactory.decodeStream(in);
+    } finally {
+      closeQuietly(in);
+    }
+  }
+
+  /** Stores an image downloaded by the nend SDK for the given URL. */
+  void put(@NonNull String url, @NonNull Bitmap bitmap) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    if (bitmap.compress(CompressFormat.PNG, 100, out)) {
+      put(url, out.toByteArray(), System.currentTimeMillis() + DEFAULT_LIFETIME_MILLIS);
+    }
+  }
+
+  /** Stores the image data for the given URL until {@code expiryTime}. */
+  private void put(@NonNull String url, @NonNull byte[] data, long expiryTime) {
+    if (expiryTime <= System.currentTimeMillis()) {
+      return;
+    }
+    if (!mDirectory.exists() && !mDirectory.mkdirs()) {
+      return;
+    }
+
+    String fileName = getFileName(url);
+    File tempFile = new File(mDirectory, fileName + TEMP_FILE_SUFFIX);
+    File file = new File(mDirectory, fileName);
+    DataOutputStream out = null;
+    try {
+      out = new DataOutputStream(new FileOutputStream(tempFile));
+      out.writeLong(expiryTime);
+      out.write(data);
+      out.close();
+      out = null;
+
+      synchronized (this) {
+        long previousLength = file.length();
+        if (!tempFile.renameTo(file)) {
+          tempFile.delete();
+          return;
+        }
+        if (mSize >= 0) {
+          mSize += file.length() - previousLength;
+        }
+        trimIfNeeded();
+      }
+    } catch (IOException exception) {
+      Log.w(TAG, "Failed to write image to the disk cache.", exception);
+      closeQuietly(out);
+      tempFile.delete();
+    }
+  }
+
+  private synchronized void remove(@NonNull File file) {
+    long length = file.length();
+    if (file.delete() && mSize >= 0) {
+      mSize -= length;
+    }
+  }
+
+  /**
+   * Deletes least recently used entries if the cache is over its maximum size. Must be called
+   * while holding the lock on this object.
+   */
+  private void trimIfNeeded() {
+    File[] files = mDirectory.listFiles();
+    if (files == null) {
+      return;
+    }
+    if (mSize < 0) {
+      mSize = 0;
+      for (File file : files) {
+        mSize += file.length();
+      }
+    }
+    if (mSize <= mMaxSize) {
+      return;
+    }
+
+    Arrays.sort(files, new Comparator<File>() {
+      @Override
+      public int compare(File first, File second) {
+        long firstModified = first.lastModified();
+        long secondModified = second.lastModified();
+        return firstModified < secondModified ? -1 : (firstModified == secondModified ? 0 : 1);
+      }
+    });
+    long targetSize = (long) (mMaxSize * TRIM_FACTOR);
+    for (File file : files) {
+      if (mSize <= targetSize) {
+        break;
+      }
+      if (file.getName().endsWith(TEMP_FILE_SUFFIX)) {
+        // Still being written.
+        continue;
+      }
+      long length = file.length();
+      if (file.delete()) {
+        mSize -= length;
+      }
+    }
+  }
+
+  @NonNull
+  private static String getFileName(@NonNull String url) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      byte[] hash = digest.digest(url.getBytes("UTF-8"));
+      StringBuilder builder = new StringBuilder(hash.length * 2);
+      for (byte b : hash) {
+        builder.append(String.format(Locale.US, "%02x", b));
+      }
+      return builder.toString();
+    } catch (NoSuchAlgorithmException | IOException exception) {
+      return Integer.toHexString(url.hashCode());
+    }
+  }
+
+  private static void closeQuietly(@Nullable Closeable closeable) {
+    if (closeable == null) {
+      return;
+    }
+    try {
+      closeable.close();
+    } catch (IOException exception) {
+      // Ignore.
+    }
+  }
+}
@@ -5,6 +5,9 @@ import static com.google.ads.mediation.nend.NendMediationAdapter.TAG;
 import android.content.Context;
 import android.graphics.Bitmap;
 import android.net.Uri;
+import android.os.AsyncTask;
+import android.os.Handler;
+import android.os.Looper;
 import android.util.Log;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
@@ -43,6 +46,9 @@ class NativeAdLoader {
   /** Nend's native ad logo */
   private Bitmap nendLogoImage = null;
 
+  /** Handler used to deliver images read from the disk cache on the main thread. */
+  private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
   NativeAdLoader(
       NendNativeAdForwarder forwarder, NendAdNativeClient client, NativeAdOptions nativeAdOptions) {
     this.forwarder = forwarder;
@@ -129,7 +135,7 @@ class NativeAdLoader {
     }
 
     if (NendUnifiedNativeAdMapper.canDownloadImage(context, nendNativeAd.getAdImageUrl())) {
-      nendNativeAd.downloadAdImage(
+      final Callback adImageCallback =
           new Callback() {
             @Override
             public void onSuccess(Bitmap adImageBitmap) {
@@ -144,6 +150,16 @@ class NativeAdLoader {
               isAdImageDownloadComplete = true;
               checkAndInvokeDownloadedListener(listener);
             }
+          };
+      loadImage(
+          context,
+          nendNativeAd.getAdImageUrl(),
+          adImageCallback,
+          new ImageDownloader() {
+            @Override
+            public void download(Callback callback) {
+              nendNativeAd.downloadAdImage(callback);
+            }
           });
     } else {
       isAdImageDownloadComplete = true;
@@ -151,7 +167,7 @@ class NativeAdLoader {
     }
 
     if (NendUnifiedNativeAdMapper.canDownloadImage(context, nendNativeAd.getLogoImageUrl())) {
-      nendNativeAd.downloadLogoImage(
+      final Callback logoImageCallback =
           new Callback() {
             @Override
             public void onSuccess(Bitmap adLogoBitmap) {
@@ -166,6 +182,16 @@ class NativeAdLoader {
               isLogoImageDownloadComplete = true;
               checkAndInvokeDownloadedListener(listener);
             }
+          };
+      loadImage(
+          context,
+          nendNativeAd.getLogoImageUrl(),
+          logoImageCallback,
+          new ImageDownloader() {
+            @Override
+            public void download(Callback callback) {
+              nendNativeAd.downloadLogoImage(callback);
+            }
           });
     } else {
       isLogoImageDownloadComplete = true;
@@ -173,12 +199,74 @@ class NativeAdLoader {
     }
   }
 
+  /**
+   * Loads an image from the disk cache if it is enabled and holds the image, or downloads it with
+   * the nend SDK otherwise. Images downloaded by the nend SDK are written to the disk cache.
+   * Callbacks are always invoked on the main thread.
+   */
+  private void loadImage(
+      @NonNull Context context,
+      @NonNull final String url,
+      @NonNull final Callback callback,
+      @NonNull final ImageDownloader downloader) {
+    final ImageDiskCache diskCache = ImageDiskCache.getInstance(context);
+    if (diskCache == null) {
+      downloader.download(callback);
+      return;
+    }
+
+    final Callback cachingCallback =
+        new Callback() {
+          @Override
+          public void onSuccess(final Bitmap bitmap) {
+            AsyncTask.THREAD_POOL_EXECUTOR.execute(
+                new Runnable() {
+                  @Override
+                  public void run() {
+                    diskCache.put(url, bitmap);
+                  }
+                });
+            callback.onSuccess(bitmap);
+          }
+
+          @Override
+          public void onFailure(Exception exception) {
+            callback.onFailure(exception);
+          }
+        };
+
+    AsyncTask.THREAD_POOL_EXECUTOR.execute(
+        new Runnable() {
+          @Override
+          public void run() {
+            final Bitmap cachedBitmap = diskCache.get(url);
+            mainHandler.post(
+                new Runnable() {
+                  @Override
+                  public void run() {
+                    if (cachedBitmap != null) {
+                      callback.onSuccess(cachedBitmap);
+                    } else {
+                      downloader.download(cachingCallback);
+                    }
+                  }
+                });
+          }
+        });
+  }
+
   private void checkAndInvokeDownloadedListener(@NonNull OnNendImagesDownloadedListener listener) {
     if (isAdImageDownloadComplete && isLogoImageDownloadComplete) {
       listener.onImagesDownloaded(nendAdImage, nendLogoImage);
     }
   }
 
+  /** Starts a nend SDK image download. */
+  private interface ImageDownloader {
+
+    void download(Callback callback);
+  }
+
   interface OnNendImagesDownloadedListener {
 
     /**
@@ -70,6 +70,15 @@ public class NendAdapter extends NendMediationAdapter
 
   private WeakReference<Activity> mActivityWeakReference;
 
+  /** Destroys this adapter's ads when their activity is destroyed, if enabled. */
+  private final ActivityLifecycleTracker.Destroyable mActivityDestroyable =
+      new ActivityLifecycleTracker.Destroyable() {
+        @Override
+        public void destroy() {
+          onDestroy();
+        }
+      };
+
   private boolean mIsDetached = false;
   private boolean mIsRequireLoadAd = false;
 
@@ -102,6 +111,7 @@ public class NendAdapter extends NendMediationAdapter
 
   @Override
   public void onDestroy() {
+    ActivityLifecycleTracker.getInstance().unbind(mActivityDestroyable);
     bannerContainerView = null;
     mNendAdView = null;
     mListener = null;
@@ -146,6 +156,7 @@ public class NendAdapter extends NendMediationAdapter
       MediationAdRequest mediationAdRequest,
       Bundle mediationExtras) {
     mListenerInterstitial = listener;
+    ActivityLifecycleTracker.getInstance().bind(context, mActivityDestroyable);
 
     if (!(context instanceof Activity)) {
       Log.w(TAG, "Failed to request ad from Nend: Context not an Activity.");
@@ -375,6 +386,7 @@ public class NendAdapter extends NendMediationAdapter
       AdSize adSize,
       MediationAdRequest mediationAdRequest,
       Bundle mediationExtras) {
+    ActivityLifecycleTracker.getInstance().bind(context, mActivityDestroyable);
 
     final AdSize supportedAdSize = getSupportedAdSize(context, adSize);
     if (supportedAdSize == null) {
@@ -46,6 +46,25 @@ public class NendMediationAdapter extends Adapter
 
   private NendNativeAdForwarder nativeAdForwarder;
 
+  /**
+   * Sets the maximum number of bytes used to cache native ad images on disk, so that they survive
+   * app restarts. The disk cache is disabled by default.
+   *
+   * @param maxSizeInBytes the disk cache budget, in bytes, or 0 to disable the disk cache.
+   */
+  public static void setImageDiskCacheSize(long maxSizeInBytes) {
+    ImageDiskCache.setMaxSize(maxSizeInBytes);
+  }
+
+  /**
+   * Sets whether nend banner and interstitial ads are destroyed automatically when the activity
+   * they were requested from is destroyed, for apps that do not destroy their ads themselves.
+   * Disabled by default.
+   */
+  public static void setAutoDestroyEnabled(boolean enabled) {
+    ActivityLifecycleTracker.setEnabled(enabled);
+  }
+
   /** {@link Adapter} implementation */
   @Override
   public VersionInfo getVersionInfo() {
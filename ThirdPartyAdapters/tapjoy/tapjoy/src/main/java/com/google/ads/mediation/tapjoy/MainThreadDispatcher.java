@@ -0,0 +1,89 @@
+package com.google.ads.mediation.tapjoy;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import androidx.annotation.NonNull;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Delivers adapter events on the main thread. Events are always queued, even when dispatched from
+ * the main thread, so that they never run inside the network SDK callback that raised them. A
+ * burst of events is delivered in order by a single main thread message per frame instead of one
+ * message per event.
+ *
+ * <p>This class is public only so that the open bidding renderers can use it as their {@link
+ * Executor}. It is not meant to be used outside of this adapter.
+ */
+public final class MainThreadDispatcher implements Executor {
+
+  /**
+   * Minimum time between two messages delivering queued events, a frame at 60 Hz.
+   */
+  private static final long FRAME_INTERVAL_MILLIS = 16;
+
+  private static MainThreadDispatcher instance;
+
+  private final Handler mMainHandler = new Handler(Looper.getMainLooper());
+
+  private final ConcurrentLinkedQueue<Runnable> mPendingEvents = new ConcurrentLinkedQueue<>();
+
+  /**
+   * Whether a message to deliver the pending events has been posted and not run yet.
+   */
+  private final AtomicBoolean mDrainScheduled = new AtomicBoolean();
+
+  /**
+   * Time queued events were last delivered, in {@link SystemClock#uptimeMillis()} time base.
+   */
+  private volatile long mLastDrainTime;
+
+  private final Runnable mDrainRunnable =
+      new Runnable() {
+        @Override
+        public void run() {
+          mDrainScheduled.set(false);
+          mLastDrainTime = SystemClock.uptimeMillis();
+          drainPendingEvents();
+        }
+      };
+
+  private MainThreadDispatcher() {
+  }
+
+  @NonNull
+  public static synchronized MainThreadDispatcher getInstance() {
+    if (instance == null) {
+      instance = new MainThreadDispatcher();
+    }
+    return instance;
+  }
+
+  /**
+   * Runs the given event on the main thread, after any event dispatched before it.
+   */
+  void dispatch(@NonNull Runnable event) {
+    mPendingEvents.add(event);
+    if (mDrainScheduled.compareAndSet(false, true)) {
+      // Deliver at most once per frame, so that a burst spread over a frame still takes a single
+      // message.
+      mMainHandler.postAtTime(
+          mDrainRunnable,
+          Math.max(SystemClock.uptimeMillis(), mLastDrainTime + FRAME_INTERVAL_MILLIS));
+    }
+  }
+
+  @Override
+  public void execute(@NonNull Runnable event) {
+    dispatch(event);
+  }
+
+  private void drainPendingEvents() {
+    Runnable event;
+    while ((event = mPendingEvents.poll()) != null) {
+      event.run();
+    }
+  }
+}
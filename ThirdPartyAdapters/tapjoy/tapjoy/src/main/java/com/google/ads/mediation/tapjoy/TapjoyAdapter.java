@@ -3,8 +3,6 @@ package com.google.ads.mediation.tapjoy;
 import android.app.Activity;
 import android.content.Context;
 import android.os.Bundle;
-import android.os.Handler;
-import android.os.Looper;
 import android.util.Log;
 import com.google.android.gms.ads.mediation.MediationAdRequest;
 import com.google.android.gms.ads.mediation.MediationInterstitialAdapter;
@@ -25,8 +23,6 @@ import java.util.Hashtable;
 public class TapjoyAdapter extends TapjoyMediationAdapter
     implements MediationInterstitialAdapter {
 
-  private final Handler mainHandler = new Handler(Looper.getMainLooper());
-
   /**
    * Represents a {@link TJPlacement}.
    */
@@ -126,7 +122,7 @@ public class TapjoyAdapter extends TapjoyMediationAdapter
           // Placement Callbacks
           @Override
           public void onRequestSuccess(TJPlacement tjPlacement) {
-            mainHandler.post(new Runnable() {
+            MainThreadDispatcher.getInstance().dispatch(new Runnable() {
               @Override
               public void run() {
                 if (!interstitialPlacement.isContentAvailable()) {
@@ -140,7 +136,7 @@ public class TapjoyAdapter extends TapjoyMediationAdapter
 
           @Override
           public void onRequestFailure(TJPlacement tjPlacement, final TJError tjError) {
-            mainHandler.post(new Runnable() {
+            MainThreadDispatcher.getInstance().dispatch(new Runnable() {
               @Override
               public void run() {
                 placementsInUse.remove(interstitialPlacementName);
@@ -153,7 +149,7 @@ public class TapjoyAdapter extends TapjoyMediationAdapter
 
           @Override
           public void onContentReady(TJPlacement tjPlacement) {
-            mainHandler.post(new Runnable() {
+            MainThreadDispatcher.getInstance().dispatch(new Runnable() {
               @Override
               public void run() {
                 mediationInterstitialListener.onAdLoaded(TapjoyAdapter.this);
@@ -163,7 +159,7 @@ public class TapjoyAdapter extends TapjoyMediationAdapter
 
           @Override
           public void onContentShow(TJPlacement tjPlacement) {
-            mainHandler.post(new Runnable() {
+            MainThreadDispatcher.getInstance().dispatch(new Runnable() {
               @Override
               public void run() {
                 mediationInterstitialListener.onAdOpened(TapjoyAdapter.this);
@@ -173,7 +169,7 @@ public class TapjoyAdapter extends TapjoyMediationAdapter
 
           @Override
           public void onContentDismiss(TJPlacement tjPlacement) {
-            mainHandler.post(new Runnable() {
+            MainThreadDispatcher.getInstance().dispatch(new Runnable() {
               @Override
               public void run() {
                 placementsInUse.remove(interstitialPlacementName);
@@ -199,7 +195,7 @@ public class TapjoyAdapter extends TapjoyMediationAdapter
 
           @Override
           public void onClick(TJPlacement tjPlacement) {
-            mainHandler.post(new Runnable() {
+            MainThreadDispatcher.getInstance().dispatch(new Runnable() {
               @Override
               public void run() {
                 mediationInterstitialListener.onAdClicked(TapjoyAdapter.this);
@@ -2,25 +2,18 @@ package com.google.ads.mediation.tapjoy;
 
 import android.app.Activity;
 import android.util.Log;
+import androidx.annotation.NonNull;
 import com.tapjoy.TJConnectListener;
 import com.tapjoy.Tapjoy;
-import java.util.ArrayList;
 import java.util.Hashtable;
 
 public class TapjoyInitializer implements TJConnectListener {
 
   private static TapjoyInitializer instance;
-  private InitStatus status;
 
-  private ArrayList<Listener> initListeners;
+  private final SingleFlightInitializer mInitializer = new SingleFlightInitializer();
 
-  private enum InitStatus {
-    UNINITIALIZED,
-    INITIALIZING,
-    INITIALIZED
-  }
-
-  static TapjoyInitializer getInstance() {
+  static synchronized TapjoyInitializer getInstance() {
     if (instance == null) {
       instance = new TapjoyInitializer();
     }
@@ -28,46 +21,44 @@ public class TapjoyInitializer implements TJConnectListener {
   }
 
   private TapjoyInitializer() {
-    initListeners = new ArrayList<>();
-    status = InitStatus.UNINITIALIZED;
   }
 
-  void initialize(Activity activity,
-      String sdkKey,
-      Hashtable<String, Object> connectFlags,
-      Listener listener) {
-    if (status.equals(InitStatus.INITIALIZED) || Tapjoy.isConnected()) {
+  void initialize(final Activity activity,
+      final String sdkKey,
+      final Hashtable<String, Object> connectFlags,
+      final Listener listener) {
+    if (Tapjoy.isConnected()) {
       listener.onInitializeSucceeded();
       return;
     }
 
-    initListeners.add(listener);
-    if (!status.equals(InitStatus.INITIALIZING)) {
-      status = InitStatus.INITIALIZING;
-
-      Log.i(TapjoyMediationAdapter.TAG, "Connecting to Tapjoy for Tapjoy-AdMob adapter");
-      Tapjoy.connect(activity, sdkKey, connectFlags, TapjoyInitializer.this);
-    }
+    mInitializer.initialize(new SingleFlightInitializer.Listener() {
+      @Override
+      public void onInitializeSuccess() {
+        listener.onInitializeSucceeded();
+      }
+
+      @Override
+      public void onInitializeError(@NonNull String errorMessage) {
+        listener.onInitializeFailed(errorMessage);
+      }
+    }, new Runnable() {
+      @Override
+      public void run() {
+        Log.i(TapjoyMediationAdapter.TAG, "Connecting to Tapjoy for Tapjoy-AdMob adapter");
+        Tapjoy.connect(activity, sdkKey, connectFlags, TapjoyInitializer.this);
+      }
+    });
   }
 
   @Override
   public void onConnectSuccess() {
-    status = InitStatus.INITIALIZED;
-
-    for (Listener listener : initListeners) {
-      listener.onInitializeSucceeded();
-    }
-    initListeners.clear();
+    mInitializer.onSuccess();
   }
 
   @Override
   public void onConnectFailure() {
-    status = InitStatus.UNINITIALIZED;
-
-    for (Listener listener : initListeners) {
-      listener.onInitializeFailed("Tapjoy failed to connect.");
-    }
-    initListeners.clear();
+    mInitializer.onFailure("Tapjoy failed to connect.");
   }
 
   interface Listener {
@@ -17,8 +17,6 @@ import static com.google.ads.mediation.tapjoy.TapjoyMediationAdapter.createSDKEr
 import android.app.Activity;
 import android.content.Context;
 import android.os.Bundle;
-import android.os.Handler;
-import android.os.Looper;
 import android.text.TextUtils;
 import android.util.Log;
 import com.google.android.gms.ads.mediation.MediationAdLoadCallback;
@@ -53,8 +51,6 @@ public class TapjoyRewardedRenderer implements MediationRewardedAd, TJPlacementV
   private MediationRewardedAdCallback mMediationRewardedAdCallback;
   private MediationRewardedAdConfiguration adConfiguration;
 
-  private final Handler mainHandler = new Handler(Looper.getMainLooper());
-
   private static HashMap<String, WeakReference<TapjoyRewardedRenderer>> mPlacementsInUse =
       new HashMap<>();
 
@@ -147,7 +143,7 @@ public class TapjoyRewardedRenderer implements MediationRewardedAd, TJPlacementV
       // Placement Callbacks
       @Override
       public void onRequestSuccess(TJPlacement tjPlacement) {
-        mainHandler.post(new Runnable() {
+        MainThreadDispatcher.getInstance().dispatch(new Runnable() {
           @Override
           public void run() {
             if (!videoPlacement.isContentAvailable()) {
@@ -166,7 +162,7 @@ public class TapjoyRewardedRenderer implements MediationRewardedAd, TJPlacementV
 
       @Override
       public void onRequestFailure(TJPlacement tjPlacement, final TJError tjError) {
-        mainHandler.post(new Runnable() {
+        MainThreadDispatcher.getInstance().dispatch(new Runnable() {
           @Override
           public void run() {
             mPlacementsInUse.remove(placementName);
@@ -183,7 +179,7 @@ public class TapjoyRewardedRenderer implements MediationRewardedAd, TJPlacementV
 
       @Override
       public void onContentReady(TJPlacement tjPlacement) {
-        mainHandler.post(new Runnable() {
+        MainThreadDispatcher.getInstance().dispatch(new Runnable() {
           @Override
           public void run() {
             Log.d(TAG, "Tapjoy Rewarded Ad is available.");
@@ -197,7 +193,7 @@ public class TapjoyRewardedRenderer implements MediationRewardedAd, TJPlacementV
 
       @Override
       public void onContentShow(TJPlacement tjPlacement) {
-        mainHandler.post(new Runnable() {
+        MainThreadDispatcher.getInstance().dispatch(new Runnable() {
           @Override
           public void run() {
             Log.d(TAG, "Tapjoy Rewarded Ad has been opened.");
@@ -210,7 +206,7 @@ public class TapjoyRewardedRenderer implements MediationRewardedAd, TJPlacementV
 
       @Override
       public void onContentDismiss(TJPlacement tjPlacement) {
-        mainHandler.post(new Runnable() {
+        MainThreadDispatcher.getInstance().dispatch(new Runnable() {
           @Override
           public void run() {
             Log.d(TAG, "Tapjoy Rewarded Ad has been closed.");
@@ -239,7 +235,7 @@ public class TapjoyRewardedRenderer implements MediationRewardedAd, TJPlacementV
 
       @Override
       public void onClick(TJPlacement tjPlacement) {
-        mainHandler.post(new Runnable() {
+        MainThreadDispatcher.getInstance().dispatch(new Runnable() {
           @Override
           public void run() {
             Log.d(TAG, "Tapjoy Rewarded Ad has been clicked.");
@@ -290,7 +286,7 @@ public class TapjoyRewardedRenderer implements MediationRewardedAd, TJPlacementV
 
   @Override
   public void onVideoStart(TJPlacement tjPlacement) {
-    mainHandler.post(new Runnable() {
+    MainThreadDispatcher.getInstance().dispatch(new Runnable() {
       @Override
       public void run() {
         Log.d(TAG, "Tapjoy Rewarded Ad has started playing.");
@@ -304,7 +300,7 @@ public class TapjoyRewardedRenderer implements MediationRewardedAd, TJPlacementV
 
   @Override
   public void onVideoError(final TJPlacement tjPlacement, final String errorMessage) {
-    mainHandler.post(new Runnable() {
+    MainThreadDispatcher.getInstance().dispatch(new Runnable() {
       @Override
       public void run() {
         mPlacementsInUse.remove(tjPlacement.getName());
@@ -320,7 +316,7 @@ public class TapjoyRewardedRenderer implements MediationRewardedAd, TJPlacementV
 
   @Override
   public void onVideoComplete(TJPlacement tjPlacement) {
-    mainHandler.post(new Runnable() {
+    MainThreadDispatcher.getInstance().dispatch(new Runnable() {
       @Override
       public void run() {
         Log.d(TAG, "Tapjoy Rewarded Ad has finished playing.");
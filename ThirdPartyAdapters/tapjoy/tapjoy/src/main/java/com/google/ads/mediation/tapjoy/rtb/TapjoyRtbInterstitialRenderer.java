@@ -6,9 +6,8 @@ import static com.google.ads.mediation.tapjoy.TapjoyMediationAdapter.ERROR_NO_CO
 import static com.google.ads.mediation.tapjoy.TapjoyMediationAdapter.createAdapterError;
 
 import android.content.Context;
-import android.os.Handler;
-import android.os.Looper;
 import android.util.Log;
+import com.google.ads.mediation.tapjoy.MainThreadDispatcher;
 import com.google.android.gms.ads.mediation.MediationAdConfiguration;
 import com.google.android.gms.ads.mediation.MediationAdLoadCallback;
 import com.google.android.gms.ads.mediation.MediationInterstitialAd;
@@ -21,6 +20,7 @@ import com.tapjoy.Tapjoy;
 import com.tapjoy.TapjoyAuctionFlags;
 import java.lang.ref.WeakReference;
 import java.util.HashMap;
+import java.util.concurrent.Executor;
 import org.json.JSONException;
 import org.json.JSONObject;
 
@@ -47,7 +47,6 @@ public class TapjoyRtbInterstitialRenderer implements MediationInterstitialAd {
 
   private static HashMap<String, WeakReference<TapjoyRtbInterstitialRenderer>> placementsInUse =
       new HashMap<>();
-  private final Handler mainHandler = new Handler(Looper.getMainLooper());
 
   /**
    * Tapjoy Interstitial Placement
@@ -59,11 +58,24 @@ public class TapjoyRtbInterstitialRenderer implements MediationInterstitialAd {
    */
   private MediationInterstitialAdCallback listener;
 
+  /**
+   * Executor delivering Tapjoy callbacks on the main thread.
+   */
+  private final Executor mainThreadExecutor;
+
   public TapjoyRtbInterstitialRenderer(
       MediationAdConfiguration adConfiguration,
       MediationAdLoadCallback<MediationInterstitialAd, MediationInterstitialAdCallback> callback) {
+    this(adConfiguration, callback, MainThreadDispatcher.getInstance());
+  }
+
+  public TapjoyRtbInterstitialRenderer(
+      MediationAdConfiguration adConfiguration,
+      MediationAdLoadCallback<MediationInterstitialAd, MediationInterstitialAdCallback> callback,
+      Executor mainThreadExecutor) {
     this.adConfiguration = adConfiguration;
     this.callback = callback;
+    this.mainThreadExecutor = mainThreadExecutor;
   }
 
   public void render() {
@@ -117,7 +129,7 @@ public class TapjoyRtbInterstitialRenderer implements MediationInterstitialAd {
         .getPlacement(interstitialPlacementName, new TJPlacementListener() {
           @Override
           public void onRequestSuccess(TJPlacement tjPlacement) {
-            mainHandler.post(new Runnable() {
+            mainThreadExecutor.execute(new Runnable() {
               @Override
               public void run() {
                 if (!interstitialPlacement.isContentAvailable()) {
@@ -133,7 +145,7 @@ public class TapjoyRtbInterstitialRenderer implements MediationInterstitialAd {
 
           @Override
           public void onRequestFailure(TJPlacement tjPlacement, final TJError tjError) {
-            mainHandler.post(new Runnable() {
+            mainThreadExecutor.execute(new Runnable() {
               @Override
               public void run() {
                 placementsInUse.remove(interstitialPlacementName);
@@ -144,7 +156,7 @@ public class TapjoyRtbInterstitialRenderer implements MediationInterstitialAd {
 
           @Override
           public void onContentReady(TJPlacement tjPlacement) {
-            mainHandler.post(new Runnable() {
+            mainThreadExecutor.execute(new Runnable() {
               @Override
               public void run() {
                 listener = callback.onSuccess(TapjoyRtbInterstitialRenderer.this);
@@ -155,7 +167,7 @@ public class TapjoyRtbInterstitialRenderer implements MediationInterstitialAd {
 
           @Override
           public void onContentShow(TJPlacement tjPlacement) {
-            mainHandler.post(new Runnable() {
+            mainThreadExecutor.execute(new Runnable() {
               @Override
               public void run() {
                 if (listener != null) {
@@ -168,7 +180,7 @@ public class TapjoyRtbInterstitialRenderer implements MediationInterstitialAd {
 
           @Override
           public void onContentDismiss(TJPlacement tjPlacement) {
-            mainHandler.post(new Runnable() {
+            mainThreadExecutor.execute(new Runnable() {
               @Override
               public void run() {
                 if (listener != null) {
@@ -193,7 +205,7 @@ public class TapjoyRtbInterstitialRenderer implements MediationInterstitialAd {
 
           @Override
           public void onClick(TJPlacement tjPlacement) {
-            mainHandler.post(new Runnable() {
+            mainThreadExecutor.execute(new Runnable() {
               @Override
               public void run() {
                 if (listener != null) {
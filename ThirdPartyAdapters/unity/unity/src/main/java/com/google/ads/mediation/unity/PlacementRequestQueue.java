@@ -0,0 +1,289 @@
+// Copyright 2020 Google Inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.ads.mediation.unity;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import java.lang.ref.WeakReference;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Tracks which request currently owns each placement, and parks concurrent requests for the same
+ * placement in a bounded FIFO queue until the placement is released or they time out. Requests are
+ * held weakly, as the adapters owning them may be destroyed at any time. A placement whose owner
+ * has been garbage collected is handed to the oldest parked request.
+ *
+ * @param <T> the type of request.
+ */
+final class PlacementRequestQueue<T> {
+
+  interface Listener<T> {
+
+    /**
+     * Called on the main thread when a parked request becomes the owner of its placement.
+     */
+    void onRequestReady(@NonNull T request);
+
+    /**
+     * Called on the main thread when a parked request did not get its placement in time.
+     */
+    void onRequestTimedOut(@NonNull T request);
+  }
+
+  enum Result {
+    /** The request owns the placement and may proceed. */
+    ACQUIRED,
+    /** The placement is in use and the request has been parked. */
+    QUEUED,
+    /** The placement is in use and its queue is full. */
+    REJECTED
+  }
+
+  /**
+   * Interval at which parked requests check whether the owner of their placement is gone.
+   */
+  private static final long OWNER_CHECK_INTERVAL_MILLIS = 1000;
+
+  private final Handler mMainHandler = new Handler(Looper.getMainLooper());
+
+  private final HashMap<String, WeakReference<T>> mOwners = new HashMap<>();
+
+  private final HashMap<String, ArrayDeque<ParkedRequest>> mParkedRequests = new HashMap<>();
+
+  private final Listener<T> mListener;
+
+  private int mMaxQueueDepth;
+
+  private long mTimeoutMillis;
+
+  PlacementRequestQueue(int maxQueueDepth, long timeoutMillis, @NonNull Listener<T> listener) {
+    mMaxQueueDepth = maxQueueDepth;
+    mTimeoutMillis = timeoutMillis;
+    mListener = listener;
+  }
+
+  /**
+   * Sets the maximum number of requests parked for each placement. A value of 0 rejects every
+   * request made while the placement is in use.
+   */
+  synchronized void setMaxQueueDepth(int maxQueueDepth) {
+    mMaxQueueDepth = Math.max(0, maxQueueDepth);
+  }
+
+  /**
+   * Sets the maximum time a request stays parked before timing out.
+   */
+  synchronized void setTimeout(long timeoutMillis) {
+    mTimeoutMillis = Math.max(0, timeoutMillis);
+  }
+
+  /**
+   * Requests ownership of a placement.
+   */
+  @NonNull
+  synchronized Result acquire(@NonNull String placementId, @NonNull T request) {
+    if (getOwner(placementId) == null) {
+      // Requests parked before the owner was collected come first.
+      T next = promoteParkedRequest(placementId);
+      if (next == null) {
+        mOwners.put(placementId, new WeakReference<>(request));
+        return Result.ACQUIRED;
+      }
+      dispatchReady(next);
+    }
+
+    ArrayDeque<ParkedRequest> queue = mParkedRequests.get(placementId);
+    if (queue == null) {
+      queue = new ArrayDeque<>();
+      mParkedRequests.put(placementId, queue);
+    }
+    removeCollectedRequests(queue);
+    if (queue.size() >= mMaxQueueDepth) {
+      return Result.REJECTED;
+    }
+    ParkedRequest parkedRequest =
+        new ParkedRequest(placementId, request, SystemClock.uptimeMillis() + mTimeoutMillis);
+    queue.addLast(parkedRequest);
+    mMainHandler.postDelayed(parkedRequest, Math.min(OWNER_CHECK_INTERVAL_MILLIS, mTimeoutMillis));
+    return Result.QUEUED;
+  }
+
+  /**
+   * Returns the request that currently owns a placement, or {@code null} if it is not in use.
+   */
+  @Nullable
+  synchronized T getOwner(@NonNull String placementId) {
+    WeakReference<T> owner = mOwners.get(placementId);
+    return owner != null ? owner.get() : null;
+  }
+
+  /**
+   * Releases a placement and hands it to the oldest parked request, if any.
+   */
+  void release(@NonNull String placementId) {
+    T next;
+    synchronized (this) {
+      next = promoteParkedRequest(placementId);
+    }
+    if (next != null) {
+      dispatchReady(next);
+    }
+  }
+
+  /**
+   * Releases every placement and removes every parked request.
+   *
+   * @return the owners and parked requests that were removed.
+   */
+  @NonNull
+  synchronized List<T> clear() {
+    List<T> requests = new ArrayList<>();
+    for (WeakReference<T> owner : mOwners.values()) {
+      T request = owner.get();
+      if (request != null) {
+        requests.add(request);
+      }
+    }
+    mOwners.clear();
+    for (ArrayDeque<ParkedRequest> queue : mParkedRequests.values()) {
+      for (ParkedRequest parkedRequest : queue) {
+        mMainHandler.removeCallbacks(parkedRequest);
+        T request = parkedRequest.mRequest.get();
+        if (request != null) {
+          requests.add(request);
+        }
+      }
+    }
+    mParkedRequests.clear();
+    return requests;
+  }
+
+  /**
+   * Makes the oldest parked request of a placement its owner, or leaves the placement unowned if
+   * there is none. Must be called while holding the lock on this object.
+   *
+   * @return the new owner, or {@code null} if no request was parked.
+   */
+  @Nullable
+  private T promoteParkedRequest(@NonNull String placementId) {
+    mOwners.remove(placementId);
+    T next = pollParkedRequest(placementId);
+    if (next != null) {
+      mOwners.put(placementId, new WeakReference<>(next));
+    }
+    return next;
+  }
+
+  private void dispatchReady(@NonNull final T request) {
+    mMainHandler.post(new Runnable() {
+      @Override
+      public void run() {
+        mListener.onRequestReady(request);
+      }
+    });
+  }
+
+  /**
+   * Removes and returns the oldest parked request of a placement that has not been garbage
+   * collected. Must be called while holding the lock on this object.
+   */
+  @Nullable
+  private T pollParkedRequest(@NonNull String placementId) {
+    ArrayDeque<ParkedRequest> queue = mParkedRequests.get(placementId);
+    if (queue == null) {
+      return null;
+    }
+    ParkedRequest parkedRequest;
+    while ((parkedRequest = queue.pollFirst()) != null) {
+      mMainHandler.removeCallbacks(parkedRequest);
+      T request = parkedRequest.mRequest.get();
+      if (request != null) {
+        return request;
+      }
+    }
+    mParkedRequests.remove(placementId);
+    return null;
+  }
+
+  /**
+   * Must be called while holding the lock on this object.
+   */
+  private void removeCollectedRequests(@NonNull ArrayDeque<ParkedRequest> queue) {
+    for (ParkedRequest parkedRequest : new ArrayList<>(queue)) {
+      if (parkedRequest.mRequest.get() == null) {
+        mMainHandler.removeCallbacks(parkedRequest);
+        queue.remove(parkedRequest);
+      }
+    }
+  }
+
+  /**
+   * A parked request, which periodically checks whether the owner of its placement has been
+   * garbage collected, and times out once its deadline has passed.
+   */
+  private final class ParkedRequest implements Runnable {
+
+    private final String mPlacementId;
+
+    private final WeakReference<T> mRequest;
+
+    /**
+     * Time at which the request times out, in {@link SystemClock#uptimeMillis()} time base.
+     */
+    private final long mDeadline;
+
+    ParkedRequest(@NonNull String placementId, @NonNull T request, long deadline) {
+      mPlacementId = placementId;
+      mRequest = new WeakReference<>(request);
+      mDeadline = deadline;
+    }
+
+    @Override
+    public void run() {
+      T next;
+      synchronized (PlacementRequestQueue.this) {
+        ArrayDeque<ParkedRequest> queue = mParkedRequests.get(mPlacementId);
+        if (queue == null || !queue.contains(this)) {
+          return;
+        }
+        if (getOwner(mPlacementId) == null) {
+          next = promoteParkedRequest(mPlacementId);
+        } else {
+          long remaining = mDeadline - SystemClock.uptimeMillis();
+          if (remaining > 0) {
+            mMainHandler.postDelayed(this, Math.min(OWNER_CHECK_INTERVAL_MILLIS, remaining));
+            return;
+          }
+          queue.remove(this);
+          next = null;
+        }
+      }
+      if (next != null) {
+        mListener.onRequestReady(next);
+        return;
+      }
+      T request = mRequest.get();
+      if (request != null) {
+        mListener.onRequestTimedOut(request);
+      }
+    }
+  }
+}
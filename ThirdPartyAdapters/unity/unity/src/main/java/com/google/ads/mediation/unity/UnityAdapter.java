@@ -68,6 +68,15 @@ public class UnityAdapter extends UnityMediationAdapter
   /** An Android {@link Activity} weak reference used to show ads. */
   private WeakReference<Activity> mActivityWeakReference;
 
+  /** Destroys this adapter's ads when their activity is destroyed, if enabled. */
+  private final ActivityLifecycleTracker.Destroyable mActivityDestroyable =
+      new ActivityLifecycleTracker.Destroyable() {
+        @Override
+        public void destroy() {
+          onDestroy();
+        }
+      };
+
   /**
    * Unity adapter delegate to to forward the events from {@link UnitySingleton} to Google Mobile
    * Ads SDK.
@@ -272,6 +281,7 @@ public class UnityAdapter extends UnityMediationAdapter
       MediationAdRequest mediationAdRequest,
       Bundle mediationExtras) {
     mMediationInterstitialListener = mediationInterstitialListener;
+    ActivityLifecycleTracker.getInstance().bind(context, mActivityDestroyable);
 
     String gameId = serverParameters.getString(KEY_GAME_ID);
     mPlacementId = serverParameters.getString(KEY_PLACEMENT_ID);
@@ -363,6 +373,7 @@ public class UnityAdapter extends UnityMediationAdapter
   // region MediationAdapter implementation.
   @Override
   public void onDestroy() {
+    ActivityLifecycleTracker.getInstance().unbind(mActivityDestroyable);
     if (mActivityWeakReference != null) {
       Activity activity = mActivityWeakReference.get();
       if (activity != null) {
@@ -401,6 +412,7 @@ public class UnityAdapter extends UnityMediationAdapter
       Bundle mediationExtras) {
     Log.v(TAG, "Requesting Unity Ads Banner.");
     mMediationBannerListener = listener;
+    ActivityLifecycleTracker.getInstance().bind(context, mActivityDestroyable);
 
     String gameId = serverParameters.getString(KEY_GAME_ID);
     bannerPlacementId = serverParameters.getString(KEY_PLACEMENT_ID);
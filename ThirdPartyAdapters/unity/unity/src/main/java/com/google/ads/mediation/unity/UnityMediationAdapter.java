@@ -254,6 +254,34 @@ public class UnityMediationAdapter extends Adapter implements MediationRewardedA
         }
       };
 
+  /**
+   * Sets the maximum number of ad requests that wait for a placement already in use by another ad
+   * request, instead of failing with {@link #ERROR_AD_ALREADY_LOADING}. Defaults to 0, so that
+   * such requests fail immediately and the mediation waterfall moves on. A placement is usually
+   * held until its ad has been shown, so only enable this with a short {@link
+   * #setQueuedRequestTimeout(long) timeout}.
+   */
+  public static void setMaxQueuedRequestsPerPlacement(int maxQueuedRequests) {
+    UnitySingleton.getInstance().setMaxQueueDepth(maxQueuedRequests);
+  }
+
+  /**
+   * Sets the time after which an ad request waiting for a placement fails with {@link
+   * #ERROR_AD_ALREADY_LOADING}. Defaults to 10 seconds.
+   */
+  public static void setQueuedRequestTimeout(long timeoutMillis) {
+    UnitySingleton.getInstance().setQueueTimeout(timeoutMillis);
+  }
+
+  /**
+   * Sets whether Unity banner and interstitial ads are destroyed automatically when the activity
+   * they were requested from is destroyed, for apps that do not destroy their ads themselves.
+   * Disabled by default.
+   */
+  public static void setAutoDestroyEnabled(boolean enabled) {
+    ActivityLifecycleTracker.setEnabled(enabled);
+  }
+
   // region Adapter implementation.
   public UnityMediationAdapter() {
     uuid = UUID.randomUUID().toString();
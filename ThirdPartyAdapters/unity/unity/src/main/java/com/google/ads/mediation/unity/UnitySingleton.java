@@ -17,13 +17,13 @@ package com.google.ads.mediation.unity;
 import static com.google.ads.mediation.unity.UnityMediationAdapter.ERROR_AD_ALREADY_LOADING;
 
 import android.app.Activity;
+import android.util.Log;
+import androidx.annotation.NonNull;
 import com.google.android.gms.ads.MobileAds;
 import com.unity3d.ads.UnityAds;
 import com.unity3d.ads.mediation.IUnityAdsExtendedListener;
 import com.unity3d.ads.metadata.MediationMetaData;
 import java.lang.ref.WeakReference;
-import java.util.HashMap;
-import java.util.Map;
 
 /**
  * The {@link UnitySingleton} class is used to load {@link UnityAds}, handle multiple {@link
@@ -31,10 +31,24 @@ import java.util.Map;
  */
 public final class UnitySingleton implements IUnityAdsExtendedListener {
 
+  private static final String TAG = UnitySingleton.class.getSimpleName();
+
   /**
-   * A list of adapter listeners with their respective placement IDs to prevent duplicate requests.
+   * Default maximum number of requests waiting for a placement that is in use. Requests are not
+   * queued unless enabled, as the owner of a placement usually keeps it until its ad is shown.
    */
-  private HashMap<String, WeakReference<UnityAdapterDelegate>> mPlacementsInUse;
+  private static final int DEFAULT_MAX_QUEUE_DEPTH = 0;
+
+  /**
+   * Default time after which a request waiting for a placement that is in use fails.
+   */
+  private static final long DEFAULT_QUEUE_TIMEOUT_MILLIS = 10000;
+
+  /**
+   * The adapter listeners owning each placement ID, and the requests waiting for them. Unity Ads
+   * holds a single ad per placement, so only one request at a time may load an ad for it.
+   */
+  private final PlacementRequestQueue<UnityAdapterDelegate> mPlacementsInUse;
 
   /**
    * A weak reference to the {@link UnityAdapterDelegate} of the {@link UnityAdapter} that is
@@ -58,7 +72,44 @@ public final class UnitySingleton implements IUnityAdsExtendedListener {
   }
 
   private UnitySingleton() {
-    mPlacementsInUse = new HashMap<>();
+    mPlacementsInUse =
+        new PlacementRequestQueue<>(
+            DEFAULT_MAX_QUEUE_DEPTH,
+            DEFAULT_QUEUE_TIMEOUT_MILLIS,
+            new PlacementRequestQueue.Listener<UnityAdapterDelegate>() {
+              @Override
+              public void onRequestReady(@NonNull UnityAdapterDelegate delegate) {
+                String placementId = delegate.getPlacementId();
+                UnityAds.load(placementId);
+                // The previous owner may have left an ad loaded for this placement, in which
+                // case Unity Ads will not send another ready callback.
+                if (UnityAds.isReady(placementId)) {
+                  delegate.onUnityAdsReady(placementId);
+                }
+              }
+
+              @Override
+              public void onRequestTimedOut(@NonNull UnityAdapterDelegate delegate) {
+                delegate.onAdFailedToLoad(
+                    ERROR_AD_ALREADY_LOADING,
+                    "Timed out waiting for the ad loading for placement ID: "
+                        + delegate.getPlacementId());
+              }
+            });
+  }
+
+  /**
+   * Sets the maximum number of requests waiting for a placement that is in use.
+   */
+  void setMaxQueueDepth(int maxQueueDepth) {
+    mPlacementsInUse.setMaxQueueDepth(maxQueueDepth);
+  }
+
+  /**
+   * Sets the time after which a request waiting for a placement that is in use fails.
+   */
+  void setQueueTimeout(long timeoutMillis) {
+    mPlacementsInUse.setTimeout(timeoutMillis);
   }
 
   /**
@@ -94,21 +145,25 @@ public final class UnitySingleton implements IUnityAdsExtendedListener {
 
   /**
    * This method will load Unity ads for a given Placement ID and send the ad loaded event if the
-   * ads have already loaded.
+   * ads have already loaded. If another adapter is already using the placement, the request waits
+   * for it to be released.
    *
    * @param delegate Used to forward Unity Ads events to the adapter.
    */
   protected void loadAd(UnityAdapterDelegate delegate) {
-    if (mPlacementsInUse.containsKey(delegate.getPlacementId())
-        && mPlacementsInUse.get(delegate.getPlacementId()).get() != null) {
-      delegate.onAdFailedToLoad(
-          ERROR_AD_ALREADY_LOADING,
-          "An ad is already loading for placement ID: " + delegate.getPlacementId());
-      return;
+    String placementId = delegate.getPlacementId();
+    switch (mPlacementsInUse.acquire(placementId, delegate)) {
+      case ACQUIRED:
+        UnityAds.load(placementId);
+        break;
+      case QUEUED:
+        Log.d(TAG, "Waiting for the ad loading for placement ID: " + placementId);
+        break;
+      case REJECTED:
+        delegate.onAdFailedToLoad(
+            ERROR_AD_ALREADY_LOADING, "An ad is already loading for placement ID: " + placementId);
+        break;
     }
-
-    mPlacementsInUse.put(delegate.getPlacementId(), new WeakReference<>(delegate));
-    UnityAds.load(delegate.getPlacementId());
   }
 
   /**
@@ -126,7 +181,7 @@ public final class UnitySingleton implements IUnityAdsExtendedListener {
   }
 
   public void stopTrackingPlacement(String placementId) {
-    mPlacementsInUse.remove(placementId);
+    mPlacementsInUse.release(placementId);
   }
 
   /** {@link IUnityAdsExtendedListener} implementation */
@@ -134,9 +189,9 @@ public final class UnitySingleton implements IUnityAdsExtendedListener {
   public void onUnityAdsReady(String placementId) {
     // Unity Ads is ready to show ads for the given placementId. Send ready callback to the
     // appropriate delegate.
-    if (mPlacementsInUse.containsKey(placementId)
-        && mPlacementsInUse.get(placementId).get() != null) {
-      mPlacementsInUse.get(placementId).get().onUnityAdsReady(placementId);
+    UnityAdapterDelegate delegate = mPlacementsInUse.getOwner(placementId);
+    if (delegate != null) {
+      delegate.onUnityAdsReady(placementId);
     }
   }
 
@@ -167,12 +222,9 @@ public final class UnitySingleton implements IUnityAdsExtendedListener {
   @Override
   public void onUnityAdsPlacementStateChanged(
       String placementId, UnityAds.PlacementState oldState, UnityAds.PlacementState newState) {
-    if (mPlacementsInUse.containsKey(placementId)
-        && mPlacementsInUse.get(placementId).get() != null) {
-      mPlacementsInUse
-          .get(placementId)
-          .get()
-          .onUnityAdsPlacementStateChanged(placementId, oldState, newState);
+    UnityAdapterDelegate delegate = mPlacementsInUse.getOwner(placementId);
+    if (delegate != null) {
+      delegate.onUnityAdsPlacementStateChanged(placementId, oldState, newState);
     }
   }
 
@@ -184,7 +236,7 @@ public final class UnitySingleton implements IUnityAdsExtendedListener {
       UnityAdapterDelegate delegate = mAdShowingAdapterDelegate.get();
       if (delegate != null) {
         delegate.onUnityAdsFinish(placementId, finishState);
-        mPlacementsInUse.remove(placementId);
+        mPlacementsInUse.release(placementId);
       }
     }
   }
@@ -197,13 +249,9 @@ public final class UnitySingleton implements IUnityAdsExtendedListener {
         || unityAdsError.equals(UnityAds.UnityAdsError.INIT_SANITY_CHECK_FAIL)
         || unityAdsError.equals(UnityAds.UnityAdsError.INVALID_ARGUMENT)
         || unityAdsError.equals(UnityAds.UnityAdsError.AD_BLOCKER_DETECTED)) {
-      for (Map.Entry<String, WeakReference<UnityAdapterDelegate>> entry :
-          mPlacementsInUse.entrySet()) {
-        if (entry.getValue().get() != null) {
-          entry.getValue().get().onUnityAdsError(unityAdsError, message);
-        }
+      for (UnityAdapterDelegate delegate : mPlacementsInUse.clear()) {
+        delegate.onUnityAdsError(unityAdsError, message);
       }
-      mPlacementsInUse.clear();
     } else if (mAdShowingAdapterDelegate != null) {
       // Handle show time error.
       UnityAdapterDelegate delegate = mAdShowingAdapterDelegate.get();
@@ -0,0 +1,80 @@
+package com.google.ads.mediation.verizon;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import androidx.annotation.NonNull;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Delivers adapter events on the main thread. Events are always queued, even when dispatched from
+ * the main thread, so that they never run inside the network SDK callback that raised them. A
+ * burst of events is delivered in order by a single main thread message per frame instead of one
+ * message per event.
+ */
+final class MainThreadDispatcher {
+
+  /**
+   * Minimum time between two messages delivering queued events, a frame at 60 Hz.
+   */
+  private static final long FRAME_INTERVAL_MILLIS = 16;
+
+  private static MainThreadDispatcher instance;
+
+  private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+  private final ConcurrentLinkedQueue<Runnable> pendingEvents = new ConcurrentLinkedQueue<>();
+
+  /**
+   * Whether a message to deliver the pending events has been posted and not run yet.
+   */
+  private final AtomicBoolean drainScheduled = new AtomicBoolean();
+
+  /**
+   * Time queued events were last delivered, in {@link SystemClock#uptimeMillis()} time base.
+   */
+  private volatile long lastDrainTime;
+
+  private final Runnable drainRunnable =
+      new Runnable() {
+        @Override
+        public void run() {
+          drainScheduled.set(false);
+          lastDrainTime = SystemClock.uptimeMillis();
+          drainPendingEvents();
+        }
+      };
+
+  private MainThreadDispatcher() {
+  }
+
+  @NonNull
+  static synchronized MainThreadDispatcher getInstance() {
+    if (instance == null) {
+      instance = new MainThreadDispatcher();
+    }
+    return instance;
+  }
+
+  /**
+   * Runs the given event on the main thread, after any event dispatched before it.
+   */
+  void dispatch(@NonNull Runnable event) {
+    pendingEvents.add(event);
+    if (drainScheduled.compareAndSet(false, true)) {
+      // Deliver at most once per frame, so that a burst spread over a frame still takes a single
+      // message.
+      mainHandler.postAtTime(
+          drainRunnable,
+          Math.max(SystemClock.uptimeMillis(), lastDrainTime + FRAME_INTERVAL_MILLIS));
+    }
+  }
+
+  private void drainPendingEvents() {
+    Runnable event;
+    while ((event = pendingEvents.poll()) != null) {
+      event.run();
+    }
+  }
+}
@@ -13,6 +13,8 @@ import com.verizon.ads.BuildConfig;
 import com.verizon.ads.RequestMetadata;
 import com.verizon.ads.VASAds;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Set;
 
 class VerizonMediaAdapterUtils {
 
@@ -24,26 +26,54 @@ class VerizonMediaAdapterUtils {
   public static final String SITE_KEY = "site_id";
 
   /**
-   * Gets the ad request metadata.
+   * Keywords of the last ad request whose metadata was built. Guarded by the class.
+   */
+  private static Set<String> lastKeywords;
+
+  /**
+   * Metadata built for the last ad request. Guarded by the class.
+   */
+  private static RequestMetadata lastRequestMetadata;
+
+  /**
+   * Metadata of the ad requests that only carry the mediator. Guarded by the class.
    */
-  public static RequestMetadata getRequestMetadata(final MediationAdRequest mediationAdRequest) {
+  private static RequestMetadata mediatorRequestMetadata;
+
+  /**
+   * Gets the ad request metadata. Consecutive ad requests usually carry the same keywords, in which
+   * case the metadata built for the previous request is returned.
+   */
+  public static synchronized RequestMetadata getRequestMetadata(
+      final MediationAdRequest mediationAdRequest) {
+    Set<String> keywords = mediationAdRequest.getKeywords();
+    if (lastRequestMetadata != null
+        && (keywords == null ? lastKeywords == null : keywords.equals(lastKeywords))) {
+      return lastRequestMetadata;
+    }
+
     RequestMetadata.Builder requestMetadataBuilder = new RequestMetadata.Builder();
-    if (mediationAdRequest.getKeywords() != null) {
-      requestMetadataBuilder
-          .putExtra("keywords", new ArrayList<>(mediationAdRequest.getKeywords()));
+    if (keywords != null) {
+      requestMetadataBuilder.putExtra("keywords", new ArrayList<>(keywords));
     }
     requestMetadataBuilder.setMediator(MEDIATOR_ID);
 
-    return requestMetadataBuilder.build();
+    lastKeywords = keywords != null ? new HashSet<>(keywords) : null;
+    lastRequestMetadata = requestMetadataBuilder.build();
+    return lastRequestMetadata;
   }
 
   /**
    * Gets the ad request metadata.
    */
-  public static RequestMetadata getRequestMetaData(MediationAdConfiguration adConfiguration) {
-    RequestMetadata.Builder requestMetaDataBuilder = new RequestMetadata.Builder();
-    requestMetaDataBuilder.setMediator(MEDIATOR_ID);
-    return requestMetaDataBuilder.build();
+  public static synchronized RequestMetadata getRequestMetaData(
+      MediationAdConfiguration adConfiguration) {
+    if (mediatorRequestMetadata == null) {
+      RequestMetadata.Builder requestMetaDataBuilder = new RequestMetadata.Builder();
+      requestMetaDataBuilder.setMediator(MEDIATOR_ID);
+      mediatorRequestMetadata = requestMetaDataBuilder.build();
+    }
+    return mediatorRequestMetadata;
   }
 
   /**
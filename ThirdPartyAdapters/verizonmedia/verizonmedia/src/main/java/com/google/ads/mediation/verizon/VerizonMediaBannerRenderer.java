@@ -20,7 +20,6 @@ import com.verizon.ads.VASAds;
 import com.verizon.ads.inlineplacement.InlineAdFactory;
 import com.verizon.ads.inlineplacement.InlineAdView;
 import com.verizon.ads.utils.TextUtils;
-import com.verizon.ads.utils.ThreadUtils;
 import java.lang.ref.WeakReference;
 import java.util.Collections;
 import java.util.Map;
@@ -131,7 +130,7 @@ final class VerizonMediaBannerRenderer implements InlineAdView.InlineAdListener,
   @Override
   public void onExpanded(final InlineAdView inlineAdView) {
     Log.i(TAG, "Verizon Ads SDK inline ad expanded.");
-    ThreadUtils.postOnUiThread(new Runnable() {
+    MainThreadDispatcher.getInstance().dispatch(new Runnable() {
       @Override
       public void run() {
         MediationBannerAdapter adapter = bannerAdapterWeakRef.get();
@@ -145,7 +144,7 @@ final class VerizonMediaBannerRenderer implements InlineAdView.InlineAdListener,
   @Override
   public void onCollapsed(final InlineAdView inlineAdView) {
     Log.i(TAG, "Verizon Ads SDK inline ad collapsed.");
-    ThreadUtils.postOnUiThread(new Runnable() {
+    MainThreadDispatcher.getInstance().dispatch(new Runnable() {
       @Override
       public void run() {
         MediationBannerAdapter adapter = bannerAdapterWeakRef.get();
@@ -159,7 +158,7 @@ final class VerizonMediaBannerRenderer implements InlineAdView.InlineAdListener,
   @Override
   public void onClicked(final InlineAdView inlineAdView) {
     Log.i(TAG, "Verizon Ads SDK inline ad clicked.");
-    ThreadUtils.postOnUiThread(new Runnable() {
+    MainThreadDispatcher.getInstance().dispatch(new Runnable() {
       @Override
       public void run() {
         MediationBannerAdapter adapter = bannerAdapterWeakRef.get();
@@ -173,7 +172,7 @@ final class VerizonMediaBannerRenderer implements InlineAdView.InlineAdListener,
   @Override
   public void onAdLeftApplication(final InlineAdView inlineAdView) {
     Log.i(TAG, "Verizon Ads SDK inline ad left application.");
-    ThreadUtils.postOnUiThread(new Runnable() {
+    MainThreadDispatcher.getInstance().dispatch(new Runnable() {
       @Override
       public void run() {
         MediationBannerAdapter adapter = bannerAdapterWeakRef.get();
@@ -199,7 +198,7 @@ final class VerizonMediaBannerRenderer implements InlineAdView.InlineAdListener,
   public void onLoaded(final InlineAdFactory inlineAdFactory, final InlineAdView inlineAdView) {
     this.inlineAdView = inlineAdView;
     Log.i(TAG, "Verizon Ads SDK inline ad request succeeded.");
-    ThreadUtils.postOnUiThread(new Runnable() {
+    MainThreadDispatcher.getInstance().dispatch(new Runnable() {
       @Override
       public void run() {
         MediationBannerAdapter adapter = bannerAdapterWeakRef.get();
@@ -228,7 +227,7 @@ final class VerizonMediaBannerRenderer implements InlineAdView.InlineAdListener,
       default:
         errorCode = AdRequest.ERROR_CODE_NO_FILL;
     }
-    ThreadUtils.postOnUiThread(new Runnable() {
+    MainThreadDispatcher.getInstance().dispatch(new Runnable() {
       @Override
       public void run() {
         MediationBannerAdapter adapter = bannerAdapterWeakRef.get();
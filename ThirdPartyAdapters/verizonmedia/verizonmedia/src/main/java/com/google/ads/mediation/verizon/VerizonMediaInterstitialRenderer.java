@@ -16,7 +16,6 @@ import com.verizon.ads.VASAds;
 import com.verizon.ads.interstitialplacement.InterstitialAd;
 import com.verizon.ads.interstitialplacement.InterstitialAdFactory;
 import com.verizon.ads.utils.TextUtils;
-import com.verizon.ads.utils.ThreadUtils;
 import java.lang.ref.WeakReference;
 import java.util.Map;
 
@@ -83,7 +82,7 @@ final class VerizonMediaInterstitialRenderer implements InterstitialAd.Interstit
   @Override
   public void onError(final InterstitialAd interstitialAd, final ErrorInfo errorInfo) {
     Log.e(TAG, "Verizon Ads SDK interstitial error: " + errorInfo);
-    ThreadUtils.postOnUiThread(new Runnable() {
+    MainThreadDispatcher.getInstance().dispatch(new Runnable() {
       @Override
       public void run() {
         MediationInterstitialAdapter adapter = interstitialAdapterWeakRef.get();
@@ -98,7 +97,7 @@ final class VerizonMediaInterstitialRenderer implements InterstitialAd.Interstit
   @Override
   public void onShown(final InterstitialAd interstitialAd) {
     Log.i(TAG, "Verizon Ads SDK interstitial shown.");
-    ThreadUtils.postOnUiThread(new Runnable() {
+    MainThreadDispatcher.getInstance().dispatch(new Runnable() {
       @Override
       public void run() {
         MediationInterstitialAdapter adapter = interstitialAdapterWeakRef.get();
@@ -112,7 +111,7 @@ final class VerizonMediaInterstitialRenderer implements InterstitialAd.Interstit
   @Override
   public void onClosed(final InterstitialAd interstitialAd) {
     Log.i(TAG, "Verizon Ads SDK ad closed");
-    ThreadUtils.postOnUiThread(new Runnable() {
+    MainThreadDispatcher.getInstance().dispatch(new Runnable() {
       @Override
       public void run() {
         MediationInterstitialAdapter adapter = interstitialAdapterWeakRef.get();
@@ -126,7 +125,7 @@ final class VerizonMediaInterstitialRenderer implements InterstitialAd.Interstit
   @Override
   public void onClicked(final InterstitialAd interstitialAd) {
     Log.i(TAG, "Verizon Ads SDK interstitial clicked.");
-    ThreadUtils.postOnUiThread(new Runnable() {
+    MainThreadDispatcher.getInstance().dispatch(new Runnable() {
       @Override
       public void run() {
         MediationInterstitialAdapter adapter = interstitialAdapterWeakRef.get();
@@ -140,7 +139,7 @@ final class VerizonMediaInterstitialRenderer implements InterstitialAd.Interstit
   @Override
   public void onAdLeftApplication(final InterstitialAd interstitialAd) {
     Log.i(TAG, "Verizon Ads SDK interstitial left application.");
-    ThreadUtils.postOnUiThread(new Runnable() {
+    MainThreadDispatcher.getInstance().dispatch(new Runnable() {
       @Override
       public void run() {
         MediationInterstitialAdapter adapter = interstitialAdapterWeakRef.get();
@@ -163,7 +162,7 @@ final class VerizonMediaInterstitialRenderer implements InterstitialAd.Interstit
 
     this.interstitialAd = interstitialAd;
     Log.i(TAG, "Verizon Ads SDK interstitial loaded.");
-    ThreadUtils.postOnUiThread(new Runnable() {
+    MainThreadDispatcher.getInstance().dispatch(new Runnable() {
       @Override
       public void run() {
         MediationInterstitialAdapter adapter = interstitialAdapterWeakRef.get();
@@ -191,7 +190,7 @@ final class VerizonMediaInterstitialRenderer implements InterstitialAd.Interstit
       default:
         errorCode = AdRequest.ERROR_CODE_NO_FILL;
     }
-    ThreadUtils.postOnUiThread(new Runnable() {
+    MainThreadDispatcher.getInstance().dispatch(new Runnable() {
       @Override
       public void run() {
         MediationInterstitialAdapter adapter = interstitialAdapterWeakRef.get();
@@ -18,7 +18,6 @@ import com.verizon.ads.VASAds;
 import com.verizon.ads.nativeplacement.NativeAd;
 import com.verizon.ads.nativeplacement.NativeAdFactory;
 import com.verizon.ads.utils.TextUtils;
-import com.verizon.ads.utils.ThreadUtils;
 import java.lang.ref.WeakReference;
 import java.util.Map;
 
@@ -106,7 +105,7 @@ final class VerizonMediaNativeRenderer implements NativeAd.NativeAdListener,
   @Override
   public void onClosed(final NativeAd nativeAd) {
     Log.i(TAG, "Verizon Ads SDK native ad closed.");
-    ThreadUtils.postOnUiThread(new Runnable() {
+    MainThreadDispatcher.getInstance().dispatch(new Runnable() {
       @Override
       public void run() {
         MediationNativeAdapter adapter = nativeAdapterWeakRef.get();
@@ -120,7 +119,7 @@ final class VerizonMediaNativeRenderer implements NativeAd.NativeAdListener,
   @Override
   public void onClicked(final NativeAd nativeAd, final Component component) {
     Log.i(TAG, "Verizon Ads SDK native ad clicked.");
-    ThreadUtils.postOnUiThread(new Runnable() {
+    MainThreadDispatcher.getInstance().dispatch(new Runnable() {
       @Override
       public void run() {
         MediationNativeAdapter adapter = nativeAdapterWeakRef.get();
@@ -135,7 +134,7 @@ final class VerizonMediaNativeRenderer implements NativeAd.NativeAdListener,
   @Override
   public void onAdLeftApplication(final NativeAd nativeAd) {
     Log.i(TAG, "Verizon Ads SDK native ad left application.");
-    ThreadUtils.postOnUiThread(new Runnable() {
+    MainThreadDispatcher.getInstance().dispatch(new Runnable() {
       @Override
       public void run() {
         MediationNativeAdapter adapter = nativeAdapterWeakRef.get();
@@ -157,7 +156,7 @@ final class VerizonMediaNativeRenderer implements NativeAd.NativeAdListener,
   public void onLoaded(final NativeAdFactory nativeAdFactory, final NativeAd nativeAd) {
     this.nativeAd = nativeAd;
     Log.i(TAG, "Verizon Ads SDK native ad request succeeded: Loading succeeded.");
-    ThreadUtils.postOnUiThread(new Runnable() {
+    MainThreadDispatcher.getInstance().dispatch(new Runnable() {
       @Override
       public void run() {
 
@@ -168,7 +167,7 @@ final class VerizonMediaNativeRenderer implements NativeAd.NativeAdListener,
         mapper.loadResources(new AdapterUnifiedNativeAdMapper.LoadListener() {
           @Override
           public void onLoadComplete() {
-            ThreadUtils.postOnUiThread(new Runnable() {
+            MainThreadDispatcher.getInstance().dispatch(new Runnable() {
               @Override
               public void run() {
                 nativeListener.onAdLoaded(adapter, mapper);
@@ -178,7 +177,7 @@ final class VerizonMediaNativeRenderer implements NativeAd.NativeAdListener,
 
           @Override
           public void onLoadError() {
-            ThreadUtils.postOnUiThread(new Runnable() {
+            MainThreadDispatcher.getInstance().dispatch(new Runnable() {
               @Override
               public void run() {
                 nativeListener.onAdFailedToLoad(adapter,
@@ -207,7 +206,7 @@ final class VerizonMediaNativeRenderer implements NativeAd.NativeAdListener,
       default:
         errorCode = AdRequest.ERROR_CODE_NO_FILL;
     }
-    ThreadUtils.postOnUiThread(new Runnable() {
+    MainThreadDispatcher.getInstance().dispatch(new Runnable() {
       @Override
       public void run() {
         MediationNativeAdapter adapter = nativeAdapterWeakRef.get();
@@ -17,7 +17,6 @@ import com.verizon.ads.ErrorInfo;
 import com.verizon.ads.VASAds;
 import com.verizon.ads.interstitialplacement.InterstitialAd;
 import com.verizon.ads.interstitialplacement.InterstitialAdFactory;
-import com.verizon.ads.utils.ThreadUtils;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -97,7 +96,7 @@ class VerizonMediaRewardedRenderer implements InterstitialAd.InterstitialAdListe
     this.rewardedAd = interstitialAd;
     // Reset the completion event with each new interstitial ad load.
     completionEventCalled.set(false);
-    ThreadUtils.postOnUiThread(new Runnable() {
+    MainThreadDispatcher.getInstance().dispatch(new Runnable() {
       @Override
       public void run() {
         if (mediationAdLoadCallback != null) {
@@ -115,7 +114,7 @@ class VerizonMediaRewardedRenderer implements InterstitialAd.InterstitialAdListe
     final String message = "Verizon Ads SDK incentivized video interstitial request failed (" +
         errorInfo.getErrorCode() + "): " + errorInfo.getDescription();
     Log.w(TAG, message);
-    ThreadUtils.postOnUiThread(new Runnable() {
+    MainThreadDispatcher.getInstance().dispatch(new Runnable() {
       @Override
       public void run() {
         if (mediationAdLoadCallback != null) {
@@ -132,7 +131,7 @@ class VerizonMediaRewardedRenderer implements InterstitialAd.InterstitialAdListe
 
     // This error callback is used if the interstitial ad is loaded successfully, but an
     // error occurs while trying to display
-    ThreadUtils.postOnUiThread(new Runnable() {
+    MainThreadDispatcher.getInstance().dispatch(new Runnable() {
       @Override
       public void run() {
         if (mediationRewardedAdCallback != null) {
@@ -145,7 +144,7 @@ class VerizonMediaRewardedRenderer implements InterstitialAd.InterstitialAdListe
   @Override
   public void onShown(final InterstitialAd interstitialAd) {
     Log.i(TAG, "Verizon Ads SDK incentivized video interstitial shown.");
-    ThreadUtils.postOnUiThread(new Runnable() {
+    MainThreadDispatcher.getInstance().dispatch(new Runnable() {
       @Override
       public void run() {
         if (mediationRewardedAdCallback != null) {
@@ -159,7 +158,7 @@ class VerizonMediaRewardedRenderer implements InterstitialAd.InterstitialAdListe
   @Override
   public void onClosed(final InterstitialAd interstitialAd) {
     Log.i(TAG, "Verizon Ads SDK ad closed.");
-    ThreadUtils.postOnUiThread(new Runnable() {
+    MainThreadDispatcher.getInstance().dispatch(new Runnable() {
       @Override
       public void run() {
         if (mediationRewardedAdCallback != null) {
@@ -172,7 +171,7 @@ class VerizonMediaRewardedRenderer implements InterstitialAd.InterstitialAdListe
   @Override
   public void onClicked(final InterstitialAd interstitialAd) {
     Log.i(TAG, "Verizon Ads SDK incentivized video interstitial clicked.");
-    ThreadUtils.postOnUiThread(new Runnable() {
+    MainThreadDispatcher.getInstance().dispatch(new Runnable() {
       @Override
       public void run() {
         if (mediationRewardedAdCallback != null) {
@@ -192,7 +191,7 @@ class VerizonMediaRewardedRenderer implements InterstitialAd.InterstitialAdListe
       final String eventId, final Map<String, Object> arguments) {
 
     if (VIDEO_COMPLETE_EVENT_ID.equals(eventId) && !completionEventCalled.getAndSet(true)) {
-      ThreadUtils.postOnUiThread(new Runnable() {
+      MainThreadDispatcher.getInstance().dispatch(new Runnable() {
         @Override
         public void run() {
           if (mediationRewardedAdCallback != null) {
@@ -3,6 +3,7 @@ package com.google.ads.mediation.vungle;
 import android.content.Context;
 import android.os.Handler;
 import android.os.Looper;
+import androidx.annotation.NonNull;
 import com.vungle.mediation.VungleConsent;
 import com.vungle.mediation.VungleNetworkSettings;
 import com.vungle.warren.InitCallback;
@@ -11,15 +12,12 @@ import com.vungle.warren.Vungle;
 import com.vungle.warren.VungleApiClient;
 import com.vungle.warren.VungleSettings;
 import com.vungle.warren.error.VungleException;
-import java.util.ArrayList;
-import java.util.concurrent.atomic.AtomicBoolean;
 
 public class VungleInitializer implements InitCallback {
 
   private static final VungleInitializer instance = new VungleInitializer();
-  private AtomicBoolean mIsInitializing = new AtomicBoolean(false);
 
-  private ArrayList<VungleInitializationListener> mInitListeners;
+  private final SingleFlightInitializer mInitializer = new SingleFlightInitializer();
 
   private Handler mHandler = new Handler(Looper.getMainLooper());
 
@@ -28,25 +26,40 @@ public class VungleInitializer implements InitCallback {
   }
 
   private VungleInitializer() {
-    mInitListeners = new ArrayList<>();
     Plugin.addWrapperInfo(
         VungleApiClient.WrapperFramework.admob,
         com.vungle.mediation.BuildConfig.VERSION_NAME.replace('.', '_'));
   }
 
   public void initialize(
-      final String appId, final Context context, VungleInitializationListener listener) {
+      final String appId, final Context context, final VungleInitializationListener listener) {
 
     if (Vungle.isInitialized()) {
       listener.onInitializeSuccess();
       return;
     }
 
-    if (mIsInitializing.getAndSet(true)) {
-      mInitListeners.add(listener);
-      return;
-    }
+    mInitializer.initialize(
+        new SingleFlightInitializer.Listener() {
+          @Override
+          public void onInitializeSuccess() {
+            listener.onInitializeSuccess();
+          }
 
+          @Override
+          public void onInitializeError(@NonNull String errorMessage) {
+            listener.onInitializeError(errorMessage);
+          }
+        },
+        new Runnable() {
+          @Override
+          public void run() {
+            startInitialization(appId, context);
+          }
+        });
+  }
+
+  private void startInitialization(final String appId, final Context context) {
     // Keep monitoring VungleSettings in case of any changes we need to re-init SDK to apply
     // updated settings.
     VungleNetworkSettings.setVungleSettingsChangedListener(
@@ -70,7 +83,6 @@ public class VungleInitializer implements InitCallback {
       vungleSettings = new VungleSettings.Builder().build();
     }
     Vungle.init(appId, context.getApplicationContext(), VungleInitializer.this, vungleSettings);
-    mInitListeners.add(listener);
   }
 
   @Override
@@ -84,28 +96,16 @@ public class VungleInitializer implements InitCallback {
                   VungleConsent.getCurrentVungleConsent(),
                   VungleConsent.getCurrentVungleConsentMessageVersion());
             }
-            for (VungleInitializationListener listener : mInitListeners) {
-              listener.onInitializeSuccess();
-            }
-            mInitListeners.clear();
+            mInitializer.onSuccess();
           }
         });
-    mIsInitializing.set(false);
   }
 
   @Override
   public void onError(final VungleException throwable) {
-    mHandler.post(
-        new Runnable() {
-          @Override
-          public void run() {
-            for (VungleInitializationListener listener : mInitListeners) {
-              listener.onInitializeError(throwable.getLocalizedMessage());
-            }
-            mInitListeners.clear();
-          }
-        });
-    mIsInitializing.set(false);
+    String errorMessage = throwable.getLocalizedMessage();
+    mInitializer.onFailure(
+        errorMessage != null ? errorMessage : "Vungle SDK failed to initialize: " + throwable);
   }
 
   @Override
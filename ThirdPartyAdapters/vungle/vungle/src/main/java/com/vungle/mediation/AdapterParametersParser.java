@@ -14,6 +14,7 @@ class AdapterParametersParser {
 
     private String appId;
     private String requestUniqueId;
+    private boolean doubleBufferedBannerRefresh;
 
     public String getAppId() {
       return appId;
@@ -22,6 +23,10 @@ class AdapterParametersParser {
     public String getRequestUniqueId() {
       return requestUniqueId;
     }
+
+    public boolean isDoubleBufferedBannerRefresh() {
+      return doubleBufferedBannerRefresh;
+    }
   }
 
   public static Config parse(Bundle networkExtras, Bundle serverParameters)
@@ -40,6 +45,9 @@ class AdapterParametersParser {
     Config ret = new Config();
     ret.appId = appId;
     ret.requestUniqueId = uuid;
+    ret.doubleBufferedBannerRefresh =
+        networkExtras != null
+            && networkExtras.getBoolean(VungleExtrasBuilder.EXTRA_DOUBLE_BUFFERED_BANNER_REFRESH);
     return ret;
   }
 }
@@ -0,0 +1,111 @@
+package com.vungle.mediation;
+
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.content.res.Configuration;
+import androidx.annotation.NonNull;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Releases the memory held by the adapter when the system reports memory pressure. Caches and idle
+ * ads register as {@link Trimmable}s, which are trimmed in ascending order of priority so that the
+ * resources that are cheapest to rebuild go first.
+ */
+final class MemoryTrimCoordinator implements ComponentCallbacks2 {
+
+  private static final String TAG = MemoryTrimCoordinator.class.getSimpleName();
+
+  interface Trimmable {
+
+    /**
+     * Releases memory according to the given trim level, one of the {@code TRIM_MEMORY_*}
+     * constants of {@link ComponentCallbacks2}.
+     *
+     * @return an estimate of the number of bytes released.
+     */
+    long trim(int level);
+  }
+
+  /** Priority of loaded ads which are not being shown. */
+  static final int PRIORITY_IDLE_AD = 10;
+
+  private static MemoryTrimCoordinator instance;
+
+  /** Registered trimmables, in ascending order of priority. Guarded by this. */
+  private final List<Registration> mRegistrations = new ArrayList<>();
+
+  /** Whether this coordinator has been registered for memory trim callbacks. Guarded by this. */
+  private boolean mRegisteredForTrimMemory;
+
+  private MemoryTrimCoordinator() {
+  }
+
+  @NonNull
+  static synchronized MemoryTrimCoordinator getInstance() {
+    if (instance == null) {
+      instance = new MemoryTrimCoordinator();
+    }
+    return instance;
+  }
+
+  /**
+   * Registers a trimmable with the given priority, if not registered already. Trimmables with a
+   * lower priority are trimmed first.
+   */
+  synchronized void register(@NonNull Context context, @NonNull Trimmable trimmable, int priority) {
+    if (!mRegisteredForTrimMemory) {
+      context.getApplicationContext().registerComponentCallbacks(this);
+      mRegisteredForTrimMemory = true;
+    }
+    int index = mRegistrations.size();
+    for (int i = mRegistrations.size() - 1; i >= 0; i--) {
+      Registration registration = mRegistrations.get(i);
+      if (registration.mTrimmable == trimmable) {
+        return;
+      }
+      if (registration.mPriority > priority) {
+        index = i;
+      }
+    }
+    mRegistrations.add(index, new Registration(trimmable, priority));
+  }
+
+  @Override
+  public void onTrimMemory(int level) {
+    List<Registration> registrations;
+    synchronized (this) {
+      registrations = new ArrayList<>(mRegistrations);
+    }
+    long releasedBytes = 0;
+    for (Registration registration : registrations) {
+      releasedBytes += registration.mTrimmable.trim(level);
+    }
+    if (releasedBytes > 0 && VungleLog.isDebugLoggable(TAG)) {
+      VungleLog.d(TAG, "Released %dKB of adapter memory at trim level %d.",
+          releasedBytes / 1024, level);
+    }
+  }
+
+  @Override
+  public void onLowMemory() {
+    onTrimMemory(TRIM_MEMORY_COMPLETE);
+  }
+
+  @Override
+  public void onConfigurationChanged(@NonNull Configuration newConfig) {
+    // No op.
+  }
+
+  private static final class Registration {
+
+    private final Trimmable mTrimmable;
+
+    private final int mPriority;
+
+    Registration(@NonNull Trimmable trimmable, int priority) {
+      mTrimmable = trimmable;
+      mPriority = priority;
+    }
+  }
+}
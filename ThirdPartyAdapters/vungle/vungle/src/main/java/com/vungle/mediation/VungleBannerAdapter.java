@@ -1,7 +1,6 @@
 package com.vungle.mediation;
 
 import android.content.Context;
-import android.util.Log;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.RelativeLayout;
@@ -53,6 +52,23 @@ class VungleBannerAdapter {
   /** Indicates the Vungle banner ad's visibility. */
   private boolean mVisibility = true;
 
+  /** Whether a refresh keeps showing the current banner ad until the next one is ready. */
+  private boolean mDoubleBuffered;
+
+  /** Banner ad replaced by a refresh, kept on screen until the new one is attached. */
+  @Nullable private VungleBanner mRetiredBannerAd;
+
+  /** MREC ad replaced by a refresh, kept on screen until the new one is attached. */
+  @Nullable private VungleNativeAd mRetiredNativeAd;
+
+  /**
+   * Ad layout and listener of the banner ad being refreshed, restored if a double-buffered refresh
+   * fails.
+   */
+  @Nullable private WeakReference<RelativeLayout> mPreviousAdLayout;
+
+  @Nullable private WeakReference<VungleListener> mPreviousVungleListener;
+
   VungleBannerAdapter(
       @NonNull String placementId,
       @Nullable String uniquePubRequestId,
@@ -73,13 +89,82 @@ class VungleBannerAdapter {
   // to break view's parent-child references chain to the leaked VungleBannerAdapter in
   // VungleManager.
   void setAdLayout(@NonNull RelativeLayout adLayout) {
-    this.mAdLayout = new WeakReference<>(adLayout);
+    mPreviousAdLayout = mAdLayout;
+    this.mAdLayout = mVungleManager.trackAdLayout(mPlacementId, adLayout, this);
   }
 
   void setVungleListener(@Nullable VungleListener vungleListener) {
+    mPreviousVungleListener = mVungleListener;
     this.mVungleListener = new WeakReference<>(vungleListener);
   }
 
+  /**
+   * Sets whether a refresh keeps the current banner ad on screen until the next one is attached,
+   * and keeps it if the next one fails to load.
+   */
+  void setDoubleBuffered(boolean doubleBuffered) {
+    mDoubleBuffered = doubleBuffered;
+  }
+
+  private boolean hasAd() {
+    return mVungleBannerAd != null || mVungleNativeAd != null;
+  }
+
+  /**
+   * Whether a failed load can fall back to the banner ad already shown, instead of destroying it.
+   */
+  private boolean canKeepCurrentAd() {
+    return mDoubleBuffered && hasAd() && mPreviousAdLayout != null;
+  }
+
+  /**
+   * Hands the banner ad back to the ad layout and listener it was shown with before a failed
+   * refresh.
+   */
+  private void restorePreviousAdLayout() {
+    if (mPreviousAdLayout != null) {
+      mAdLayout = mPreviousAdLayout;
+      mPreviousAdLayout = null;
+      if (mAdLayout.get() == null) {
+        mVungleManager.untrackAdLayout(mPlacementId, this);
+      }
+    }
+    if (mPreviousVungleListener != null) {
+      mVungleListener = mPreviousVungleListener;
+      mPreviousVungleListener = null;
+    }
+  }
+
+  /** Keeps the current banner ad on screen while its replacement is created. */
+  private void retireCurrentAd() {
+    destroyRetiredAd();
+    mRetiredBannerAd = mVungleBannerAd;
+    mRetiredNativeAd = mVungleNativeAd;
+    mVungleBannerAd = null;
+    mVungleNativeAd = null;
+  }
+
+  private void destroyRetiredAd() {
+    if (mRetiredBannerAd != null) {
+      if (VungleLog.isDebugLoggable(TAG)) {
+        VungleLog.d(
+            TAG, "Vungle banner adapter destroy retired # %d", mRetiredBannerAd.hashCode());
+      }
+      removeFromParent(mRetiredBannerAd);
+      mRetiredBannerAd.destroyAd();
+      mRetiredBannerAd = null;
+    }
+    if (mRetiredNativeAd != null) {
+      if (VungleLog.isDebugLoggable(TAG)) {
+        VungleLog.d(
+            TAG, "Vungle banner adapter finish retired # %d", mRetiredNativeAd.hashCode());
+      }
+      removeFromParent(mRetiredNativeAd.renderNativeView());
+      mRetiredNativeAd.finishDisplayingAd();
+      mRetiredNativeAd = null;
+    }
+  }
+
   @Nullable
   private VungleListener getVungleListener() {
     return mVungleListener.get();
@@ -89,9 +174,32 @@ class VungleBannerAdapter {
     return mAdLayout.get() != null;
   }
 
+  /** Returns whether a banner ad has been loaded but its ad layout is not in a window. */
+  boolean isIdle() {
+    if (mVungleBannerAd == null && mVungleNativeAd == null) {
+      return false;
+    }
+    RelativeLayout layout = mAdLayout.get();
+    return layout == null || layout.getWindowToken() == null;
+  }
+
+  /** Returns an estimate of the memory used to draw the banner ad, in bytes. */
+  long estimateSizeInBytes() {
+    View adView = mVungleBannerAd;
+    if (adView == null && mVungleNativeAd != null) {
+      adView = mVungleNativeAd.renderNativeView();
+    }
+    if (adView == null) {
+      return 0;
+    }
+    // One ARGB_8888 surface the size of the ad view.
+    return 4L * adView.getWidth() * adView.getHeight();
+  }
+
   void requestBannerAd(@NonNull Context context, @NonNull String appId) {
-    Log.d(TAG, "requestBannerAd: " + this);
+    VungleLog.d(TAG, "requestBannerAd: %s", this);
     mPendingRequestBanner = true;
+    mVungleManager.registerForTrimMemory(context);
     VungleInitializer.getInstance()
         .initialize(
             appId,
@@ -104,7 +212,7 @@ class VungleBannerAdapter {
 
               @Override
               public void onInitializeError(String errorMessage) {
-                Log.d(TAG, "SDK init failed: " + VungleBannerAdapter.this);
+                VungleLog.d(TAG, "SDK init failed: %s", VungleBannerAdapter.this);
                 VungleListener listener = getVungleListener();
                 mVungleManager.removeActiveBannerAd(mPlacementId);
                 if (mPendingRequestBanner && listener != null) {
@@ -115,9 +223,9 @@ class VungleBannerAdapter {
   }
 
   void destroy(@Nullable View adView) {
-    Log.d(TAG, "Vungle banner adapter try to destroy:" + this);
+    VungleLog.d(TAG, "Vungle banner adapter try to destroy:%s", this);
     if (adView == mAdLayout.get()) {
-      Log.d(TAG, "Vungle banner adapter destroy:" + this);
+      VungleLog.d(TAG, "Vungle banner adapter destroy:%s", this);
       mVisibility = false;
       mVungleManager.removeActiveBannerAd(mPlacementId);
       cleanUp();
@@ -134,18 +242,20 @@ class VungleBannerAdapter {
   }
 
   void cleanUp() {
-    Log.d(TAG, "Vungle banner adapter try to cleanUp:" + this);
+    VungleLog.d(TAG, "Vungle banner adapter try to cleanUp:%s", this);
+    destroyRetiredAd();
 
     if (mVungleBannerAd != null) {
-      Log.d(TAG, "Vungle banner adapter cleanUp: destroyAd # " + mVungleBannerAd.hashCode());
+      VungleLog.d(
+          TAG, "Vungle banner adapter cleanUp: destroyAd # %d", mVungleBannerAd.hashCode());
       mVungleBannerAd.destroyAd();
       detach();
       mVungleBannerAd = null;
     }
 
     if (mVungleNativeAd != null) {
-      Log.d(
-          TAG, "Vungle banner adapter cleanUp: finishDisplayingAd # " + mVungleNativeAd.hashCode());
+      VungleLog.d(TAG, "Vungle banner adapter cleanUp: finishDisplayingAd # %d",
+          mVungleNativeAd.hashCode());
       mVungleNativeAd.finishDisplayingAd();
       detach();
       mVungleNativeAd = null;
@@ -179,9 +289,13 @@ class VungleBannerAdapter {
 
         @Override
         public void onError(String id, VungleException exception) {
-          Log.d(TAG, "Ad load failed:" + VungleBannerAdapter.this);
+          VungleLog.d(TAG, "Ad load failed:%s", VungleBannerAdapter.this);
           VungleListener listener = getVungleListener();
-          mVungleManager.removeActiveBannerAd(mPlacementId);
+          if (canKeepCurrentAd()) {
+            restorePreviousAdLayout();
+          } else {
+            mVungleManager.removeActiveBannerAd(mPlacementId);
+          }
           if (mPendingRequestBanner && listener != null) {
             listener.onAdFailedToLoad(AdRequest.ERROR_CODE_NO_FILL);
           }
@@ -236,7 +350,7 @@ class VungleBannerAdapter {
 
         @Override
         public void onError(String placementId, VungleException exception) {
-          Log.d(TAG, "Ad play failed:" + VungleBannerAdapter.this);
+          VungleLog.d(TAG, "Ad play failed:%s", VungleBannerAdapter.this);
           VungleListener listener = getVungleListener();
           mVungleManager.removeActiveBannerAd(mPlacementId);
           if (mPendingRequestBanner && listener != null) {
@@ -246,7 +360,7 @@ class VungleBannerAdapter {
       };
 
   private void loadBanner() {
-    Log.d(TAG, "loadBanner:" + this);
+    VungleLog.d(TAG, "loadBanner:%s", this);
     if (AdConfig.AdSize.isBannerAdSize(mAdConfig.getAdSize())) {
       Banners.loadBanner(mPlacementId, mAdConfig.getAdSize(), mAdLoadCallback);
     } else {
@@ -255,12 +369,20 @@ class VungleBannerAdapter {
   }
 
   private void createBanner() {
-    Log.d(TAG, "create banner:" + this);
+    VungleLog.d(TAG, "create banner:%s", this);
     if (!mPendingRequestBanner) {
       return;
     }
 
-    cleanUp();
+    boolean keepCurrentAd = canKeepCurrentAd();
+    if (keepCurrentAd) {
+      retireCurrentAd();
+    } else {
+      cleanUp();
+    }
+    // Past this point, a failed refresh no longer falls back to the previous ad layout.
+    mPreviousAdLayout = null;
+    mPreviousVungleListener = null;
     RelativeLayout.LayoutParams adParams =
         new RelativeLayout.LayoutParams(
             RelativeLayout.LayoutParams.WRAP_CONTENT, RelativeLayout.LayoutParams.WRAP_CONTENT);
@@ -268,45 +390,47 @@ class VungleBannerAdapter {
     adParams.addRule(RelativeLayout.CENTER_VERTICAL, RelativeLayout.TRUE);
     VungleListener listener = getVungleListener();
 
+    View adView = null;
     if (AdConfig.AdSize.isBannerAdSize(mAdConfig.getAdSize())) {
       mVungleBannerAd = Banners.getBanner(mPlacementId, mAdConfig.getAdSize(), mAdPlayCallback);
+      if (mVungleBannerAd == null && keepCurrentAd) {
+        // The SDK may not play two banner ads of the same placement at once.
+        destroyRetiredAd();
+        mVungleBannerAd = Banners.getBanner(mPlacementId, mAdConfig.getAdSize(), mAdPlayCallback);
+      }
       if (mVungleBannerAd != null) {
-        Log.d(TAG, "display banner:" + mVungleBannerAd.hashCode() + this);
-        mVungleManager.storeActiveBannerAd(mPlacementId, this);
-        updateVisibility(mVisibility);
-        mVungleBannerAd.setLayoutParams(adParams);
-        // don't add to parent here
-        if (listener != null) {
-          listener.onAdAvailable();
-        }
-      } else {
-        // missing resources
-        if (listener != null) {
-          listener.onAdFailedToLoad(AdRequest.ERROR_CODE_INTERNAL_ERROR);
-        }
+        VungleLog.d(TAG, "display banner:%d%s", mVungleBannerAd.hashCode(), this);
+        adView = mVungleBannerAd;
       }
     } else {
-      View adView = null;
       mVungleNativeAd = Vungle.getNativeAd(mPlacementId, mAdConfig, mAdPlayCallback);
+      if (mVungleNativeAd == null && keepCurrentAd) {
+        // The SDK may not play two banner ads of the same placement at once.
+        destroyRetiredAd();
+        mVungleNativeAd = Vungle.getNativeAd(mPlacementId, mAdConfig, mAdPlayCallback);
+      }
       if (mVungleNativeAd != null) {
         adView = mVungleNativeAd.renderNativeView();
-        mVungleManager.storeActiveBannerAd(mPlacementId, this);
-      }
-      if (adView != null) {
-        Log.d(TAG, "display MREC:" + mVungleNativeAd.hashCode() + this);
-        updateVisibility(mVisibility);
-        adView.setLayoutParams(adParams);
-        // don't add to parent here
-        if (listener != null) {
-          listener.onAdAvailable();
-        }
-      } else {
-        // missing resources
-        if (listener != null) {
-          listener.onAdFailedToLoad(AdRequest.ERROR_CODE_INTERNAL_ERROR);
+        if (adView != null) {
+          VungleLog.d(TAG, "display MREC:%d%s", mVungleNativeAd.hashCode(), this);
         }
       }
     }
+
+    if (adView == null) {
+      // missing resources
+      if (listener != null) {
+        listener.onAdFailedToLoad(AdRequest.ERROR_CODE_INTERNAL_ERROR);
+      }
+      return;
+    }
+    mVungleManager.storeActiveBannerAd(mPlacementId, this);
+    updateVisibility(mVisibility);
+    adView.setLayoutParams(adParams);
+    // don't add to parent here
+    if (listener != null) {
+      listener.onAdAvailable();
+    }
   }
 
   @NonNull
@@ -333,18 +457,21 @@ class VungleBannerAdapter {
           layout.addView(adView);
         }
       }
+      // The new banner ad is on screen, so the one it replaced can go.
+      destroyRetiredAd();
     }
   }
 
   void detach() {
-    if (mVungleBannerAd != null && mVungleBannerAd.getParent() != null) {
-      ((ViewGroup) mVungleBannerAd.getParent()).removeView(mVungleBannerAd);
-    }
+    removeFromParent(mVungleBannerAd);
     if (mVungleNativeAd != null) {
-      View adView = mVungleNativeAd.renderNativeView();
-      if (adView != null && adView.getParent() != null) {
-        ((ViewGroup) adView.getParent()).removeView(adView);
-      }
+      removeFromParent(mVungleNativeAd.renderNativeView());
+    }
+  }
+
+  private static void removeFromParent(@Nullable View view) {
+    if (view != null && view.getParent() != null) {
+      ((ViewGroup) view.getParent()).removeView(view);
     }
   }
 }
@@ -21,6 +21,7 @@ public final class VungleExtrasBuilder {
   static final String EXTRA_ALL_PLACEMENTS = "allPlacements";
   static final String EXTRA_PLAY_PLACEMENT = "playPlacement";
   static final String UUID_KEY = "uniqueVungleRequestKey";
+  static final String EXTRA_DOUBLE_BUFFERED_BANNER_REFRESH = "doubleBufferedBannerRefresh";
 
   private final Bundle mBundle = new Bundle();
 
@@ -68,6 +69,16 @@ public final class VungleExtrasBuilder {
     return this;
   }
 
+  /**
+   * Sets whether a banner refresh keeps the current banner ad on screen until the next one is
+   * ready, instead of removing it first, and keeps it if the next one fails to load. Requires a
+   * banner unique request ID. Disabled by default.
+   */
+  public VungleExtrasBuilder setDoubleBufferedBannerRefresh(boolean enabled) {
+    mBundle.putBoolean(EXTRA_DOUBLE_BUFFERED_BANNER_REFRESH, enabled);
+    return this;
+  }
+
   public Bundle build() {
     if (TextUtils.isEmpty(mBundle.getString(UUID_KEY, null))) {
       mBundle.putString(UUID_KEY, UUID.randomUUID().toString());
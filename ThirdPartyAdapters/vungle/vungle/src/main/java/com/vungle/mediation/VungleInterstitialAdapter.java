@@ -309,6 +309,7 @@ public class VungleInterstitialAdapter
 
     mBannerRequest.setAdLayout(adLayout);
     mBannerRequest.setVungleListener(mVungleBannerListener);
+    mBannerRequest.setDoubleBuffered(config.isDoubleBufferedBannerRefresh());
 
     Log.d(TAG, "Requesting banner with ad size: " + adConfig.getAdSize());
     mBannerRequest.requestBannerAd(context, config.getAppId());
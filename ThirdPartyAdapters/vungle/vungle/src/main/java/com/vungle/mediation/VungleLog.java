@@ -0,0 +1,45 @@
+package com.vungle.mediation;
+
+import android.util.Log;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import java.util.Locale;
+
+/**
+ * Debug logging for the Vungle adapter. Messages are {@link String#format(String, Object...)}
+ * patterns and are always logged at debug level, like the adapter's other logs. Arguments are
+ * evaluated, and primitive arguments boxed, at the call site, so calls on hot paths or with
+ * primitive arguments check {@link #isDebugLoggable(String)} first.
+ */
+final class VungleLog {
+
+  private VungleLog() {
+  }
+
+  /** Returns whether debug messages of the given tag are enabled, see {@link Log#isLoggable}. */
+  static boolean isDebugLoggable(@NonNull String tag) {
+    return Log.isLoggable(tag, Log.DEBUG);
+  }
+
+  static void d(@NonNull String tag, @NonNull String message) {
+    Log.d(tag, message);
+  }
+
+  static void d(@NonNull String tag, @NonNull String format, @Nullable Object arg) {
+    Log.d(tag, String.format(Locale.US, format, arg));
+  }
+
+  static void d(
+      @NonNull String tag, @NonNull String format, @Nullable Object arg1, @Nullable Object arg2) {
+    Log.d(tag, String.format(Locale.US, format, arg1, arg2));
+  }
+
+  static void d(
+      @NonNull String tag,
+      @NonNull String format,
+      @Nullable Object arg1,
+      @Nullable Object arg2,
+      @Nullable Object arg3) {
+    Log.d(tag, String.format(Locale.US, format, arg1, arg2, arg3));
+  }
+}
@@ -1,7 +1,10 @@
 package com.vungle.mediation;
 
+import android.content.ComponentCallbacks2;
+import android.content.Context;
 import android.os.Bundle;
 import android.util.Log;
+import android.widget.RelativeLayout;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import com.vungle.warren.AdConfig;
@@ -9,8 +12,13 @@ import com.vungle.warren.LoadAdCallback;
 import com.vungle.warren.PlayAdCallback;
 import com.vungle.warren.Vungle;
 import com.vungle.warren.error.VungleException;
-import java.util.HashSet;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * A helper class to load and show Vungle ads and keep track of multiple {@link
@@ -25,6 +33,35 @@ public class VungleManager {
 
   private ConcurrentHashMap<String, VungleBannerAdapter> mVungleBanners;
 
+  /**
+   * Queue to which the ad layouts of banner ads are enqueued once garbage collected, which
+   * happens when their adapter is leaked without {@link VungleInterstitialAdapter#onDestroy()}
+   * being called.
+   */
+  private final ReferenceQueue<RelativeLayout> mCollectedAdLayouts = new ReferenceQueue<>();
+
+  /**
+   * Placement IDs of the banner ads in {@link #mVungleBanners} whose ad layout is not watched by
+   * {@link #mCollectedAdLayouts}, either because they have not been given one yet or because it
+   * was collected before being handed back to them. Each is checked once, on the next clean up.
+   */
+  private final ConcurrentHashMap<VungleBannerAdapter, String> mUntrackedBanners =
+      new ConcurrentHashMap<>();
+
+  /** Number of leaked banner ads cleaned up so far. */
+  private final AtomicInteger mLeakedBannerCount = new AtomicInteger();
+
+  private final AtomicBoolean mRegisteredForTrimMemory = new AtomicBoolean();
+
+  /** Releases the loaded banner ads which are not in a window when the app is in background. */
+  private final MemoryTrimCoordinator.Trimmable mIdleBannerTrimmer =
+      new MemoryTrimCoordinator.Trimmable() {
+        @Override
+        public long trim(int level) {
+          return releaseIdleBanners(level);
+        }
+      };
+
   public static synchronized VungleManager getInstance() {
     if (sInstance == null) {
       sInstance = new VungleManager();
@@ -145,22 +182,103 @@ public class VungleManager {
     return Vungle.isInitialized() && Vungle.getValidPlacements().contains(placementId);
   }
 
+  /**
+   * Returns a weak reference to the ad layout of a banner ad, which lets the banner ad be cleaned
+   * up if its adapter is garbage collected without being destroyed.
+   */
+  @NonNull
+  WeakReference<RelativeLayout> trackAdLayout(
+      @NonNull String placementId,
+      @NonNull RelativeLayout adLayout,
+      @NonNull VungleBannerAdapter banner) {
+    mUntrackedBanners.remove(banner);
+    return new AdLayoutReference(placementId, adLayout, banner, mCollectedAdLayouts);
+  }
+
+  /**
+   * Has a banner ad checked on the next clean up, after it was handed back an ad layout whose
+   * reference may already have been dequeued.
+   */
+  void untrackAdLayout(@NonNull String placementId, @NonNull VungleBannerAdapter banner) {
+    if (mVungleBanners.get(placementId) == banner) {
+      mUntrackedBanners.put(banner, placementId);
+    }
+  }
+
   /**
    * Workaround to finish and clean {@link VungleBannerAdapter} if {@link
-   * VungleInterstitialAdapter#onDestroy()} is not called and adapter was garbage collected.
+   * VungleInterstitialAdapter#onDestroy()} is not called and adapter was garbage collected. Only
+   * the banner ads whose ad layout has been collected since the last call, and the banner ads
+   * left without a watched ad layout since the last call, are visited.
    */
   private void cleanLeakedBannerAdapters() {
-    for (String id : new HashSet<>(mVungleBanners.keySet())) {
-      VungleBannerAdapter banner = mVungleBanners.get(id);
-      if (banner != null && !banner.isActive()) {
-        banner = mVungleBanners.remove(id);
-        if (banner != null) {
-          banner.destroy();
-        }
+    Reference<? extends RelativeLayout> reference;
+    while ((reference = mCollectedAdLayouts.poll()) != null) {
+      AdLayoutReference adLayoutReference = (AdLayoutReference) reference;
+      VungleBannerAdapter banner = adLayoutReference.mBanner;
+      // A banner ad given a new ad layout since is watched through that one instead.
+      if (!banner.isActive()) {
+        cleanLeakedBannerAdapter(adLayoutReference.mPlacementId, banner);
+      }
+    }
+
+    // Banner ads given an ad layout since they were added have already left this map.
+    for (Map.Entry<VungleBannerAdapter, String> entry : mUntrackedBanners.entrySet()) {
+      VungleBannerAdapter banner = entry.getKey();
+      if (mUntrackedBanners.remove(banner, entry.getValue()) && !banner.isActive()) {
+        cleanLeakedBannerAdapter(entry.getValue(), banner);
       }
     }
   }
 
+  private void cleanLeakedBannerAdapter(
+      @NonNull String placementId, @NonNull VungleBannerAdapter banner) {
+    if (mVungleBanners.remove(placementId, banner)) {
+      int leakedBannerCount = mLeakedBannerCount.incrementAndGet();
+      if (VungleLog.isDebugLoggable(TAG)) {
+        VungleLog.d(TAG, "Cleaning up leaked banner:%s; leaked=%d", banner, leakedBannerCount);
+      }
+      banner.destroy();
+    }
+  }
+
+  /** Lets the banner ads which are not being shown be released under memory pressure. */
+  void registerForTrimMemory(@NonNull Context context) {
+    if (!mRegisteredForTrimMemory.compareAndSet(false, true)) {
+      return;
+    }
+    MemoryTrimCoordinator.getInstance()
+        .register(context, mIdleBannerTrimmer, MemoryTrimCoordinator.PRIORITY_IDLE_AD);
+  }
+
+  /**
+   * Destroys the loaded banner ads whose ad layout is not in a window, once the app is in
+   * background. They are loaded again on their next refresh.
+   *
+   * @return an estimate of the number of bytes released.
+   */
+  private synchronized long releaseIdleBanners(int level) {
+    cleanLeakedBannerAdapters();
+    if (level < ComponentCallbacks2.TRIM_MEMORY_BACKGROUND) {
+      return 0;
+    }
+    long releasedBytes = 0;
+    for (Map.Entry<String, VungleBannerAdapter> entry : mVungleBanners.entrySet()) {
+      VungleBannerAdapter banner = entry.getValue();
+      if (!banner.isIdle()) {
+        continue;
+      }
+      long size = banner.estimateSizeInBytes();
+      if (mVungleBanners.remove(entry.getKey(), banner)) {
+        mUntrackedBanners.remove(banner);
+        VungleLog.d(TAG, "Releasing idle banner:%s", banner);
+        banner.destroy();
+        releasedBytes += size;
+      }
+    }
+    return releasedBytes;
+  }
+
   @Nullable
   synchronized VungleBannerAdapter getBannerRequest(
       @NonNull String placementId, @Nullable String requestUniqueId, @NonNull AdConfig adConfig) {
@@ -168,8 +286,8 @@ public class VungleManager {
     VungleBannerAdapter bannerRequest = mVungleBanners.get(placementId);
     if (bannerRequest != null) {
       String activeUniqueRequestId = bannerRequest.getUniquePubRequestId();
-      Log.d(
-          TAG, "activeUniqueId: " + activeUniqueRequestId + " ###  RequestId: " + requestUniqueId);
+      VungleLog.d(
+          TAG, "activeUniqueId: %s ###  RequestId: %s", activeUniqueRequestId, requestUniqueId);
 
       if (activeUniqueRequestId == null) {
         Log.w(
@@ -189,17 +307,19 @@ public class VungleManager {
     } else {
       bannerRequest = new VungleBannerAdapter(placementId, requestUniqueId, adConfig);
       mVungleBanners.put(placementId, bannerRequest);
+      mUntrackedBanners.put(bannerRequest, placementId);
     }
 
-    Log.d(TAG, "New banner request:" + bannerRequest + "; size=" + mVungleBanners.size());
+    VungleLog.d(TAG, "New banner request:%s; size=%d", bannerRequest, mVungleBanners.size());
     return bannerRequest;
   }
 
   void removeActiveBannerAd(String placementId) {
-    Log.d(TAG, "try to removeActiveBannerAd:" + placementId);
+    VungleLog.d(TAG, "try to removeActiveBannerAd:%s", placementId);
     VungleBannerAdapter activeBannerAd = mVungleBanners.remove(placementId);
-    Log.d(TAG, "removeActiveBannerAd:" + activeBannerAd + "; size=" + mVungleBanners.size());
+    VungleLog.d(TAG, "removeActiveBannerAd:%s; size=%d", activeBannerAd, mVungleBanners.size());
     if (activeBannerAd != null) {
+      mUntrackedBanners.remove(activeBannerAd);
       activeBannerAd.cleanUp();
     }
   }
@@ -207,7 +327,31 @@ public class VungleManager {
   void storeActiveBannerAd(@NonNull String placementId, @NonNull VungleBannerAdapter instance) {
     if (!mVungleBanners.containsKey(placementId)) {
       mVungleBanners.put(placementId, instance);
-      Log.d(TAG, "restoreActiveBannerAd:" + instance + "; size=" + mVungleBanners.size());
+      if (!instance.isActive()) {
+        mUntrackedBanners.put(instance, placementId);
+      }
+      VungleLog.d(TAG, "restoreActiveBannerAd:%s; size=%d", instance, mVungleBanners.size());
+    }
+  }
+
+  /**
+   * A weak reference to the ad layout of a banner ad, which keeps track of the banner ad it
+   * belongs to.
+   */
+  private static final class AdLayoutReference extends WeakReference<RelativeLayout> {
+
+    @NonNull private final String mPlacementId;
+
+    @NonNull private final VungleBannerAdapter mBanner;
+
+    AdLayoutReference(
+        @NonNull String placementId,
+        @NonNull RelativeLayout adLayout,
+        @NonNull VungleBannerAdapter banner,
+        @NonNull ReferenceQueue<RelativeLayout> queue) {
+      super(adLayout, queue);
+      mPlacementId = placementId;
+      mBanner = banner;
     }
   }
 }